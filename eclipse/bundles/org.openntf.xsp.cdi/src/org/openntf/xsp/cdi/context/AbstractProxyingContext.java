@@ -16,6 +16,8 @@
 package org.openntf.xsp.cdi.context;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -47,34 +49,61 @@ public abstract class AbstractProxyingContext implements Context, Serializable {
 		THREAD_REQUESTS.set(request);
 	}
 	
+	/**
+	 * Cached list of {@link ComponentModuleLocator} extensions, as the list does not
+	 * change after startup
+	 */
+	private static volatile List<ComponentModuleLocator> moduleLocators;
+	
+	/**
+	 * Striped locks used when creating holders, so that concurrent threads working
+	 * on behalf of one request, session, or view share a holder without serializing
+	 * unrelated ones
+	 */
+	private static final Object[] HOLDER_LOCKS = new Object[64];
+	static {
+		for(int i = 0; i < HOLDER_LOCKS.length; i++) {
+			HOLDER_LOCKS[i] = new Object();
+		}
+	}
+	
 	private final String id = UUID.randomUUID().toString();
+	private transient String key;
 
 	protected abstract BasicScopeContextHolder getHolder();
 	
+	/**
+	 * Retrieves the lock to hold while checking for and storing a new holder in
+	 * the scope's backing store.
+	 * 
+	 * @param hash a hash identifying the backing store, such as a session ID hash
+	 * @return a lock object shared by all callers passing the same hash
+	 * @since 2.15.0
+	 */
+	protected static Object getHolderLock(int hash) {
+		return HOLDER_LOCKS[Math.floorMod(hash, HOLDER_LOCKS.length)];
+	}
+	
+	/*
+	 * Note: these methods are not synchronized, as a context instance is shared by all
+	 *   requests in an application. Holders guard bean creation individually.
+	 */
+	
 	@SuppressWarnings("unchecked")
 	@Override
-	public synchronized <T> T get(final Contextual<T> contextual, final CreationalContext<T> creationalContext) {
+	public <T> T get(final Contextual<T> contextual, final CreationalContext<T> creationalContext) {
 		Bean<T> bean = (Bean<T>) contextual;
 		BasicScopeContextHolder holder = getHolder();
-		return (T) holder.getBeans().computeIfAbsent(bean.getBeanClass().getName(), className -> {
-			BasicScopeInstance<T> instance = new BasicScopeInstance<>();
-			instance.beanClass = className;
-			instance.ctx = creationalContext;
-			instance.instance = bean.create(creationalContext);
-			return instance;
-		}).instance;
+		return holder.getOrCreateBean(bean, creationalContext).instance;
 	}
 
 	@SuppressWarnings({ "unchecked" })
 	@Override
-	public synchronized <T> T get(final Contextual<T> contextual) {
+	public <T> T get(final Contextual<T> contextual) {
 		Bean<T> bean = (Bean<T>) contextual;
 		BasicScopeContextHolder holder = getHolder();
-		if(holder.getBeans().containsKey(bean.getBeanClass().getName())) {
-			return (T)holder.getBean(bean.getBeanClass().getName()).instance;
-		} else {
-			return null;
-		}
+		BasicScopeInstance<T> instance = holder.getBean(bean);
+		return instance == null ? null : instance.instance;
 	}
 
 	@Override
@@ -83,12 +112,18 @@ public abstract class AbstractProxyingContext implements Context, Serializable {
 	}
 	
 	protected String generateKey() {
-		return getClass().getName() + '-' + id;
+		String result = this.key;
+		if(result == null) {
+			result = getClass().getName() + '-' + id;
+			this.key = result;
+		}
+		return result;
 	}
 	
 	protected Optional<HttpServletRequest> getHttpServletRequest() {
-		if(THREAD_REQUESTS.get() != null) {
-			return Optional.of(THREAD_REQUESTS.get());
+		HttpServletRequest threadRequest = THREAD_REQUESTS.get();
+		if(threadRequest != null) {
+			return Optional.of(threadRequest);
 		}
 		
 		// Check the active session
@@ -99,11 +134,21 @@ public abstract class AbstractProxyingContext implements Context, Serializable {
 			return Optional.ofNullable(ServletUtil.oldToNew(context, request));
 		}
 		
-		return LibraryUtil.findExtensionsSorted(ComponentModuleLocator.class, false)
-			.stream()
-			.map(ComponentModuleLocator::getServletRequest)
-			.filter(Optional::isPresent)
-			.findFirst()
-			.map(Optional::get);
+		for(ComponentModuleLocator locator : getModuleLocators()) {
+			Optional<HttpServletRequest> request = locator.getServletRequest();
+			if(request.isPresent()) {
+				return request;
+			}
+		}
+		return Optional.empty();
+	}
+	
+	private static List<ComponentModuleLocator> getModuleLocators() {
+		List<ComponentModuleLocator> result = moduleLocators;
+		if(result == null) {
+			result = Collections.unmodifiableList(LibraryUtil.findExtensionsSorted(ComponentModuleLocator.class, false));
+			moduleLocators = result;
+		}
+		return result;
 	}
 }
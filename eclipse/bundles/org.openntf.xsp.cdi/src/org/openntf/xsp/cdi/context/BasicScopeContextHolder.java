@@ -19,7 +19,9 @@ import java.io.Serializable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.spi.Bean;
 
 /**
  * @since 1.2.0
@@ -28,6 +30,13 @@ public class BasicScopeContextHolder implements Serializable {
 	private static final long serialVersionUID = 1L;
 
 	private final Map<String, BasicScopeInstance<?>> beans = new ConcurrentHashMap<>();
+	/**
+	 * Caches instances by their {@link Contextual} to avoid deriving the class-name
+	 * key on each lookup. This is not serialized and is repopulated from
+	 * {@link #beans} on demand.
+	 * @since 2.15.0
+	 */
+	private transient volatile Map<Contextual<?>, BasicScopeInstance<?>> contextualBeans;
 
 	public Map<String, BasicScopeInstance<?>> getBeans() {
 		return beans;
@@ -44,6 +53,75 @@ public class BasicScopeContextHolder implements Serializable {
 	public <T> void destroyBean(final BasicScopeInstance<T> instance) {
 		// Good to have a stub, but this currently can't happen
 		getBeans().remove(instance.beanClass);
+		getContextualBeans().values().remove(instance);
+	}
+	
+	/**
+	 * Retrieves the existing instance for the provided bean, if any.
+	 * 
+	 * @param <T> the type of the bean
+	 * @param bean the bean to look up
+	 * @return the existing {@link BasicScopeInstance}, or {@code null} if the
+	 *         bean has not been created in this holder
+	 * @since 2.15.0
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> BasicScopeInstance<T> getBean(final Bean<T> bean) {
+		Map<Contextual<?>, BasicScopeInstance<?>> byContextual = getContextualBeans();
+		BasicScopeInstance<?> instance = byContextual.get(bean);
+		if(instance == null) {
+			instance = beans.get(bean.getBeanClass().getName());
+			if(instance != null) {
+				byContextual.put(bean, instance);
+			}
+		}
+		return (BasicScopeInstance<T>)instance;
+	}
+	
+	/**
+	 * Retrieves the existing instance for the provided bean, creating it if needed.
+	 * 
+	 * <p>Creation is guarded by this holder alone, so lookups in different holders do not
+	 * contend with each other. Bean creation happens outside of any map operation, so
+	 * creating one bean may look up or create others in the same holder.</p>
+	 * 
+	 * @param <T> the type of the bean
+	 * @param bean the bean to look up
+	 * @param creationalContext the context to use when creating the bean
+	 * @return the existing or new {@link BasicScopeInstance}
+	 * @since 2.15.0
+	 */
+	public <T> BasicScopeInstance<T> getOrCreateBean(final Bean<T> bean, final CreationalContext<T> creationalContext) {
+		BasicScopeInstance<T> instance = getBean(bean);
+		if(instance != null) {
+			return instance;
+		}
+		synchronized(this) {
+			instance = getBean(bean);
+			if(instance == null) {
+				instance = new BasicScopeInstance<>();
+				instance.beanClass = bean.getBeanClass().getName();
+				instance.ctx = creationalContext;
+				instance.instance = bean.create(creationalContext);
+				putBean(instance);
+				getContextualBeans().put(bean, instance);
+			}
+			return instance;
+		}
+	}
+	
+	private Map<Contextual<?>, BasicScopeInstance<?>> getContextualBeans() {
+		Map<Contextual<?>, BasicScopeInstance<?>> result = this.contextualBeans;
+		if(result == null) {
+			synchronized(this) {
+				result = this.contextualBeans;
+				if(result == null) {
+					result = new ConcurrentHashMap<>();
+					this.contextualBeans = result;
+				}
+			}
+		}
+		return result;
 	}
 
 	public static class BasicScopeInstance<T> implements Serializable {
@@ -16,6 +16,7 @@
 package org.openntf.xsp.cdi.context;
 
 import java.lang.annotation.Annotation;
+import java.util.Map;
 
 import jakarta.enterprise.context.ConversationScoped;
 import javax.faces.context.FacesContext;
@@ -39,9 +40,11 @@ public class ConversationScopeContext extends AbstractProxyingContext {
 		if(context != null) {
 			String key = generateKey();
 			
-			return (BasicScopeContextHolder)context.getViewRoot()
-				.getViewMap()
-				.computeIfAbsent(key, k -> new BasicScopeContextHolder());
+			// The view map is not thread-safe
+			Map<String, Object> viewMap = context.getViewRoot().getViewMap();
+			synchronized(getHolderLock(System.identityHashCode(viewMap))) {
+				return (BasicScopeContextHolder)viewMap.computeIfAbsent(key, k -> new BasicScopeContextHolder());
+			}
 		}
 		// Must be in a non-HTTP task - just spin up a discardable one
 		return new BasicScopeContextHolder();
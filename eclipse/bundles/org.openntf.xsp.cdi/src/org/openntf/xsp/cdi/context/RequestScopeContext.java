@@ -44,10 +44,17 @@ public class RequestScopeContext extends AbstractProxyingContext {
 		if(req.isPresent()) {
 			String key = generateKey();
 			
-			BasicScopeContextHolder holder = (BasicScopeContextHolder)req.get().getAttribute(key);
+			HttpServletRequest request = req.get();
+			BasicScopeContextHolder holder = (BasicScopeContextHolder)request.getAttribute(key);
 			if(holder == null) {
-				holder = new BasicScopeContextHolder();
-				req.get().setAttribute(key, holder);
+				// Executor tasks may share the originating request with its thread
+				synchronized(getHolderLock(System.identityHashCode(request))) {
+					holder = (BasicScopeContextHolder)request.getAttribute(key);
+					if(holder == null) {
+						holder = new BasicScopeContextHolder();
+						request.setAttribute(key, holder);
+					}
+				}
 			}
 			return holder;
 		} else {
@@ -35,7 +35,7 @@ public class SessionScopeContext extends AbstractProxyingContext {
 	}
 	
 	@Override
-	protected synchronized BasicScopeContextHolder getHolder() {
+	protected BasicScopeContextHolder getHolder() {
 		Optional<HttpServletRequest> req = getHttpServletRequest();
 		if(req.isPresent()) {
 			HttpSession session = req.get().getSession(true);
@@ -43,8 +43,13 @@ public class SessionScopeContext extends AbstractProxyingContext {
 			
 			BasicScopeContextHolder holder = (BasicScopeContextHolder)session.getAttribute(key);
 			if(holder == null) {
-				holder = new BasicScopeContextHolder();
-				session.setAttribute(key, holder);
+				synchronized(getHolderLock(session.getId().hashCode())) {
+					holder = (BasicScopeContextHolder)session.getAttribute(key);
+					if(holder == null) {
+						holder = new BasicScopeContextHolder();
+						session.setAttribute(key, holder);
+					}
+				}
 			}
 			return holder;
 		} else {
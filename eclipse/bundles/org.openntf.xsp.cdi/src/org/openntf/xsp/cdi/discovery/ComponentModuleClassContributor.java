@@ -18,8 +18,8 @@ package org.openntf.xsp.cdi.discovery;
 import java.util.Collection;
 import java.util.stream.Collectors;
 
+import org.openntf.xsp.cdi.util.ComponentModuleIndex;
 import org.openntf.xsp.jakartaee.module.ComponentModuleLocator;
-import org.openntf.xsp.jakartaee.util.ModuleUtil;
 
 /**
  * This class is responsible for locating and loading bean classes from the
@@ -28,6 +28,11 @@ import org.openntf.xsp.jakartaee.util.ModuleUtil;
  * <p>Originally, this work was done by {@link StaticBeanArchiveHandler}, but
  * this mechanism avoids the trouble of handing off just string class names.</p>
  * 
+ * <p>As of 2.15.0, candidate classes are selected via {@link ComponentModuleIndex},
+ * whose index of class flags and annotations lets discovery skip loading classes
+ * that can be neither beans nor of interest to extensions. Every other class in
+ * the NSF is still loaded.</p>
+ * 
  * @author Jesse Gallagher
  * @since 2.9.0
  */
@@ -37,7 +42,7 @@ public class ComponentModuleClassContributor implements WeldBeanClassContributor
 	public Collection<Class<?>> getBeanClasses() {
 		return ComponentModuleLocator.getDefault()
 			.map(ComponentModuleLocator::getActiveModule)
-			.map(ModuleUtil::getClasses)
+			.map(ComponentModuleIndex::findBeanClasses)
 			.map(c -> c.collect(Collectors.toSet()))
 			.orElse(null);
 	}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.cdi.impl;
+
+import org.openntf.xsp.cdi.util.ContainerUtil;
+import org.openntf.xsp.jakartaee.module.ModuleWarmupParticipant;
+
+import com.ibm.designer.runtime.domino.adapter.ComponentModule;
+
+import jakarta.annotation.Priority;
+
+/**
+ * Builds the module's Weld container during warm-up, so that the first request
+ * does not pay for bean discovery and container boot.
+ * 
+ * <p>This runs before other participants, as most of them rely on CDI.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+@Priority(100)
+public class CDIWarmupParticipant implements ModuleWarmupParticipant {
+
+	@Override
+	public void warmUp(ComponentModule module) throws Exception {
+		// This returns null when the app doesn't use CDI
+		ContainerUtil.getContainer(module);
+	}
+
+}
@@ -15,6 +15,7 @@
  */
 package org.openntf.xsp.cdi.provider;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
@@ -40,13 +41,25 @@ import jakarta.enterprise.inject.spi.CDIProvider;
 public class DominoCDIProvider implements CDIProvider {
 	private static final Logger log = Logger.getLogger(DominoCDIProvider.class.getPackage().getName());
 	
+	// These are resolved lazily, since the extensions may not be available when the
+	//   provider is constructed. Both are immutable once found, so a race here only
+	//   results in duplicate lookups
+	private volatile CDIContainerUtility util;
+	private volatile List<CDIContainerLocator> locators;
+	
+	/*
+	 * Note: this method is intentionally not synchronized, as it is called for every
+	 *   CDI.current() across all applications. Container creation is guarded per
+	 *   container ID in ContainerUtil, and existing containers are read from their
+	 *   modules' attributes.
+	 */
 	@SuppressWarnings("unchecked")
 	@Override
-	public synchronized CDI<Object> getCDI() {
-		CDIContainerUtility util = LibraryUtil.findRequiredExtension(CDIContainerUtility.class);
+	public CDI<Object> getCDI() {
+		CDIContainerUtility util = getUtil();
 		
 		// Check in any available locator extensions
-		List<CDIContainerLocator> locators = LibraryUtil.findExtensionsSorted(CDIContainerLocator.class, false);
+		List<CDIContainerLocator> locators = getLocators();
 		try {
 			for(CDIContainerLocator locator : locators) {
 				Object container = locator.getContainer();
@@ -87,6 +100,24 @@ public class DominoCDIProvider implements CDIProvider {
 		return null;
 	}
 	
+	private CDIContainerUtility getUtil() {
+		CDIContainerUtility result = this.util;
+		if(result == null) {
+			result = LibraryUtil.findRequiredExtension(CDIContainerUtility.class);
+			this.util = result;
+		}
+		return result;
+	}
+	
+	private List<CDIContainerLocator> getLocators() {
+		List<CDIContainerLocator> result = this.locators;
+		if(result == null) {
+			result = Collections.unmodifiableList(LibraryUtil.findExtensionsSorted(CDIContainerLocator.class, false));
+			this.locators = result;
+		}
+		return result;
+	}
+	
 	@Override
 	public int getPriority() {
 		return DEFAULT_CDI_PROVIDER_PRIORITY+2;
@@ -0,0 +1,340 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.cdi.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.text.MessageFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+import org.openntf.xsp.jakartaee.util.LibraryUtil;
+import org.openntf.xsp.jakartaee.util.ModuleUtil;
+
+import com.ibm.designer.domino.napi.NotesAPIException;
+import com.ibm.designer.domino.napi.NotesSession;
+import com.ibm.designer.runtime.domino.adapter.ComponentModule;
+import com.ibm.domino.xsp.module.nsf.NSFComponentModule;
+
+/**
+ * Maintains Jandex indexes of the classes stored in NSF-based modules, used to
+ * select the types handed to Weld during CDI bean discovery.
+ * 
+ * <p>Indexes are built by reading class bytes directly from the module, without
+ * loading the classes, and are persisted to the temp directory keyed by the
+ * database's last design modification time. The index records each class's
+ * flags, supertypes, constructors, and annotations, which is enough to tell which
+ * classes can matter to CDI without loading them. Subsequent container boots for
+ * an unchanged database read the persisted index and load only those classes.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public enum ComponentModuleIndex {
+	;
+	private static final Logger log = Logger.getLogger(ComponentModuleIndex.class.getName());
+	
+	private static final String PREFIX_CLASSES = "/WEB-INF/classes/"; //$NON-NLS-1$
+	private static final String SUFFIX_CLASS = ".class"; //$NON-NLS-1$
+	private static final String SUFFIX_INDEX = ".idx"; //$NON-NLS-1$
+	private static final String INDEX_DIR = "xsp-jakartaee-cdi-index"; //$NON-NLS-1$
+	private static final String NAME_PACKAGEINFO = "package-info"; //$NON-NLS-1$
+	private static final DotName DOTNAME_OBJECT = DotName.createSimple(Object.class.getName());
+	private static final DotName DOTNAME_ENUM = DotName.createSimple(Enum.class.getName());
+	private static final int ACC_SYNTHETIC = 0x1000;
+	
+	private static final Map<String, ModuleIndex> INDEXES = new ConcurrentHashMap<>();
+	
+	private static class ModuleIndex {
+		private final long designMod;
+		private final Index index;
+		
+		public ModuleIndex(long designMod, Index index) {
+			this.designMod = designMod;
+			this.index = index;
+		}
+	}
+	
+	/**
+	 * Retrieves the names of the classes in the provided module that may be CDI
+	 * bean classes or of interest to portable extensions, consulting the module's
+	 * Jandex index when possible.
+	 * 
+	 * <p>When the index is available, this applies {@link #isCandidateBeanClass(ClassInfo)}
+	 * to each class. Otherwise, it returns every class name in the module. In both
+	 * cases, it skips known generated classes, such as the Java source generated
+	 * for XPages.</p>
+	 * 
+	 * @param module the module to query
+	 * @return a {@link Stream} of candidate bean class names
+	 */
+	public static Stream<String> findCandidateBeanClassNames(ComponentModule module) {
+		Optional<Index> index = getIndex(module);
+		if(index.isPresent()) {
+			return index.get().getKnownClasses()
+				.stream()
+				.filter(ComponentModuleIndex::isCandidateBeanClass)
+				.map(c -> c.name().toString())
+				.filter(className -> !ModuleUtil.GENERATED_CLASSNAMES.matcher(className).matches());
+		} else {
+			return ModuleUtil.getClassNames(module)
+				.filter(className -> !ModuleUtil.GENERATED_CLASSNAMES.matcher(className).matches());
+		}
+	}
+	
+	/**
+	 * Loads the candidate bean classes for the provided module, as determined by
+	 * {@link #findCandidateBeanClassNames(ComponentModule)}.
+	 * 
+	 * @param module the module to load from
+	 * @return a {@link Stream} of {@link Class} objects
+	 */
+	public static Stream<Class<?>> findBeanClasses(ComponentModule module) {
+		ClassLoader cl = module.getModuleClassLoader();
+		if(cl == null) {
+			return Stream.empty();
+		}
+		return findCandidateBeanClassNames(module)
+			.map(name -> {
+				try {
+					return Class.forName(name, true, cl);
+				} catch (Throwable e) {
+					log.log(Level.SEVERE, MessageFormat.format("Encountered exception loading class {0}", name), e);
+					return (Class<?>)null;
+				}
+			})
+			.filter(Objects::nonNull);
+	}
+	
+	/**
+	 * Retrieves a Jandex index of the classes stored in the provided module, building
+	 * and persisting it if necessary.
+	 * 
+	 * @param module the module to index
+	 * @return an {@link Optional} describing the module's {@link Index}, or an empty
+	 *         one if the module type is not supported or the index could not be built
+	 */
+	public static Optional<Index> getIndex(ComponentModule module) {
+		if(!(module instanceof NSFComponentModule)) {
+			return Optional.empty();
+		}
+		String databasePath = ((NSFComponentModule)module).getDatabasePath();
+		
+		long designMod;
+		try {
+			designMod = NotesSession.getLastNonDataModificationDateByName("", databasePath); //$NON-NLS-1$
+		} catch(NotesAPIException e) {
+			if(log.isLoggable(Level.WARNING)) {
+				log.log(Level.WARNING, MessageFormat.format("Unable to determine design modification time for {0}", databasePath), e);
+			}
+			return Optional.empty();
+		}
+		
+		ModuleIndex cached = INDEXES.get(databasePath);
+		if(cached != null && cached.designMod == designMod) {
+			return Optional.of(cached.index);
+		}
+		
+		try {
+			Path indexFile = getIndexFile(databasePath, designMod);
+			Index index = readIndex(indexFile);
+			if(index == null) {
+				index = buildIndex(module);
+				writeIndex(databasePath, indexFile, index);
+			}
+			INDEXES.put(databasePath, new ModuleIndex(designMod, index));
+			return Optional.of(index);
+		} catch(Throwable e) {
+			if(log.isLoggable(Level.WARNING)) {
+				log.log(Level.WARNING, MessageFormat.format("Encountered exception indexing classes for {0}; falling back to a full scan", databasePath), e);
+			}
+			return Optional.empty();
+		}
+	}
+	
+	/**
+	 * Determines whether the provided class should be loaded and handed to Weld,
+	 * using only the information recorded in the index.
+	 * 
+	 * <p>NSF classes are discovered as if the module had {@code bean-discovery-mode="all"},
+	 * so a class is kept when any of the following apply:</p>
+	 * 
+	 * <ul>
+	 *   <li>It carries any annotation on the class or its members. This covers
+	 *       bean-defining annotations, {@code @Inject} constructors, producers,
+	 *       observers, and the annotations that extensions filter on, such as
+	 *       {@code @Entity} or {@code @Path}.</li>
+	 *   <li>It is a concrete top-level or static nested class with a no-argument
+	 *       constructor, which makes it a managed bean.</li>
+	 *   <li>It is an interface, abstract class, or enum that extends or implements
+	 *       another type. Extensions such as the one registering NoSQL repositories
+	 *       observe {@code ProcessAnnotatedType} for subtypes of a known type.</li>
+	 * </ul>
+	 * 
+	 * <p>Everything else is never loaded: annotation types, {@code package-info}
+	 * and synthetic classes, anonymous, local, and non-static inner classes, and
+	 * unannotated classes that neither CDI nor an extension could use.</p>
+	 * 
+	 * @param c the indexed class to check
+	 * @return {@code true} if the class should be loaded for discovery
+	 */
+	private static boolean isCandidateBeanClass(ClassInfo c) {
+		short flags = c.flags();
+		if(c.isAnnotation() || isSynthetic(flags) || c.name().local().endsWith(NAME_PACKAGEINFO)) {
+			return false;
+		}
+		switch(c.nestingType()) {
+		case ANONYMOUS:
+		case LOCAL:
+			return false;
+		case INNER:
+			if(!Modifier.isStatic(flags)) {
+				return false;
+			}
+			break;
+		case TOP_LEVEL:
+		default:
+			break;
+		}
+		
+		if(!c.annotations().isEmpty()) {
+			return true;
+		}
+		
+		if(c.isInterface() || c.isEnum() || Modifier.isAbstract(flags)) {
+			boolean hasSuperclass = c.superName() != null
+				&& !DOTNAME_OBJECT.equals(c.superName())
+				&& !DOTNAME_ENUM.equals(c.superName());
+			return hasSuperclass || !c.interfaceNames().isEmpty();
+		}
+		
+		return c.hasNoArgsConstructor();
+	}
+	
+	private static boolean isSynthetic(short flags) {
+		// Not exposed via java.lang.reflect.Modifier
+		return (flags & ACC_SYNTHETIC) != 0;
+	}
+	
+	private static Index buildIndex(ComponentModule module) throws IOException {
+		Indexer indexer = new Indexer();
+		// Module resources are read from the NSF and so must stay on the calling thread
+		for(String className : ModuleUtil.getClassNames(module).collect(Collectors.toList())) {
+			String resourcePath = PREFIX_CLASSES + className.replace('.', '/') + SUFFIX_CLASS;
+			try(InputStream is = module.getResourceAsStream(resourcePath)) {
+				if(is != null) {
+					indexer.index(is);
+				}
+			}
+		}
+		return indexer.complete();
+	}
+	
+	private static Index readIndex(Path indexFile) {
+		return AccessController.doPrivileged((PrivilegedAction<Index>)() -> {
+			if(!Files.isRegularFile(indexFile)) {
+				return null;
+			}
+			try(InputStream is = Files.newInputStream(indexFile)) {
+				return new IndexReader(is).read();
+			} catch(Exception e) {
+				// Treat a corrupt or incompatible index as missing
+				if(log.isLoggable(Level.FINE)) {
+					log.log(Level.FINE, MessageFormat.format("Unable to read index file {0}", indexFile), e);
+				}
+				return null;
+			}
+		});
+	}
+	
+	private static void writeIndex(String databasePath, Path indexFile, Index index) {
+		AccessController.doPrivileged((PrivilegedAction<Void>)() -> {
+			try {
+				Path dir = indexFile.getParent();
+				Files.createDirectories(dir);
+				
+				// Remove indexes for previous designs of this database
+				String prefix = toFilePrefix(databasePath);
+				try(DirectoryStream<Path> stale = Files.newDirectoryStream(dir, prefix + "-*" + SUFFIX_INDEX)) { //$NON-NLS-1$
+					for(Path p : stale) {
+						if(!p.equals(indexFile)) {
+							Files.deleteIfExists(p);
+						}
+					}
+				}
+				
+				Path tempFile = Files.createTempFile(dir, prefix, SUFFIX_INDEX + ".tmp"); //$NON-NLS-1$
+				try {
+					try(OutputStream os = Files.newOutputStream(tempFile)) {
+						new IndexWriter(os).write(index);
+					}
+					Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} finally {
+					Files.deleteIfExists(tempFile);
+				}
+			} catch(IOException e) {
+				// The in-memory index is still usable
+				if(log.isLoggable(Level.WARNING)) {
+					log.log(Level.WARNING, MessageFormat.format("Unable to persist class index for {0}", databasePath), e);
+				}
+			}
+			return null;
+		});
+	}
+	
+	private static Path getIndexFile(String databasePath, long designMod) {
+		return LibraryUtil.getTempDirectory()
+			.resolve(INDEX_DIR)
+			.resolve(toFilePrefix(databasePath) + "-" + designMod + SUFFIX_INDEX); //$NON-NLS-1$
+	}
+	
+	private static String toFilePrefix(String databasePath) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("MD5"); //$NON-NLS-1$
+			byte[] digest = md.digest(databasePath.replace('\\', '/').toLowerCase().getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder(digest.length * 2);
+			for(byte b : digest) {
+				sb.append(String.format("%02x", b)); //$NON-NLS-1$
+			}
+			return sb.toString();
+		} catch(NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
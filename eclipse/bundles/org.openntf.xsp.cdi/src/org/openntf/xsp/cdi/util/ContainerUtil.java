@@ -130,6 +130,12 @@ public enum ContainerUtil {
 	@SuppressWarnings({ "nls", "unchecked" })
 	public static CDI<Object> getContainer(Bundle bundle) {
 		String id = bundle.getSymbolicName();
+		
+		// Avoid the init lock when the container is already running
+		WeldContainer existing = WeldContainer.instance(id);
+		if(existing != null && existing.isRunning()) {
+			return existing;
+		}
 
 		return withLock(id, () -> {
 			WeldContainer instance = WeldContainer.instance(id);
@@ -70,6 +70,12 @@ public enum DiscoveryUtil {
 	}
 	
 	private static final Map<Class<?>, Boolean> BEAN_DEFINING = new ConcurrentHashMap<>();
+	/**
+	 * Cache of bundle discovery information, keyed by bundle ID and last-modified
+	 * time, to avoid re-parsing beans.xml and jandex.idx on each container boot
+	 */
+	private static final Map<String, ScanType> SCAN_TYPES = new ConcurrentHashMap<>();
+	private static final Map<String, Optional<Index>> BUNDLE_INDEXES = new ConcurrentHashMap<>();
 	private static Field WEBAPP_BUNDLE_FIELD = null;
 	
 	/**
@@ -100,14 +106,9 @@ public enum DiscoveryUtil {
 						.collect(Collectors.toSet());
 				}
 				
-				URL jandexUrl = bundle.getResource("/META-INF/jandex.idx"); //$NON-NLS-1$
-				if(jandexUrl != null) {
-					Index jandex;
-					try(InputStream is = jandexUrl.openStream()) {
-						jandex = new IndexReader(is).read();
-					} catch (IOException e) {
-						throw new UncheckedIOException(MessageFormat.format("Encountered exception reading jandex.idx for {0}", bundle.getSymbolicName()), e);
-					}
+				Optional<Index> bundleIndex = getBundleIndex(bundle);
+				if(bundleIndex.isPresent()) {
+					Index jandex = bundleIndex.get();
 					
 					if(packages != null) {
 						return packages.stream()
@@ -204,7 +205,29 @@ public enum DiscoveryUtil {
 		return Optional.empty();
 	}
 	
+	private static String toCacheKey(Bundle bundle) {
+		return bundle.getBundleId() + "-" + bundle.getLastModified(); //$NON-NLS-1$
+	}
+	
+	private static Optional<Index> getBundleIndex(Bundle bundle) {
+		return BUNDLE_INDEXES.computeIfAbsent(toCacheKey(bundle), key -> {
+			URL jandexUrl = bundle.getResource("/META-INF/jandex.idx"); //$NON-NLS-1$
+			if(jandexUrl == null) {
+				return Optional.empty();
+			}
+			try(InputStream is = jandexUrl.openStream()) {
+				return Optional.of(new IndexReader(is).read());
+			} catch (IOException e) {
+				throw new UncheckedIOException(MessageFormat.format("Encountered exception reading jandex.idx for {0}", bundle.getSymbolicName()), e);
+			}
+		});
+	}
+	
 	private static ScanType determineScanType(Bundle bundle) {
+		return SCAN_TYPES.computeIfAbsent(toCacheKey(bundle), key -> readScanType(bundle));
+	}
+	
+	private static ScanType readScanType(Bundle bundle) {
 		URL beansXml = bundle.getResource("/META-INF/beans.xml"); //$NON-NLS-1$
 		if(beansXml == null) {
 			beansXml = bundle.getResource("/WEB-INF/beans.xml"); //$NON-NLS-1$
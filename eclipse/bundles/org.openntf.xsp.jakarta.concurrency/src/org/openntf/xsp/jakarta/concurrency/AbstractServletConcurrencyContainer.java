@@ -19,6 +19,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.logging.Level;
@@ -26,9 +27,8 @@ import java.util.logging.Logger;
 
 import org.glassfish.enterprise.concurrent.AbstractManagedExecutorService.RejectPolicy;
 import org.glassfish.enterprise.concurrent.ContextServiceImpl;
-import org.glassfish.enterprise.concurrent.ManagedExecutorServiceImpl;
-import org.glassfish.enterprise.concurrent.ManagedScheduledExecutorServiceImpl;
 import org.glassfish.enterprise.concurrent.spi.ContextSetupProvider;
+import org.openntf.xsp.jakartaee.util.LibraryUtil;
 
 import jakarta.enterprise.concurrent.ManagedExecutorService;
 import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
@@ -55,6 +55,29 @@ public abstract class AbstractServletConcurrencyContainer {
 	public static final String PROP_THREADLIFETIMESECONDS = PROP_PREFIX + ".threadLifetimeSeconds"; //$NON-NLS-1$
 	public static final String PROP_QUEUECAPACITY = PROP_PREFIX + ".queueCapacity"; //$NON-NLS-1$
 	public static final String PROP_REJECTPOLICY = PROP_PREFIX + ".rejectPolicy"; //$NON-NLS-1$
+	/**
+	 * Property used to select the implementation of the app's {@link ManagedExecutorService}:
+	 * {@value #EXECUTORTYPE_POOL} (the default) or {@value #EXECUTORTYPE_FORKJOIN}.
+	 * 
+	 * <p>Virtual threads are not supported, since Notes thread initialization is bound
+	 * to the OS thread and a virtual thread may change carrier threads.</p>
+	 * 
+	 * @since 2.15.0
+	 */
+	public static final String PROP_EXECUTORTYPE = PROP_PREFIX + ".executorType"; //$NON-NLS-1$
+	
+	/**
+	 * Uses a bounded pool of platform threads, configured by the pool-size properties.
+	 * 
+	 * @since 2.15.0
+	 */
+	public static final String EXECUTORTYPE_POOL = "pool"; //$NON-NLS-1$
+	/**
+	 * Runs tasks on a work-stealing pool with a parallelism of {@value #PROP_MAXPOOLSIZE}.
+	 * 
+	 * @since 2.15.0
+	 */
+	public static final String EXECUTORTYPE_FORKJOIN = "forkJoin"; //$NON-NLS-1$
 	
 	protected static final List<String> CONFIG_PROPS = Collections.unmodifiableList(Arrays.asList(
 		PROP_HUNGTASKTHRESHOLD,
@@ -64,7 +87,8 @@ public abstract class AbstractServletConcurrencyContainer {
 		PROP_KEEPALIVESECONDS,
 		PROP_THREADLIFETIMESECONDS,
 		PROP_QUEUECAPACITY,
-		PROP_REJECTPOLICY
+		PROP_REJECTPOLICY,
+		PROP_EXECUTORTYPE
 	));
 	
 	protected abstract Optional<ServletContext> getServletContext();
@@ -97,37 +121,63 @@ public abstract class AbstractServletConcurrencyContainer {
 			NotesManagedThreadFactory factory = new NotesManagedThreadFactory("threadFactory-" + name, contextService); //$NON-NLS-1$
 			ctx.setAttribute(ATTR_THREADFACTORY, factory);
 			
-			ManagedExecutorService exec = new ManagedExecutorServiceImpl(
-				"executor-" + name, //$NON-NLS-1$
-				factory,
-				hungTaskThreshold,
-				longRunningTasks,
-				corePoolSize,
-				maxPoolSize,
-				keepAliveTime,
-				TimeUnit.SECONDS,
-				threadLifeTime,
-				queueCapacity,
-				contextService,
-				rejectPolicy
-			);
+			// Each executor gets its own instrumented context service so that task events
+			//   can be attributed to it
+			ExecutorStatistics execStats = new ExecutorStatistics("executor-" + name, ExecutorStatistics.TYPE_EXECUTOR, rejectPolicy.name(), hungTaskThreshold); //$NON-NLS-1$
+			ContextServiceImpl execContextService = new ContextServiceImpl("executorContextService-" + name, new InstrumentedContextSetupProvider(provider, execStats)); //$NON-NLS-1$
+			
+			String executorType = configFetcher.apply(PROP_EXECUTORTYPE, EXECUTORTYPE_POOL);
+			ManagedExecutorService exec;
+			if(EXECUTORTYPE_FORKJOIN.equalsIgnoreCase(executorType)) {
+				LightweightManagedExecutorService lightExec = new LightweightManagedExecutorService("executor-" + name, execContextService, maxPoolSize, execStats); //$NON-NLS-1$
+				execStats.setPoolSizeSupplier(lightExec::getPoolSize);
+				exec = lightExec;
+			} else {
+				NotesManagedThreadFactory execFactory = new NotesManagedThreadFactory("threadFactory-executor-" + name, contextService); //$NON-NLS-1$
+				execStats.setPoolSizeSupplier(execFactory::getLiveThreadCount);
+				exec = new NotesManagedExecutorService(
+					"executor-" + name, //$NON-NLS-1$
+					execFactory,
+					hungTaskThreshold,
+					longRunningTasks,
+					corePoolSize,
+					maxPoolSize,
+					keepAliveTime,
+					TimeUnit.SECONDS,
+					threadLifeTime,
+					queueCapacity,
+					execContextService,
+					rejectPolicy,
+					execStats
+				);
+			}
 			ctx.setAttribute(ConcurrencyActivator.ATTR_EXECUTORSERVICE, exec);
 			ExecutorHolder.INSTANCE.register(exec);
 			
-			ManagedScheduledExecutorService scheduledExec = new ManagedScheduledExecutorServiceImpl(
+			ExecutorStatistics scheduledStats = new ExecutorStatistics("scheduledExecutor-" + name, ExecutorStatistics.TYPE_SCHEDULEDEXECUTOR, rejectPolicy.name(), hungTaskThreshold); //$NON-NLS-1$
+			ContextServiceImpl scheduledContextService = new ContextServiceImpl("scheduledExecutorContextService-" + name, new InstrumentedContextSetupProvider(provider, scheduledStats)); //$NON-NLS-1$
+			NotesManagedThreadFactory scheduledFactory = new NotesManagedThreadFactory("threadFactory-scheduledExecutor-" + name, contextService); //$NON-NLS-1$
+			scheduledStats.setPoolSizeSupplier(scheduledFactory::getLiveThreadCount);
+			ManagedScheduledExecutorService scheduledExec = new NotesManagedScheduledExecutorService(
 				"scheduledExecutor-" + name, //$NON-NLS-1$
-				factory,
+				scheduledFactory,
 				hungTaskThreshold,
 				longRunningTasks,
 				corePoolSize,
 				keepAliveTime,
 				TimeUnit.SECONDS,
 				threadLifeTime,
-				contextService,
-				rejectPolicy
+				scheduledContextService,
+				rejectPolicy,
+				scheduledStats
 			);
 			ctx.setAttribute(ConcurrencyActivator.ATTR_SCHEDULEDEXECUTORSERVICE, scheduledExec);
 			ExecutorHolder.INSTANCE.register(scheduledExec);
+			
+			for(ExecutorLifecycleParticipant participant : LibraryUtil.findExtensions(ExecutorLifecycleParticipant.class)) {
+				participant.executorCreated(ctx, execStats);
+				participant.executorCreated(ctx, scheduledStats);
+			}
 		});
 	}
 	
@@ -135,6 +185,7 @@ public abstract class AbstractServletConcurrencyContainer {
 		getServletContext().ifPresent(ctx -> {
 			ManagedExecutorService exec = (ManagedExecutorService)ctx.getAttribute(ConcurrencyActivator.ATTR_EXECUTORSERVICE);
 			if(exec != null) {
+				getStatistics(exec).ifPresent(stats -> notifyTerminated(ctx, stats));
 				try {
 					exec.shutdownNow();
 					exec.awaitTermination(5, TimeUnit.MINUTES);
@@ -148,6 +199,7 @@ public abstract class AbstractServletConcurrencyContainer {
 			
 			ManagedScheduledExecutorService scheduledExec = (ManagedScheduledExecutorService)ctx.getAttribute(ConcurrencyActivator.ATTR_SCHEDULEDEXECUTORSERVICE);
 			if(scheduledExec != null) {
+				getStatistics(scheduledExec).ifPresent(stats -> notifyTerminated(ctx, stats));
 				try {
 					scheduledExec.shutdownNow();
 					scheduledExec.awaitTermination(5, TimeUnit.MINUTES);
@@ -165,4 +217,28 @@ public abstract class AbstractServletConcurrencyContainer {
 			}
 		});
 	}
+	
+	private static Optional<ExecutorStatistics> getStatistics(ExecutorService exec) {
+		if(exec instanceof NotesManagedExecutorService) {
+			return Optional.of(((NotesManagedExecutorService)exec).getStatistics());
+		} else if(exec instanceof NotesManagedScheduledExecutorService) {
+			return Optional.of(((NotesManagedScheduledExecutorService)exec).getStatistics());
+		} else if(exec instanceof LightweightManagedExecutorService) {
+			return Optional.of(((LightweightManagedExecutorService)exec).getStatistics());
+		} else {
+			return Optional.empty();
+		}
+	}
+	
+	private static void notifyTerminated(ServletContext ctx, ExecutorStatistics stats) {
+		for(ExecutorLifecycleParticipant participant : LibraryUtil.findExtensions(ExecutorLifecycleParticipant.class)) {
+			try {
+				participant.executorTerminated(ctx, stats);
+			} catch(Exception e) {
+				if(log.isLoggable(Level.WARNING)) {
+					log.log(Level.WARNING, "Encountered exception notifying executor termination", e);
+				}
+			}
+		}
+	}
 }
@@ -15,9 +15,8 @@
  */
 package org.openntf.xsp.jakarta.concurrency;
 
-import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadPoolExecutor;
 
 import org.glassfish.enterprise.concurrent.spi.ContextHandle;
 import org.glassfish.enterprise.concurrent.spi.ContextSetupProvider;
@@ -35,14 +34,18 @@ import jakarta.enterprise.concurrent.ContextService;
 public class DominoContextSetupProvider implements ContextSetupProvider {
 	private static final long serialVersionUID = 1L;
 	
+	private transient List<ContextSetupParticipant> participants;
+	private transient List<ContextSetupParticipant> resetParticipants;
+	
 	public DominoContextSetupProvider() {
 	}
 
 	@Override
 	public ContextHandle saveContext(ContextService contextService) {
 		ContextHandle handle = new AttributedContextHandle();
-		LibraryUtil.findExtensionsSorted(ContextSetupParticipant.class, false)
-			.forEach(participant -> participant.saveContext(handle));
+		for(ContextSetupParticipant participant : getParticipants()) {
+			participant.saveContext(handle);
+		}
 		
 		return handle;
 	}
@@ -50,17 +53,21 @@ public class DominoContextSetupProvider implements ContextSetupProvider {
 	@Override
 	public ContextHandle saveContext(ContextService contextService, Map<String, String> contextObjectProperties) {
 		ContextHandle handle = new AttributedContextHandle();
-		LibraryUtil.findExtensionsSorted(ContextSetupParticipant.class, false)
-			.forEach(participant -> participant.saveContext(handle, contextObjectProperties));
+		for(ContextSetupParticipant participant : getParticipants()) {
+			participant.saveContext(handle, contextObjectProperties);
+		}
 		
 		return handle;
 	}
 
 	@Override
 	public ContextHandle setup(ContextHandle contextHandle) throws IllegalStateException {
-		if(shouldSetup()) {
-			LibraryUtil.findExtensionsSorted(ContextSetupParticipant.class, false)
-				.forEach(participant -> participant.setup(contextHandle));
+		// Setup is called both for the thread as a whole and for each task, but we only
+		//   want to call participants for tasks run from the internal executor service
+		if(ManagedThreadMarker.shouldSetup(contextHandle)) {
+			for(ContextSetupParticipant participant : getParticipants()) {
+				participant.setup(contextHandle);
+			}
 		}
 		
 		return contextHandle;
@@ -68,19 +75,26 @@ public class DominoContextSetupProvider implements ContextSetupProvider {
 
 	@Override
 	public void reset(ContextHandle contextHandle) {
-		LibraryUtil.findExtensionsSorted(ContextSetupParticipant.class, true)
-			.forEach(participant -> participant.reset(contextHandle));
+		for(ContextSetupParticipant participant : getResetParticipants()) {
+			participant.reset(contextHandle);
+		}
 	}
-
-	/**
-	 * Setup is called twice with the same thread object, but we only want to actually call setup participants
-	 * when run from the internal executor service.
-	 * 
-	 * @return {@code true} if participants should be called to set up; {@code false} otherwise
-	 */
-	private boolean shouldSetup() {
-		StackTraceElement[] stack = Thread.currentThread().getStackTrace();
-		return Arrays.stream(stack)
-			.anyMatch(el -> ThreadPoolExecutor.class.getName().equals(el.getClassName()));
+	
+	private List<ContextSetupParticipant> getParticipants() {
+		List<ContextSetupParticipant> result = this.participants;
+		if(result == null) {
+			result = LibraryUtil.findExtensionsSorted(ContextSetupParticipant.class, false);
+			this.participants = result;
+		}
+		return result;
+	}
+	
+	private List<ContextSetupParticipant> getResetParticipants() {
+		List<ContextSetupParticipant> result = this.resetParticipants;
+		if(result == null) {
+			result = LibraryUtil.findExtensionsSorted(ContextSetupParticipant.class, true);
+			this.resetParticipants = result;
+		}
+		return result;
 	}
 }
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.jakarta.concurrency;
+
+import jakarta.servlet.ServletContext;
+
+/**
+ * This extension interface allows other bundles to be notified when app-specific
+ * executors are created and terminated, such as to report their statistics.
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public interface ExecutorLifecycleParticipant {
+	/**
+	 * Called after an executor has been created for the provided context.
+	 * 
+	 * @param ctx the {@link ServletContext} owning the executor
+	 * @param statistics the {@link ExecutorStatistics} for the executor
+	 */
+	void executorCreated(ServletContext ctx, ExecutorStatistics statistics);
+	
+	/**
+	 * Called before an executor for the provided context is shut down.
+	 * 
+	 * @param ctx the {@link ServletContext} owning the executor
+	 * @param statistics the {@link ExecutorStatistics} for the executor
+	 */
+	void executorTerminated(ServletContext ctx, ExecutorStatistics statistics);
+}
@@ -0,0 +1,302 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.jakarta.concurrency;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Tracks task-level statistics for a single app executor, such as the number of
+ * queued and running tasks and how long tasks wait before running.
+ * 
+ * <p>Statistics are collected by {@link InstrumentedContextSetupProvider} as tasks
+ * pass through their context lifecycle, and are made available to
+ * {@link ExecutorLifecycleParticipant}s for reporting.</p>
+ * 
+ * <p>Each submission is tracked as a {@link QueuedTask} that leaves the queue
+ * exactly once: when it starts, is rejected, is cancelled before starting, or is
+ * drained by {@code shutdownNow()}.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class ExecutorStatistics {
+	/**
+	 * Receives task timing events as they occur.
+	 */
+	public interface Listener {
+		/**
+		 * Called when a task begins running.
+		 * 
+		 * @param waitNanos the time in nanoseconds the task spent queued, or
+		 *        {@code -1} if unknown, such as for subsequent runs of a
+		 *        periodic task
+		 */
+		default void taskStarted(long waitNanos) { }
+		
+		/**
+		 * Called when a task finishes running, whether or not it succeeded.
+		 * 
+		 * @param runNanos the time in nanoseconds the task spent running
+		 */
+		default void taskCompleted(long runNanos) { }
+		
+		/**
+		 * Called when a task is rejected by the executor.
+		 */
+		default void taskRejected() { }
+	}
+	
+	/**
+	 * Represents a single submitted task while it waits to run.
+	 */
+	static final class QueuedTask {
+		private final long submittedNanos = System.nanoTime();
+		private final AtomicBoolean queued = new AtomicBoolean(true);
+		private volatile Future<?> future;
+	}
+	
+	public static final String TYPE_EXECUTOR = "executor"; //$NON-NLS-1$
+	public static final String TYPE_SCHEDULEDEXECUTOR = "scheduledExecutor"; //$NON-NLS-1$
+	
+	private final String name;
+	private final String type;
+	private final String rejectPolicy;
+	private final long hungTaskThresholdNanos;
+	private volatile IntSupplier poolSize = () -> 0;
+	
+	private final Set<QueuedTask> queued = ConcurrentHashMap.newKeySet();
+	private final ThreadLocal<QueuedTask> lastSubmitted = new ThreadLocal<>();
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final Map<Object, Long> running = new ConcurrentHashMap<>();
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * @param name the name of the executor
+	 * @param type the type of the executor, such as {@link #TYPE_EXECUTOR}
+	 * @param rejectPolicy the name of the policy applied when tasks are rejected
+	 * @param hungTaskThresholdMillis the time in milliseconds after which a running
+	 *        task is considered hung, or {@code 0} to disable hung-task tracking
+	 */
+	public ExecutorStatistics(String name, String type, String rejectPolicy, long hungTaskThresholdMillis) {
+		this.name = name;
+		this.type = type;
+		this.rejectPolicy = rejectPolicy;
+		this.hungTaskThresholdNanos = TimeUnit.MILLISECONDS.toNanos(hungTaskThresholdMillis);
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public String getType() {
+		return type;
+	}
+	
+	public String getRejectPolicy() {
+		return rejectPolicy;
+	}
+	
+	public void addListener(Listener listener) {
+		this.listeners.add(listener);
+	}
+	
+	public void removeListener(Listener listener) {
+		this.listeners.remove(listener);
+	}
+	
+	void setPoolSizeSupplier(IntSupplier poolSize) {
+		this.poolSize = poolSize;
+	}
+	
+	// *******************************************************************************
+	// * Current values
+	// *******************************************************************************
+	
+	/**
+	 * @return the number of tasks submitted but not yet started
+	 */
+	public long getQueueSize() {
+		// Futures cancelled while queued may never be picked up by a worker
+		for(QueuedTask task : queued) {
+			Future<?> future = task.future;
+			if(future != null && future.isCancelled()) {
+				leaveQueue(task);
+			}
+		}
+		return queued.size();
+	}
+	
+	/**
+	 * @return the number of tasks currently running
+	 */
+	public int getActiveCount() {
+		return running.size();
+	}
+	
+	/**
+	 * @return the number of threads currently owned by the executor
+	 */
+	public int getPoolSize() {
+		return poolSize.getAsInt();
+	}
+	
+	/**
+	 * @return the total number of tasks that have finished running
+	 */
+	public long getCompletedTaskCount() {
+		return completed.sum();
+	}
+	
+	/**
+	 * @return the total number of tasks rejected by the executor
+	 */
+	public long getRejectedTaskCount() {
+		return rejected.sum();
+	}
+	
+	/**
+	 * @return the number of running tasks that have exceeded the hung-task threshold
+	 */
+	public int getHungTaskCount() {
+		if(hungTaskThresholdNanos <= 0) {
+			return 0;
+		}
+		long now = System.nanoTime();
+		int result = 0;
+		for(Long start : running.values()) {
+			if(now - start > hungTaskThresholdNanos) {
+				result++;
+			}
+		}
+		return result;
+	}
+	
+	// *******************************************************************************
+	// * Task events
+	// *******************************************************************************
+	
+	/**
+	 * Records a newly-submitted task. The returned object is also retained for the
+	 * current thread until {@link #trackSubmitted(Future)} or
+	 * {@link #taskRejected()} is called.
+	 * 
+	 * @return a {@link QueuedTask} representing the submission
+	 */
+	QueuedTask taskSubmitted() {
+		QueuedTask task = new QueuedTask();
+		queued.add(task);
+		lastSubmitted.set(task);
+		return task;
+	}
+	
+	/**
+	 * Associates the task most recently submitted on the current thread with the
+	 * {@link Future} returned to the caller, so that cancelling it before it runs
+	 * removes it from the queue count.
+	 * 
+	 * @param <F> the type of {@link Future}
+	 * @param future the {@link Future} for the submitted task, or {@code null}
+	 *        if the caller was not given one
+	 * @return the provided {@link Future}
+	 */
+	<F extends Future<?>> F trackSubmitted(F future) {
+		QueuedTask task = lastSubmitted.get();
+		lastSubmitted.remove();
+		if(task != null && future != null) {
+			task.future = future;
+			if(future.isCancelled()) {
+				leaveQueue(task);
+			}
+		}
+		return future;
+	}
+	
+	/**
+	 * Records that a task is starting.
+	 * 
+	 * @param task an object identifying the running task
+	 * @param queuedTask the {@link QueuedTask} for the task's submission, or
+	 *        {@code null} if it was not queued, such as for subsequent runs of a
+	 *        periodic task
+	 */
+	void taskStarted(Object task, QueuedTask queuedTask) {
+		long now = System.nanoTime();
+		long waitNanos = -1;
+		if(queuedTask != null && leaveQueue(queuedTask)) {
+			waitNanos = now - queuedTask.submittedNanos;
+		}
+		running.put(task, now);
+		for(Listener listener : listeners) {
+			listener.taskStarted(waitNanos);
+		}
+	}
+	
+	void taskCompleted(Object task) {
+		Long start = running.remove(task);
+		if(start != null) {
+			completed.increment();
+			long runNanos = System.nanoTime() - start;
+			for(Listener listener : listeners) {
+				listener.taskCompleted(runNanos);
+			}
+		}
+	}
+	
+	/**
+	 * Removes all tasks still counted as queued, such as after
+	 * {@code shutdownNow()} has drained the executor's queue.
+	 */
+	void queueDrained() {
+		for(QueuedTask task : queued) {
+			leaveQueue(task);
+		}
+	}
+	
+	/**
+	 * Records that the task most recently submitted on the current thread was
+	 * rejected by the executor.
+	 */
+	public void taskRejected() {
+		QueuedTask task = lastSubmitted.get();
+		lastSubmitted.remove();
+		if(task != null) {
+			leaveQueue(task);
+		}
+		rejected.increment();
+		for(Listener listener : listeners) {
+			listener.taskRejected();
+		}
+	}
+	
+	private boolean leaveQueue(QueuedTask task) {
+		if(task.queued.compareAndSet(true, false)) {
+			queued.remove(task);
+			task.future = null;
+			return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.jakarta.concurrency;
+
+import java.util.Map;
+
+import org.glassfish.enterprise.concurrent.spi.ContextHandle;
+import org.glassfish.enterprise.concurrent.spi.ContextSetupProvider;
+
+import jakarta.enterprise.concurrent.ContextService;
+
+/**
+ * {@link ContextSetupProvider} that delegates to another provider while recording
+ * task lifecycle events in an {@link ExecutorStatistics} object.
+ * 
+ * <p>Instances of this class should be used only for the context service of a
+ * single executor, so that each saved context corresponds to a submitted task.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class InstrumentedContextSetupProvider implements ContextSetupProvider {
+	private static final long serialVersionUID = 1L;
+	
+	private static final String ATTR_SUBMITTED = InstrumentedContextSetupProvider.class.getName() + "_submitted"; //$NON-NLS-1$
+	
+	private final ContextSetupProvider delegate;
+	private final transient ExecutorStatistics statistics;
+
+	public InstrumentedContextSetupProvider(ContextSetupProvider delegate, ExecutorStatistics statistics) {
+		this.delegate = delegate;
+		this.statistics = statistics;
+	}
+
+	@Override
+	public ContextHandle saveContext(ContextService contextService) {
+		return markSubmitted(delegate.saveContext(contextService));
+	}
+
+	@Override
+	public ContextHandle saveContext(ContextService contextService, Map<String, String> contextObjectProperties) {
+		return markSubmitted(delegate.saveContext(contextService, contextObjectProperties));
+	}
+
+	@Override
+	public ContextHandle setup(ContextHandle contextHandle) throws IllegalStateException {
+		ExecutorStatistics.QueuedTask queuedTask = null;
+		if(contextHandle instanceof AttributedContextHandle) {
+			// Only the first run of a periodic task counts as leaving the queue
+			AttributedContextHandle handle = (AttributedContextHandle)contextHandle;
+			queuedTask = handle.getAttribute(ATTR_SUBMITTED);
+			if(queuedTask != null) {
+				handle.setAttribute(ATTR_SUBMITTED, null);
+			}
+		}
+		ContextHandle result = delegate.setup(contextHandle);
+		statistics.taskStarted(result, queuedTask);
+		return result;
+	}
+
+	@Override
+	public void reset(ContextHandle contextHandle) {
+		try {
+			delegate.reset(contextHandle);
+		} finally {
+			statistics.taskCompleted(contextHandle);
+		}
+	}
+	
+	private ContextHandle markSubmitted(ContextHandle handle) {
+		if(handle instanceof AttributedContextHandle) {
+			((AttributedContextHandle)handle).setAttribute(ATTR_SUBMITTED, statistics.taskSubmitted());
+		}
+		return handle;
+	}
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.jakarta.concurrency;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.glassfish.enterprise.concurrent.spi.ContextHandle;
+import org.glassfish.enterprise.concurrent.spi.ContextSetupProvider;
+
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import lotus.domino.NotesThread;
+
+/**
+ * {@link ManagedExecutorService} implementation that runs tasks on a
+ * work-stealing {@link ForkJoinPool}.
+ * 
+ * <p>This is intended for I/O-bound work, such as remote calls or queries
+ * across many databases, that would otherwise be capped by the size of the
+ * standard pool. Tasks are set up using the same {@link ContextSetupProvider}
+ * as the standard executor and run with an initialized Notes thread.</p>
+ * 
+ * <p>Virtual threads are deliberately not used: Notes thread initialization is
+ * bound to the underlying OS thread, and a virtual thread may move between
+ * carrier threads while it runs.</p>
+ * 
+ * <p>Unlike the standard executor, this implementation does not track hung
+ * tasks and does not reject tasks due to queue capacity.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class LightweightManagedExecutorService extends AbstractExecutorService implements ManagedExecutorService {
+	private final ContextServiceImpl contextService;
+	private final ContextSetupProvider contextSetupProvider;
+	private final ForkJoinPool delegate;
+	private final ExecutorStatistics statistics;
+	
+	/**
+	 * Creates a new executor.
+	 * 
+	 * @param name the name of the executor, used for its threads
+	 * @param contextService the {@link ContextServiceImpl} used to propagate context
+	 * @param parallelism the parallelism level of the {@link ForkJoinPool}
+	 * @param statistics the {@link ExecutorStatistics} used to record task events
+	 */
+	public LightweightManagedExecutorService(String name, ContextServiceImpl contextService, int parallelism, ExecutorStatistics statistics) {
+		this.contextService = contextService;
+		this.statistics = statistics;
+		this.contextSetupProvider = contextService.getContextSetupProvider();
+		this.delegate = new ForkJoinPool(Math.max(1, parallelism), new NotesForkJoinWorkerThreadFactory(name), null, true);
+	}
+	
+	public ExecutorStatistics getStatistics() {
+		return statistics;
+	}
+	
+	/**
+	 * @return the number of threads currently owned by this executor
+	 */
+	public int getPoolSize() {
+		return delegate.getPoolSize();
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		// Capture the context of the submitting thread
+		ContextHandle contextHandle = contextSetupProvider.saveContext(contextService);
+		
+		Runnable task = () -> {
+			// ForkJoinPool workers are initialized for Notes once for their lifetime
+			ManagedThreadMarker.mark(null);
+			ContextHandle setupHandle = null;
+			try {
+				setupHandle = contextSetupProvider.setup(contextHandle);
+				command.run();
+			} finally {
+				try {
+					if(setupHandle != null) {
+						contextSetupProvider.reset(setupHandle);
+					}
+				} finally {
+					ManagedThreadMarker.unmark();
+				}
+			}
+		};
+		
+		// Thread creation may happen here, which requires elevated permissions
+		try {
+			AccessController.doPrivileged((PrivilegedAction<Void>)() -> {
+				delegate.execute(task);
+				return null;
+			});
+			// Tasks from submit(...) arrive here as the Future returned to the caller
+			statistics.trackSubmitted(command instanceof Future ? (Future<?>)command : null);
+		} catch(RejectedExecutionException e) {
+			statistics.taskRejected();
+			throw e;
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		AccessController.doPrivileged((PrivilegedAction<Void>)() -> {
+			delegate.shutdown();
+			return null;
+		});
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		try {
+			return AccessController.doPrivileged((PrivilegedAction<List<Runnable>>)delegate::shutdownNow);
+		} finally {
+			// ForkJoinPool cancels its queued tasks rather than returning them
+			statistics.queueDrained();
+		}
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return delegate.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return delegate.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return delegate.awaitTermination(timeout, unit);
+	}
+	
+	// *******************************************************************************
+	// * Internal implementation utilities
+	// *******************************************************************************
+	
+	private static class NotesForkJoinWorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+		private final String name;
+		private final AtomicLong count = new AtomicLong();
+		
+		public NotesForkJoinWorkerThreadFactory(String name) {
+			this.name = name;
+		}
+		
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			return AccessController.doPrivileged((PrivilegedAction<ForkJoinWorkerThread>)() -> {
+				ForkJoinWorkerThread thread = new NotesForkJoinWorkerThread(pool);
+				thread.setName(name + "-" + count.incrementAndGet()); //$NON-NLS-1$
+				return thread;
+			});
+		}
+	}
+	
+	private static class NotesForkJoinWorkerThread extends ForkJoinWorkerThread {
+		protected NotesForkJoinWorkerThread(ForkJoinPool pool) {
+			super(pool);
+		}
+		
+		@Override
+		protected void onStart() {
+			super.onStart();
+			NotesThread.sinitThread();
+		}
+		
+		@Override
+		protected void onTermination(Throwable exception) {
+			NotesThread.stermThread();
+			super.onTermination(exception);
+		}
+	}
+}
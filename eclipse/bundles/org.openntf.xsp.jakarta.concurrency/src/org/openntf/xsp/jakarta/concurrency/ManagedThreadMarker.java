@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.jakarta.concurrency;
+
+import org.glassfish.enterprise.concurrent.spi.ContextHandle;
+
+/**
+ * Tracks whether the current thread is a worker thread for one of the
+ * app-specific executors, allowing {@link ContextSetupParticipant}s to tell
+ * task-level context setup apart from other calls.
+ * 
+ * <p>Managed threads are also set up once with the context of the thread that
+ * created them. That setup should not install per-request context for the life
+ * of the thread, and so it is identified by its {@link ContextHandle}.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public enum ManagedThreadMarker {
+	;
+	
+	private static final Object NO_HANDLE = new Object();
+	private static final ThreadLocal<Object> MARKER = new ThreadLocal<>();
+	
+	/**
+	 * Marks the current thread as an executor worker thread.
+	 * 
+	 * @param threadContextHandle the {@link ContextHandle} used to set up the thread
+	 *        itself, if any; may be {@code null}
+	 */
+	public static void mark(ContextHandle threadContextHandle) {
+		MARKER.set(threadContextHandle == null ? NO_HANDLE : threadContextHandle);
+	}
+	
+	public static void unmark() {
+		MARKER.remove();
+	}
+	
+	/**
+	 * Determines whether context should be set up for the provided handle in the
+	 * current thread.
+	 * 
+	 * @param contextHandle the handle being set up
+	 * @return {@code true} if the current thread is a marked worker thread and
+	 *         {@code contextHandle} is not the thread-level handle; {@code false}
+	 *         otherwise
+	 */
+	public static boolean shouldSetup(ContextHandle contextHandle) {
+		Object marker = MARKER.get();
+		return marker != null && marker != contextHandle;
+	}
+}
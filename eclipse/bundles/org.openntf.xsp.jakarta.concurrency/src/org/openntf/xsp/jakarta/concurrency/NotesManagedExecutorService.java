@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.jakarta.concurrency;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.glassfish.enterprise.concurrent.ManagedExecutorServiceImpl;
+
+/**
+ * Extension of {@link ManagedExecutorServiceImpl} that owns its thread factory
+ * and records submitted, rejected, and drained tasks in its
+ * {@link ExecutorStatistics}.
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class NotesManagedExecutorService extends ManagedExecutorServiceImpl {
+	private final NotesManagedThreadFactory threadFactory;
+	private final ExecutorStatistics statistics;
+
+	public NotesManagedExecutorService(String name, NotesManagedThreadFactory threadFactory, long hungTaskThreshold,
+			boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit,
+			long threadLifeTime, int queueCapacity, ContextServiceImpl contextService, RejectPolicy rejectPolicy,
+			ExecutorStatistics statistics) {
+		super(name, threadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, maxPoolSize, keepAliveTime,
+				keepAliveTimeUnit, threadLifeTime, queueCapacity, contextService, rejectPolicy);
+		this.threadFactory = threadFactory;
+		this.statistics = statistics;
+	}
+	
+	public ExecutorStatistics getStatistics() {
+		return statistics;
+	}
+	
+	@Override
+	public void execute(Runnable command) {
+		try {
+			super.execute(command);
+			// No Future is returned to the caller to cancel
+			statistics.trackSubmitted(null);
+		} catch(RejectedExecutionException e) {
+			statistics.taskRejected();
+			throw e;
+		}
+	}
+	
+	@Override
+	public Future<?> submit(Runnable task) {
+		try {
+			return statistics.trackSubmitted(super.submit(task));
+		} catch(RejectedExecutionException e) {
+			statistics.taskRejected();
+			throw e;
+		}
+	}
+	
+	@Override
+	public <T> Future<T> submit(Runnable task, T result) {
+		try {
+			return statistics.trackSubmitted(super.submit(task, result));
+		} catch(RejectedExecutionException e) {
+			statistics.taskRejected();
+			throw e;
+		}
+	}
+	
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		try {
+			return statistics.trackSubmitted(super.submit(task));
+		} catch(RejectedExecutionException e) {
+			statistics.taskRejected();
+			throw e;
+		}
+	}
+	
+	@Override
+	public List<Runnable> shutdownNow() {
+		try {
+			return super.shutdownNow();
+		} finally {
+			statistics.queueDrained();
+			threadFactory.stop();
+		}
+	}
+}
@@ -17,6 +17,7 @@ package org.openntf.xsp.jakarta.concurrency;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.glassfish.enterprise.concurrent.AbstractManagedThread;
 import org.glassfish.enterprise.concurrent.ContextServiceImpl;
@@ -26,6 +27,7 @@ import org.glassfish.enterprise.concurrent.spi.ContextHandle;
 import lotus.domino.NotesThread;
 
 public class NotesManagedThreadFactory extends ManagedThreadFactoryImpl {
+	private final AtomicInteger liveThreads = new AtomicInteger();
 
 	public NotesManagedThreadFactory(String name) {
 		super(name);
@@ -56,6 +58,14 @@ public class NotesManagedThreadFactory extends ManagedThreadFactoryImpl {
 		});
 	}
 	
+	/**
+	 * @return the number of threads created by this factory that are currently running
+	 * @since 2.15.0
+	 */
+	public int getLiveThreadCount() {
+		return liveThreads.get();
+	}
+	
 	@Override
 	public Thread newThread(Runnable r) {
 		Thread t = super.newThread(r);
@@ -64,18 +74,24 @@ public class NotesManagedThreadFactory extends ManagedThreadFactoryImpl {
 	}
 	
 	public class ManagedNotesThread extends ManagedThread {
+		private final ContextHandle threadContextHandle;
 
 		public ManagedNotesThread(Runnable target, ContextHandle contextHandleForSetup) {
 			super(target, contextHandleForSetup);
+			this.threadContextHandle = contextHandleForSetup;
 		}
 		
 		@Override
 		public void run() {
+			liveThreads.incrementAndGet();
 			NotesThread.sinitThread();
+			ManagedThreadMarker.mark(threadContextHandle);
 			try {
 				super.run();
 			} finally {
+				ManagedThreadMarker.unmark();
 				NotesThread.stermThread();
+				liveThreads.decrementAndGet();
 			}
 		}
 	}
@@ -18,11 +18,14 @@ package org.openntf.xsp.jakarta.concurrency.nsf;
 import java.util.Optional;
 
 import org.openntf.xsp.jakarta.concurrency.AbstractServletConcurrencyContainer;
+import org.openntf.xsp.jakarta.concurrency.ConcurrencyActivator;
 import org.openntf.xsp.jakartaee.module.ComponentModuleLocator;
+import org.openntf.xsp.jakartaee.module.ModuleWarmup;
 
 import com.ibm.xsp.application.ApplicationEx;
 import com.ibm.xsp.application.events.ApplicationListener2;
 
+import jakarta.enterprise.concurrent.ManagedExecutorService;
 import jakarta.servlet.ServletContext;
 
 /**
@@ -30,6 +33,9 @@ import jakarta.servlet.ServletContext;
  * comparable to ServletContext lifecycle - to attach a listener to init/term
  * JNDI configuration for Concurrency.
  * 
+ * <p>When enabled via {@value ModuleWarmup#PROP_WARMUP}, this also schedules
+ * module warm-up on the app's executor after creation and refresh.</p>
+ * 
  * @author Jesse Gallagher
  * @since 2.7.0
  */
@@ -37,6 +43,7 @@ public class ConcurrencyApplicationListener extends AbstractServletConcurrencyCo
 	@Override
 	public void applicationCreated(ApplicationEx app) {
 		initializeConcurrencyContainer(app::getProperty);
+		startWarmup();
 	}
 
 	@Override
@@ -46,7 +53,7 @@ public class ConcurrencyApplicationListener extends AbstractServletConcurrencyCo
 
 	@Override
 	public void applicationRefreshed(ApplicationEx app) {
-		
+		startWarmup();
 	}
 
 	@Override
@@ -54,4 +61,14 @@ public class ConcurrencyApplicationListener extends AbstractServletConcurrencyCo
 		return ComponentModuleLocator.getDefault()
 			.flatMap(ComponentModuleLocator::getServletContext);
 	}
+	
+	private void startWarmup() {
+		ComponentModuleLocator.getDefault()
+			.map(ComponentModuleLocator::getActiveModule)
+			.filter(ModuleWarmup::isEnabled)
+			.ifPresent(module -> getServletContext()
+				.map(ctx -> (ManagedExecutorService)ctx.getAttribute(ConcurrencyActivator.ATTR_EXECUTORSERVICE))
+				.ifPresent(exec -> ModuleWarmup.start(module, exec))
+			);
+	}
 }
@@ -18,10 +18,8 @@ package org.openntf.xsp.jakarta.concurrency.nsf;
 import java.lang.reflect.Field;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ThreadPoolExecutor;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -29,6 +27,7 @@ import javax.servlet.http.HttpServletRequest;
 import org.glassfish.enterprise.concurrent.spi.ContextHandle;
 import org.openntf.xsp.jakarta.concurrency.AttributedContextHandle;
 import org.openntf.xsp.jakarta.concurrency.ContextSetupParticipant;
+import org.openntf.xsp.jakarta.concurrency.ManagedThreadMarker;
 
 import com.ibm.designer.runtime.domino.adapter.ComponentModule;
 import com.ibm.domino.xsp.module.nsf.NSFComponentModule;
@@ -82,7 +81,7 @@ public class NSFNotesContextParticipant implements ContextSetupParticipant {
 	
 	@Override
 	public void setup(ContextHandle contextHandle) throws IllegalStateException {
-		if(!shouldSetup()) {
+		if(!ManagedThreadMarker.shouldSetup(contextHandle)) {
 			return;
 		}
 		
@@ -134,12 +133,6 @@ public class NSFNotesContextParticipant implements ContextSetupParticipant {
 		}
 	}
 
-	private boolean shouldSetup() {
-		StackTraceElement[] stack = Thread.currentThread().getStackTrace();
-		return Arrays.stream(stack)
-			.anyMatch(el -> ThreadPoolExecutor.class.getName().equals(el.getClassName()));
-	}
-	
 	protected Optional<HttpServletRequest> getHttpServletRequest(NotesContext context) {
 		return AccessController.doPrivileged((PrivilegedAction<Optional<HttpServletRequest>>)() -> {
 			try {
@@ -83,7 +83,7 @@ public abstract class AbstractXspLifecycleServlet extends HttpServlet {
 	}
 
 	private ServletConfig config;
-	private boolean initialized = false;
+	private volatile boolean initialized = false;
 	private final ComponentModule module;
 	private DesignerFacesServlet facesServlet;
 
@@ -120,11 +120,8 @@ public abstract class AbstractXspLifecycleServlet extends HttpServlet {
 		initializeSessionAsSigner();
 		FacesContext facesContext = null;
 		try {
-			if (!initialized){ // initialization has do be done after NotesContext is initialized with session to support SessionAsSigner operations
-				doInit(config);
-				
-				initialized = true;
-			}
+			// initialization has do be done after NotesContext is initialized with session to support SessionAsSigner operations
+			initialize();
 			
 			facesContext = getFacesContext(request, response);
 	    	FacesContextEx exc = (FacesContextEx)facesContext;
@@ -172,6 +169,30 @@ public abstract class AbstractXspLifecycleServlet extends HttpServlet {
 	 */
 	protected abstract void doInit(ServletConfig config) throws ServletException;
 	
+	/**
+	 * Runs {@link #doInit(ServletConfig)} if it has not already been run, allowing
+	 * it to be done ahead of the first request from a thread with an active
+	 * {@code NotesContext}.
+	 * 
+	 * @throws ServletException if initialization encounters a problem
+	 * @throws IllegalStateException if {@link #init(ServletConfig)} has not yet
+	 *         been called
+	 * @since 2.15.0
+	 */
+	public void initialize() throws ServletException {
+		if(!initialized) {
+			synchronized(this) {
+				if(!initialized) {
+					if(config == null) {
+						throw new IllegalStateException("Servlet has not been initialized with a ServletConfig");
+					}
+					doInit(config);
+					initialized = true;
+				}
+			}
+		}
+	}
+	
 	protected abstract void doService(HttpServletRequest request, HttpServletResponse response, ApplicationEx application) throws ServletException, IOException;
 
 	// *******************************************************************************
@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.jakartaee.module;
+
+import java.text.MessageFormat;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openntf.xsp.jakartaee.util.LibraryUtil;
+import org.openntf.xsp.jakartaee.util.ModuleUtil;
+
+import com.ibm.designer.runtime.domino.adapter.ComponentModule;
+
+/**
+ * Coordinates the optional eager warm-up of per-module state, delegating the
+ * actual work to registered {@link ModuleWarmupParticipant} extensions.
+ * 
+ * <p>Warm-up is enabled for an application by setting {@value #PROP_WARMUP} to
+ * {@code true} in its xsp.properties. Its progress is tracked per module refresh,
+ * so that a design refresh reports the app as not ready until the warm-up for the
+ * new design completes.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public enum ModuleWarmup {
+	;
+	private static final Logger log = Logger.getLogger(ModuleWarmup.class.getName());
+	
+	/**
+	 * xsp.properties property used to enable eager warm-up for an application.
+	 */
+	public static final String PROP_WARMUP = "org.openntf.xsp.jakartaee.warmup"; //$NON-NLS-1$
+	
+	private static final String ATTR_STATUS = ModuleWarmup.class.getName() + "_status"; //$NON-NLS-1$
+	
+	public enum State {
+		/** Warm-up is not enabled for the module */
+		DISABLED,
+		/** Warm-up has been scheduled but not yet started */
+		PENDING,
+		/** Warm-up participants are currently running */
+		RUNNING,
+		/** All warm-up participants completed successfully */
+		READY,
+		/** At least one warm-up participant failed */
+		FAILED
+	}
+	
+	private static class Status {
+		private final long lastRefresh;
+		private volatile State state = State.PENDING;
+		private volatile Throwable failure;
+		
+		public Status(long lastRefresh) {
+			this.lastRefresh = lastRefresh;
+		}
+	}
+	
+	/**
+	 * Determines whether warm-up is enabled for the provided module.
+	 * 
+	 * @param module the module to check
+	 * @return {@code true} if {@value #PROP_WARMUP} is set to {@code true}
+	 */
+	public static boolean isEnabled(ComponentModule module) {
+		if(module == null) {
+			return false;
+		}
+		return Boolean.parseBoolean(LibraryUtil.getXspProperties(module).getProperty(PROP_WARMUP, "false")); //$NON-NLS-1$
+	}
+	
+	/**
+	 * Schedules warm-up for the current refresh of the provided module on the
+	 * provided executor, if it is enabled and not already scheduled.
+	 * 
+	 * @param module the module to warm up
+	 * @param executor the {@link Executor} to run warm-up tasks on
+	 */
+	public static void start(ComponentModule module, Executor executor) {
+		if(!isEnabled(module)) {
+			return;
+		}
+		
+		Map<String, Object> attributes = module.getAttributes();
+		long lastRefresh = module.getLastRefresh();
+		Status status;
+		synchronized(attributes) {
+			Status existing = (Status)attributes.get(ATTR_STATUS);
+			if(existing != null && existing.lastRefresh >= lastRefresh) {
+				return;
+			}
+			status = new Status(lastRefresh);
+			attributes.put(ATTR_STATUS, status);
+		}
+		
+		try {
+			executor.execute(() -> run(module, status));
+		} catch(RejectedExecutionException e) {
+			status.failure = e;
+			status.state = State.FAILED;
+			if(log.isLoggable(Level.WARNING)) {
+				log.log(Level.WARNING, MessageFormat.format("Unable to schedule warm-up for {0}", ModuleUtil.getModuleId(module)), e);
+			}
+		}
+	}
+	
+	/**
+	 * Retrieves the warm-up state for the current refresh of the provided module.
+	 * 
+	 * @param module the module to check
+	 * @return the module's warm-up {@link State}
+	 */
+	public static State getState(ComponentModule module) {
+		if(!isEnabled(module)) {
+			return State.DISABLED;
+		}
+		Status status = (Status)module.getAttributes().get(ATTR_STATUS);
+		if(status == null || status.lastRefresh < module.getLastRefresh()) {
+			return State.PENDING;
+		}
+		return status.state;
+	}
+	
+	/**
+	 * Retrieves the first failure encountered while warming up the current refresh
+	 * of the provided module, if any.
+	 * 
+	 * @param module the module to check
+	 * @return the encountered {@link Throwable}, or {@code null} if there was none
+	 *         or warm-up has not yet run for the module's current refresh
+	 */
+	public static Throwable getFailure(ComponentModule module) {
+		Status status = (Status)module.getAttributes().get(ATTR_STATUS);
+		if(status == null || status.lastRefresh < module.getLastRefresh()) {
+			// Any recorded failure belongs to a previous design
+			return null;
+		}
+		return status.failure;
+	}
+	
+	private static void run(ComponentModule module, Status status) {
+		status.state = State.RUNNING;
+		long start = System.currentTimeMillis();
+		String moduleId = ModuleUtil.getModuleId(module);
+		
+		for(ModuleWarmupParticipant participant : LibraryUtil.findExtensionsSorted(ModuleWarmupParticipant.class, true)) {
+			try {
+				participant.warmUp(module);
+			} catch(Throwable e) {
+				if(status.failure == null) {
+					status.failure = e;
+				}
+				if(log.isLoggable(Level.WARNING)) {
+					log.log(Level.WARNING, MessageFormat.format("Encountered exception in warm-up participant {0} for {1}", participant.getClass().getName(), moduleId), e);
+				}
+			}
+		}
+		
+		status.state = status.failure == null ? State.READY : State.FAILED;
+		if(log.isLoggable(Level.FINE)) {
+			log.fine(MessageFormat.format("Completed warm-up for {0} in {1}ms with state {2}", moduleId, System.currentTimeMillis() - start, status.state));
+		}
+	}
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.jakartaee.module;
+
+import com.ibm.designer.runtime.domino.adapter.ComponentModule;
+
+/**
+ * This extension interface allows bundles to eagerly build per-module state,
+ * such as CDI containers or JAX-RS resource lists, when warm-up is enabled
+ * for an application via {@value ModuleWarmup#PROP_WARMUP}.
+ * 
+ * <p>Participants are run in ascending {@link jakarta.annotation.Priority Priority}
+ * order on a background thread with the module's context active.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public interface ModuleWarmupParticipant {
+	/**
+	 * Performs any warm-up work for the provided module.
+	 * 
+	 * @param module the {@link ComponentModule} being warmed up
+	 * @throws Exception if there is a problem warming up the module
+	 */
+	void warmUp(ComponentModule module) throws Exception;
+}
@@ -97,6 +97,30 @@ public enum LibraryUtil {
 	 * @since 2.8.0
 	 */
 	public static final String PROP_XSPPROPS = LibraryUtil.class.getName() + "_xspprops"; //$NON-NLS-1$
+	/**
+	 * Property used to house the {@link XspPropertiesSnapshot} for a ComponentModule
+	 * @since 2.15.0
+	 */
+	private static final String PROP_XSPSNAPSHOT = LibraryUtil.class.getName() + "_xspsnapshot"; //$NON-NLS-1$
+	
+	/**
+	 * The maximum number of parsed {@code xsp.library.depends} values to retain
+	 * before clearing the cache
+	 * @since 2.15.0
+	 */
+	private static final int MAX_LIBRARY_SETS = 1000;
+	/**
+	 * Caches parsed {@code xsp.library.depends} values, which are shared by all
+	 * applications with the same library configuration.
+	 * @since 2.15.0
+	 */
+	private static final Map<String, Set<String>> LIBRARY_SETS = new ConcurrentHashMap<>();
+	
+	/**
+	 * Caches the {@link ComponentEnabledLocator} extensions in priority order.
+	 * @since 2.15.0
+	 */
+	private static volatile List<ComponentEnabledLocator> enabledLocators;
 	
 	/**
 	 * Attempts to determine whether the given XPages Library is active for the
@@ -108,11 +132,12 @@ public enum LibraryUtil {
 	 * @since 2.3.0
 	 */
 	public static boolean isLibraryActive(String libraryId) {
-		return findExtensions(ComponentEnabledLocator.class)
-			.stream()
-			.sorted(PriorityComparator.DESCENDING)
-			.filter(ComponentEnabledLocator::isActive)
-			.anyMatch(locator -> locator.isComponentEnabled(libraryId));
+		for(ComponentEnabledLocator locator : getEnabledLocators()) {
+			if(locator.isActive() && locator.isComponentEnabled(libraryId)) {
+				return true;
+			}
+		}
+		return false;
 	}
 	
 	/**
@@ -158,7 +183,7 @@ public enum LibraryUtil {
 			return false;
 		}
 		String prop = app.getProperty("xsp.library.depends", ""); //$NON-NLS-1$ //$NON-NLS-2$
-		return Arrays.asList(prop.split(",")).contains(libraryId); //$NON-NLS-1$
+		return parseLibraryDepends(prop).contains(libraryId);
 	}
 
 	/**
@@ -175,9 +200,7 @@ public enum LibraryUtil {
 		if(module == null) {
 			return false;
 		}
-		Properties props = getXspProperties(module);
-		String prop = props.getProperty("xsp.library.depends", ""); //$NON-NLS-1$ //$NON-NLS-2$
-		return Arrays.asList(prop.split(",")).contains(libraryId); //$NON-NLS-1$
+		return getXspPropertiesSnapshot(module).libraries.contains(libraryId);
 	}
 	
 	/**
@@ -197,7 +220,7 @@ public enum LibraryUtil {
 		}
 		Properties props = getXspProperties(database);
 		String prop = props.getProperty("xsp.library.depends", ""); //$NON-NLS-1$ //$NON-NLS-2$
-		return Arrays.asList(prop.split(",")).contains(libraryId); //$NON-NLS-1$
+		return parseLibraryDepends(prop).contains(libraryId);
 	}
 	
 	/**
@@ -255,23 +278,27 @@ public enum LibraryUtil {
 	 * @since 2.3.0
 	 */
 	public static Properties getXspProperties(ComponentModule module) {
-		
+		return getXspPropertiesSnapshot(module).properties;
+	}
+	
+	/**
+	 * Retrieves the current xsp.properties snapshot for the provided module, reading
+	 * the file only when the module has been refreshed since the last read.
+	 * 
+	 * <p>Reads of an up-to-date snapshot do not lock.</p>
+	 */
+	private static XspPropertiesSnapshot getXspPropertiesSnapshot(ComponentModule module) {
 		Map<String, Object> attributes = module.getAttributes();
+		long lastMod = module.getLastRefresh();
+		XspPropertiesSnapshot snapshot = (XspPropertiesSnapshot)attributes.get(PROP_XSPSNAPSHOT);
+		if(snapshot != null && snapshot.lastRefresh >= lastMod) {
+			return snapshot;
+		}
+		
 		synchronized(attributes) {
-			long lastMod = module.getLastRefresh();
-			boolean needsRebuild = false;
-			Properties props = (Properties)attributes.get(PROP_XSPPROPS);
-			if(props != null) {
-				Long updated = (Long)attributes.get(PROP_XSPPROPSREAD);
-				if(lastMod > updated) {
-					needsRebuild = true;
-				}
-			} else {
-				needsRebuild = true;
-			}
-			
-			if(needsRebuild) {
-				props = new Properties();
+			snapshot = (XspPropertiesSnapshot)attributes.get(PROP_XSPSNAPSHOT);
+			if(snapshot == null || snapshot.lastRefresh < lastMod) {
+				Properties props = new Properties();
 				
 				try(InputStream is = module.getResourceAsStream("/WEB-INF/xsp.properties")) { //$NON-NLS-1$
 					if(is != null) {
@@ -281,13 +308,57 @@ public enum LibraryUtil {
 					throw new UncheckedIOException(e);
 				}
 				
+				snapshot = new XspPropertiesSnapshot(lastMod, props);
 				attributes.put(PROP_XSPPROPS, props);
 				attributes.put(PROP_XSPPROPSREAD, lastMod);
+				attributes.put(PROP_XSPSNAPSHOT, snapshot);
+			}
+			return snapshot;
+		}
+	}
+	
+	/**
+	 * Parses the provided {@code xsp.library.depends} value into an immutable
+	 * {@link Set} of library IDs.
+	 */
+	private static Set<String> parseLibraryDepends(String prop) {
+		Set<String> result = LIBRARY_SETS.get(prop);
+		if(result == null) {
+			result = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(prop.split(",")))); //$NON-NLS-1$
+			if(LIBRARY_SETS.size() >= MAX_LIBRARY_SETS) {
+				LIBRARY_SETS.clear();
 			}
-			
-			return props;
+			LIBRARY_SETS.put(prop, result);
 		}
+		return result;
+	}
+	
+	private static List<ComponentEnabledLocator> getEnabledLocators() {
+		List<ComponentEnabledLocator> result = enabledLocators;
+		if(result == null) {
+			result = Collections.unmodifiableList(findExtensions(ComponentEnabledLocator.class)
+				.stream()
+				.sorted(PriorityComparator.DESCENDING)
+				.collect(Collectors.toList()));
+			enabledLocators = result;
+		}
+		return result;
+	}
+	
+	/**
+	 * Immutable view of a module's xsp.properties as of a given refresh time.
+	 * @since 2.15.0
+	 */
+	private static class XspPropertiesSnapshot {
+		private final long lastRefresh;
+		private final Properties properties;
+		private final Set<String> libraries;
 		
+		public XspPropertiesSnapshot(long lastRefresh, Properties properties) {
+			this.lastRefresh = lastRefresh;
+			this.properties = properties;
+			this.libraries = parseLibraryDepends(properties.getProperty("xsp.library.depends", "")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
 	}
 	
 	/**
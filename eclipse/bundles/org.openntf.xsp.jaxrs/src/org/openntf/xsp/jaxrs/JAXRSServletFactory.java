@@ -20,6 +20,7 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
 
 import javax.servlet.Servlet;
@@ -53,6 +54,19 @@ public class JAXRSServletFactory implements IServletFactory {
 	
 	private static final String ATTR_PATH = JAXRSServletFactory.class.getName()+"_path"; //$NON-NLS-1$
 	private static final String ATTR_REFRESH = JAXRSServletFactory.class.getName()+"_refresh"; //$NON-NLS-1$
+	private static final String ATTR_FACTORY = JAXRSServletFactory.class.getName()+"_factory"; //$NON-NLS-1$
+	
+	/**
+	 * Retrieves the servlet factory initialized for the provided module.
+	 * 
+	 * @param module the {@link ComponentModule} housing the servlet
+	 * @return an {@link Optional} describing the module's factory, or an empty
+	 *         one if it has not been initialized
+	 * @since 2.15.0
+	 */
+	public static Optional<JAXRSServletFactory> getFactory(ComponentModule module) {
+		return Optional.ofNullable((JAXRSServletFactory)module.getAttributes().get(ATTR_FACTORY));
+	}
 	
 	/**
 	 * Determines the effective base servlet path for the provided module.
@@ -94,12 +108,14 @@ public class JAXRSServletFactory implements IServletFactory {
 
 	private ComponentModule module;
 	private Servlet servlet;
+	private FacesJAXRSServletContainer container;
 	private long lastUpdate;
 
 	@Override
 	public void init(ComponentModule module) {
 		this.module = module;
 		this.lastUpdate = module.getLastRefresh();
+		module.getAttributes().put(ATTR_FACTORY, this);
 		
 		RuntimeDelegate.setInstance(new ResteasyProviderFactoryImpl());
 	}
@@ -132,9 +148,30 @@ public class JAXRSServletFactory implements IServletFactory {
 			params.put(ResteasyContextParameters.RESTEASY_SERVLET_MAPPING_PREFIX, getServletPath(module));
 			params.put("resteasy.use.deployment.sensitive.factory", "true"); //$NON-NLS-1$ //$NON-NLS-2$
 			
-			servlet = module.createServlet(ServletUtil.newToOld((jakarta.servlet.Servlet)new FacesJAXRSServletContainer(module)), "XSP JAX-RS Servlet", params); //$NON-NLS-1$
+			container = new FacesJAXRSServletContainer(module);
+			servlet = module.createServlet(ServletUtil.newToOld((jakarta.servlet.Servlet)container), "XSP JAX-RS Servlet", params); //$NON-NLS-1$
 			lastUpdate = this.module.getLastRefresh();
 		}
 		return servlet;
 	}
+	
+	/**
+	 * Creates the JAX-RS Servlet for the current module refresh if needed and
+	 * runs its deferred initialization, which otherwise happens during the first
+	 * request.
+	 * 
+	 * <p>This must be called from a thread with an active {@code NotesContext}
+	 * for the module.</p>
+	 * 
+	 * @throws ServletException if there is a problem initializing the Servlet
+	 * @since 2.15.0
+	 */
+	public void initializeServlet() throws ServletException {
+		FacesJAXRSServletContainer container;
+		synchronized(this) {
+			getExecutorServlet();
+			container = this.container;
+		}
+		container.initialize();
+	}
 }
\ No newline at end of file
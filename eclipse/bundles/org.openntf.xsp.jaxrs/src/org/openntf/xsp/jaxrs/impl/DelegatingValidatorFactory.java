@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.jaxrs.impl;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.hibernate.validator.HibernateValidator;
+import org.openntf.xsp.jakartaee.module.ComponentModuleLocator;
+
+import jakarta.validation.ClockProvider;
+import jakarta.validation.ConstraintValidatorFactory;
+import jakarta.validation.MessageInterpolator;
+import jakarta.validation.ParameterNameProvider;
+import jakarta.validation.TraversableResolver;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorContext;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * This class is intended to be provided via JNDI, delegating all calls to the
+ * {@link ValidatorFactory} built for the active module by
+ * {@link FacesJAXRSServletContainer}.
+ * 
+ * <p>When no module-specific factory is available, calls are delegated to a
+ * shared default factory.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class DelegatingValidatorFactory implements ValidatorFactory {
+	
+	/**
+	 * Builds a new {@link ValidatorFactory} using Hibernate Validator with the
+	 * default configuration.
+	 * 
+	 * @return a new {@link ValidatorFactory}
+	 */
+	public static ValidatorFactory buildValidatorFactory() {
+		return Validation.byDefaultProvider()
+			.providerResolver(() -> Arrays.asList(new HibernateValidator()))
+			.configure()
+			.buildValidatorFactory();
+	}
+
+	@Override
+	public Validator getValidator() {
+		return getDelegate().getValidator();
+	}
+
+	@Override
+	public ValidatorContext usingContext() {
+		return getDelegate().usingContext();
+	}
+
+	@Override
+	public MessageInterpolator getMessageInterpolator() {
+		return getDelegate().getMessageInterpolator();
+	}
+
+	@Override
+	public TraversableResolver getTraversableResolver() {
+		return getDelegate().getTraversableResolver();
+	}
+
+	@Override
+	public ConstraintValidatorFactory getConstraintValidatorFactory() {
+		return getDelegate().getConstraintValidatorFactory();
+	}
+
+	@Override
+	public ParameterNameProvider getParameterNameProvider() {
+		return getDelegate().getParameterNameProvider();
+	}
+
+	@Override
+	public ClockProvider getClockProvider() {
+		return getDelegate().getClockProvider();
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> type) {
+		return getDelegate().unwrap(type);
+	}
+
+	@Override
+	public void close() {
+		// The delegates are owned by their modules
+	}
+	
+	private ValidatorFactory getDelegate() {
+		return ComponentModuleLocator.getDefault()
+			.flatMap(ComponentModuleLocator::getServletContext)
+			.flatMap(ctx -> Optional.ofNullable((ValidatorFactory)ctx.getAttribute(FacesJAXRSServletContainer.ATTR_VALIDATORFACTORY)))
+			.orElseGet(() -> DefaultHolder.INSTANCE);
+	}
+	
+	private static class DefaultHolder {
+		private static final ValidatorFactory INSTANCE = buildValidatorFactory();
+	}
+}
@@ -16,14 +16,14 @@
 package org.openntf.xsp.jaxrs.impl;
 
 import java.io.IOException;
-import java.util.Arrays;
+import java.text.MessageFormat;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
-import javax.naming.Context;
 import javax.naming.InitialContext;
 import javax.naming.NamingException;
 
-import org.hibernate.validator.HibernateValidator;
 import org.jboss.resteasy.plugins.server.servlet.HttpServletDispatcher;
 import org.openntf.xsp.cdi.ext.CDIConstants;
 import org.openntf.xsp.jakartaee.AbstractXspLifecycleServlet;
@@ -39,7 +39,7 @@ import jakarta.servlet.ServletRequestEvent;
 import jakarta.servlet.ServletRequestListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
 
 /**
@@ -52,8 +52,21 @@ import jakarta.validation.ValidatorFactory;
  */
 public class FacesJAXRSServletContainer extends AbstractXspLifecycleServlet {
 	private static final long serialVersionUID = 1L;
+	private static final Logger log = Logger.getLogger(FacesJAXRSServletContainer.class.getName());
+	
+	/**
+	 * The {@link jakarta.servlet.ServletContext ServletContext} attribute used to
+	 * store the module's {@link ValidatorFactory}.
+	 * 
+	 * @since 2.15.0
+	 */
+	public static final String ATTR_VALIDATORFACTORY = FacesJAXRSServletContainer.class.getName() + "_validatorFactory"; //$NON-NLS-1$
+	public static final String JNDI_VALIDATORFACTORY = "java:comp/ValidatorFactory"; //$NON-NLS-1$
+	
+	private static volatile boolean validatorFactoryBound;
 	
 	private final HttpServletDispatcher delegate;
+	private transient ValidatorFactory validatorFactory;
 
 	public FacesJAXRSServletContainer(ComponentModule module) {
 		super(module);
@@ -68,7 +81,14 @@ public class FacesJAXRSServletContainer extends AbstractXspLifecycleServlet {
 	
 	@Override
 	protected void doInit(ServletConfig config) throws ServletException {
+		// Build the validator factory once for the life of this module instance
+		this.validatorFactory = DelegatingValidatorFactory.buildValidatorFactory();
+		config.getServletContext().setAttribute(ATTR_VALIDATORFACTORY, validatorFactory);
+		bindValidatorFactory();
+		
 		delegate.init(config);
+		
+		warmUpValidation();
 	}
 	
 	@Override
@@ -82,23 +102,7 @@ public class FacesJAXRSServletContainer extends AbstractXspLifecycleServlet {
 			.forEach(l -> l.requestInitialized(new ServletRequestEvent(getServletContext(), request)));
     	
     	try {
-            Context context = new InitialContext();
-            ValidatorFactory fac = Validation.byDefaultProvider()
-				.providerResolver(() -> Arrays.asList(new HibernateValidator()))
-				.configure()
-				.buildValidatorFactory();
-            context.rebind("java:comp/ValidatorFactory", fac); //$NON-NLS-1$
-            try {
-            	delegate.service(request, response);
-            } finally {
-            	try {
-            		context.unbind("java:comp/ValidatorFactory"); //$NON-NLS-1$
-            	} catch(NamingException e) {
-            		// Ignore unbind exceptions
-            	}
-            }
-    	} catch (NamingException e) {
-			throw new ServletException(e);
+    		delegate.service(request, response);
 		} finally {
     		ServletUtil.getListeners(request.getServletContext(), ServletRequestListener.class)
 				.forEach(l -> l.requestDestroyed(new ServletRequestEvent(getServletContext(), request)));
@@ -115,5 +119,55 @@ public class FacesJAXRSServletContainer extends AbstractXspLifecycleServlet {
 	public void destroy() {
 		super.destroy();
 		delegate.destroy();
+		
+		ValidatorFactory fac = this.validatorFactory;
+		if(fac != null) {
+			ServletConfig config = getServletConfig();
+			if(config != null) {
+				config.getServletContext().removeAttribute(ATTR_VALIDATORFACTORY);
+			}
+			fac.close();
+			this.validatorFactory = null;
+		}
+	}
+	
+	// *******************************************************************************
+	// * Internal implementation methods
+	// *******************************************************************************
+	
+	/**
+	 * Binds a {@link DelegatingValidatorFactory} to {@value #JNDI_VALIDATORFACTORY}
+	 * if this has not been done yet in this runtime.
+	 */
+	private static void bindValidatorFactory() throws ServletException {
+		if(!validatorFactoryBound) {
+			synchronized(FacesJAXRSServletContainer.class) {
+				if(!validatorFactoryBound) {
+					try {
+						new InitialContext().rebind(JNDI_VALIDATORFACTORY, new DelegatingValidatorFactory());
+					} catch (NamingException e) {
+						throw new ServletException(e);
+					}
+					validatorFactoryBound = true;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Reads the constraint metadata for the application's resource classes, so that
+	 * this is not done during the first requests that validate them.
+	 */
+	private void warmUpValidation() {
+		Validator validator = validatorFactory.getValidator();
+		for(Class<?> clazz : new NSFJAXRSApplication().getClasses()) {
+			try {
+				validator.getConstraintsForClass(clazz);
+			} catch(RuntimeException e) {
+				if(log.isLoggable(Level.FINE)) {
+					log.log(Level.FINE, MessageFormat.format("Unable to read constraint metadata for {0}", clazz.getName()), e);
+				}
+			}
+		}
 	}
 }
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.jaxrs.impl;
+
+import java.util.Optional;
+
+import org.openntf.xsp.jakartaee.module.ModuleWarmupParticipant;
+import org.openntf.xsp.jakartaee.util.LibraryUtil;
+import org.openntf.xsp.jaxrs.JAXRSLibrary;
+import org.openntf.xsp.jaxrs.JAXRSServletFactory;
+
+import com.ibm.designer.runtime.domino.adapter.ComponentModule;
+
+import jakarta.annotation.Priority;
+
+/**
+ * Builds and initializes the module's RESTEasy servlet during warm-up.
+ * 
+ * <p>Servlet initialization creates the module's validator factory and primes
+ * the Bean Validation metadata for the application's resource classes, so that
+ * this work is not done during the first request.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+@Priority(200)
+public class JAXRSWarmupParticipant implements ModuleWarmupParticipant {
+
+	@Override
+	public void warmUp(ComponentModule module) throws Exception {
+		if(!LibraryUtil.usesLibrary(JAXRSLibrary.LIBRARY_ID, module)) {
+			return;
+		}
+		
+		Optional<JAXRSServletFactory> factory = JAXRSServletFactory.getFactory(module);
+		if(factory.isPresent()) {
+			factory.get().initializeServlet();
+		}
+	}
+
+}
@@ -27,6 +27,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.openntf.xsp.jakartaee.discovery.ApplicationPropertyLocator;
@@ -36,6 +37,8 @@ import org.openntf.xsp.jakartaee.util.ModuleUtil;
 import org.openntf.xsp.jakartaee.util.PriorityComparator;
 import org.openntf.xsp.jaxrs.JAXRSClassContributor;
 
+import com.ibm.designer.runtime.domino.adapter.ComponentModule;
+
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.core.Application;
 import jakarta.ws.rs.core.Feature;
@@ -50,6 +53,47 @@ import jakarta.ws.rs.ext.Providers;
  */
 public class NSFJAXRSApplication extends Application {
 	private static final Logger log = Logger.getLogger(NSFJAXRSApplication.class.getPackage().getName());
+	
+	private static final String ATTR_MODULECLASSES = NSFJAXRSApplication.class.getName() + "_moduleClasses"; //$NON-NLS-1$
+	
+	private static class ModuleClasses {
+		private final long lastRefresh;
+		private final Set<Class<?>> classes;
+		
+		public ModuleClasses(long lastRefresh, Set<Class<?>> classes) {
+			this.lastRefresh = lastRefresh;
+			this.classes = classes;
+		}
+	}
+	
+	/**
+	 * Retrieves the JAX-RS resource and provider classes stored in the provided module,
+	 * scanning the module only when it has been refreshed since the last scan.
+	 * 
+	 * @param module the module to scan
+	 * @return an unmodifiable {@link Set} of JAX-RS classes in the module
+	 * @since 2.15.0
+	 */
+	public static Set<Class<?>> getModuleClasses(ComponentModule module) {
+		Map<String, Object> attributes = module.getAttributes();
+		long lastRefresh = module.getLastRefresh();
+		ModuleClasses cached = (ModuleClasses)attributes.get(ATTR_MODULECLASSES);
+		if(cached != null && cached.lastRefresh >= lastRefresh) {
+			return cached.classes;
+		}
+		
+		synchronized(attributes) {
+			cached = (ModuleClasses)attributes.get(ATTR_MODULECLASSES);
+			if(cached == null || cached.lastRefresh < lastRefresh) {
+				Set<Class<?>> classes = ModuleUtil.getClasses(module)
+					.filter(NSFJAXRSApplication::isJAXRSClass)
+					.collect(Collectors.toSet());
+				cached = new ModuleClasses(lastRefresh, Collections.unmodifiableSet(classes));
+				attributes.put(ATTR_MODULECLASSES, cached);
+			}
+			return cached.classes;
+		}
+	}
 
 	public NSFJAXRSApplication() {
 	}
@@ -91,9 +135,7 @@ public class NSFJAXRSApplication extends Application {
 					.filter(Objects::nonNull)
 					.forEach(result::addAll);
 				
-				ModuleUtil.getClasses(module)
-					.filter(this::isJAXRSClass)
-					.forEach(result::add);
+				result.addAll(getModuleClasses(module));
 				return result;
 			})
 			.orElseGet(Collections::emptySet);
@@ -128,7 +170,7 @@ public class NSFJAXRSApplication extends Application {
 		return result;
 	}
 	
-	private boolean isJAXRSClass(Class<?> clazz) {
+	private static boolean isJAXRSClass(Class<?> clazz) {
 		try {
 			if(clazz.isInterface()) {
 				return false;
@@ -17,10 +17,13 @@ package org.openntf.xsp.microprofile.health;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import org.openntf.xsp.cdi.discovery.WeldBeanClassContributor;
 import org.openntf.xsp.cdi.util.DiscoveryUtil;
+import org.openntf.xsp.jakartaee.module.ComponentModuleLocator;
+import org.openntf.xsp.jakartaee.module.ModuleWarmup;
 import org.openntf.xsp.jakartaee.util.LibraryUtil;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleException;
@@ -41,8 +44,17 @@ public class HealthBeanContributor implements WeldBeanClassContributor {
 			// Look for annotated beans in io.smallrye.health
 			Bundle bundle = FrameworkUtil.getBundle(ResponseProvider.class);
 			try {
-				return DiscoveryUtil.findBeanClasses(bundle, false)
+				List<Class<?>> result = DiscoveryUtil.findBeanClasses(bundle, false)
 					.collect(Collectors.toList());
+				// Only contribute the warm-up check to apps that opt in
+				boolean warmup = ComponentModuleLocator.getDefault()
+					.map(ComponentModuleLocator::getActiveModule)
+					.filter(ModuleWarmup::isEnabled)
+					.isPresent();
+				if(warmup) {
+					result.add(WarmupHealthCheck.class);
+				}
+				return result;
 			} catch (BundleException e) {
 				throw new RuntimeException(e);
 			}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.microprofile.health;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+import org.openntf.xsp.jakartaee.module.ComponentModuleLocator;
+import org.openntf.xsp.jakartaee.module.ModuleWarmup;
+
+import com.ibm.designer.runtime.domino.adapter.ComponentModule;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Reports the app as not ready while its warm-up, enabled via
+ * {@value ModuleWarmup#PROP_WARMUP}, is still in progress or has failed, or
+ * when the active module can't be determined.
+ * 
+ * <p>This check is only contributed to apps with warm-up enabled.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+@ApplicationScoped
+@Readiness
+public class WarmupHealthCheck implements HealthCheck {
+	public static final String NAME = "warmup"; //$NON-NLS-1$
+
+	@Override
+	public HealthCheckResponse call() {
+		ComponentModule module = ComponentModuleLocator.getDefault()
+			.map(ComponentModuleLocator::getActiveModule)
+			.orElse(null);
+		if(module == null) {
+			// Without an active module, there's no way to know whether warm-up completed
+			return HealthCheckResponse.named(NAME)
+				.down()
+				.withData("state", "UNKNOWN") //$NON-NLS-1$ //$NON-NLS-2$
+				.build();
+		}
+		
+		ModuleWarmup.State state = ModuleWarmup.getState(module);
+		HealthCheckResponseBuilder builder = HealthCheckResponse.named(NAME)
+			.status(state == ModuleWarmup.State.DISABLED || state == ModuleWarmup.State.READY)
+			.withData("state", state.name()); //$NON-NLS-1$
+		if(state == ModuleWarmup.State.FAILED) {
+			Throwable failure = ModuleWarmup.getFailure(module);
+			if(failure != null) {
+				builder.withData("failure", String.valueOf(failure)); //$NON-NLS-1$
+			}
+		}
+		return builder.build();
+	}
+
+}
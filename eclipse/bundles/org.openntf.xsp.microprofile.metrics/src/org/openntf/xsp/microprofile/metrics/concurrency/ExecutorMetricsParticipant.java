@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.microprofile.metrics.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+import org.openntf.xsp.cdi.CDILibrary;
+import org.openntf.xsp.jakarta.concurrency.ExecutorLifecycleParticipant;
+import org.openntf.xsp.jakarta.concurrency.ExecutorStatistics;
+import org.openntf.xsp.jakartaee.util.LibraryUtil;
+import org.openntf.xsp.microprofile.metrics.MetricsResourceContributor;
+import org.openntf.xsp.microprofile.metrics.config.MetricsAppConfigSource;
+
+import io.smallrye.metrics.MetricRegistries;
+import jakarta.servlet.ServletContext;
+
+/**
+ * Publishes the statistics of app-specific executors to the vendor metrics
+ * registry, tagged with the app name.
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class ExecutorMetricsParticipant implements ExecutorLifecycleParticipant {
+	public static final String METRIC_PREFIX = "concurrency.executor."; //$NON-NLS-1$
+	public static final String TAG_EXECUTOR = "executor"; //$NON-NLS-1$
+	public static final String TAG_REJECTPOLICY = "rejectPolicy"; //$NON-NLS-1$
+	
+	private final Map<ExecutorStatistics, Registration> registrations = new ConcurrentHashMap<>();
+
+	@Override
+	public void executorCreated(ServletContext ctx, ExecutorStatistics statistics) {
+		if(!LibraryUtil.isLibraryActive(CDILibrary.LIBRARY_ID)) {
+			return;
+		}
+		if("false".equals(LibraryUtil.getApplicationProperty(MetricsResourceContributor.PROP_ENABLED, "true"))) { //$NON-NLS-1$ //$NON-NLS-2$
+			return;
+		}
+		
+		MetricRegistry registry = MetricRegistries.get(MetricRegistry.Type.VENDOR);
+		Tag[] tags = new Tag[] {
+			new Tag(MetricsAppConfigSource.TAG_APP, MetricsAppConfigSource.getAppName(ctx)),
+			new Tag(TAG_EXECUTOR, statistics.getType())
+		};
+		List<MetricID> ids = new ArrayList<>();
+		
+		ids.add(registerGauge(registry, "queueSize", "The number of tasks waiting to run", statistics::getQueueSize, tags)); //$NON-NLS-1$
+		ids.add(registerGauge(registry, "activeThreads", "The number of threads currently running tasks", statistics::getActiveCount, tags)); //$NON-NLS-1$
+		ids.add(registerGauge(registry, "poolSize", "The number of threads owned by the executor", statistics::getPoolSize, tags)); //$NON-NLS-1$
+		ids.add(registerGauge(registry, "completedTasks", "The total number of tasks that have finished running", statistics::getCompletedTaskCount, tags)); //$NON-NLS-1$
+		ids.add(registerGauge(registry, "hungTasks", "The number of running tasks that have exceeded the hung-task threshold", statistics::getHungTaskCount, tags)); //$NON-NLS-1$
+		
+		Metadata waitMeta = Metadata.builder()
+			.withName(METRIC_PREFIX + "waitTime") //$NON-NLS-1$
+			.withDescription("The time tasks spent queued before running")
+			.withType(MetricType.HISTOGRAM)
+			.withUnit(MetricUnits.NANOSECONDS)
+			.build();
+		Histogram waitTime = registry.histogram(waitMeta, tags);
+		ids.add(new MetricID(waitMeta.getName(), tags));
+		
+		Metadata runMeta = Metadata.builder()
+			.withName(METRIC_PREFIX + "runTime") //$NON-NLS-1$
+			.withDescription("The time tasks spent running")
+			.withType(MetricType.HISTOGRAM)
+			.withUnit(MetricUnits.NANOSECONDS)
+			.build();
+		Histogram runTime = registry.histogram(runMeta, tags);
+		ids.add(new MetricID(runMeta.getName(), tags));
+		
+		Tag[] rejectTags = new Tag[] {
+			tags[0],
+			tags[1],
+			new Tag(TAG_REJECTPOLICY, statistics.getRejectPolicy())
+		};
+		Metadata rejectMeta = Metadata.builder()
+			.withName(METRIC_PREFIX + "rejectedTasks") //$NON-NLS-1$
+			.withDescription("The total number of tasks rejected by the executor")
+			.withType(MetricType.COUNTER)
+			.build();
+		Counter rejected = registry.counter(rejectMeta, rejectTags);
+		ids.add(new MetricID(rejectMeta.getName(), rejectTags));
+		
+		ExecutorStatistics.Listener listener = new ExecutorStatistics.Listener() {
+			@Override
+			public void taskStarted(long waitNanos) {
+				if(waitNanos >= 0) {
+					waitTime.update(waitNanos);
+				}
+			}
+			
+			@Override
+			public void taskCompleted(long runNanos) {
+				runTime.update(runNanos);
+			}
+			
+			@Override
+			public void taskRejected() {
+				rejected.inc();
+			}
+		};
+		statistics.addListener(listener);
+		
+		registrations.put(statistics, new Registration(ids, listener));
+	}
+
+	@Override
+	public void executorTerminated(ServletContext ctx, ExecutorStatistics statistics) {
+		Registration registration = registrations.remove(statistics);
+		if(registration != null) {
+			statistics.removeListener(registration.listener);
+			MetricRegistry registry = MetricRegistries.get(MetricRegistry.Type.VENDOR);
+			registration.ids.forEach(registry::remove);
+		}
+	}
+	
+	private static MetricID registerGauge(MetricRegistry registry, String name, String description, Gauge<? extends Number> gauge, Tag[] tags) {
+		Metadata meta = Metadata.builder()
+			.withName(METRIC_PREFIX + name)
+			.withDescription(description)
+			.withType(MetricType.GAUGE)
+			.build();
+		MetricID id = new MetricID(meta.getName(), tags);
+		// Remove any stale gauge left by an app that was not cleanly terminated
+		registry.remove(id);
+		registry.register(meta, gauge, tags);
+		return id;
+	}
+	
+	private static class Registration {
+		private final List<MetricID> ids;
+		private final ExecutorStatistics.Listener listener;
+		
+		public Registration(List<MetricID> ids, ExecutorStatistics.Listener listener) {
+			this.ids = ids;
+			this.listener = listener;
+		}
+	}
+}
@@ -24,6 +24,8 @@ import org.openntf.xsp.jakartaee.util.LibraryUtil;
 import org.openntf.xsp.microprofile.config.ext.ImplicitAppConfigProvider;
 import org.openntf.xsp.microprofile.metrics.MetricsResourceContributor;
 
+import jakarta.servlet.ServletContext;
+
 /**
  * This MP Config provider produces the current app's context path as a prefix
  * for metrics, to allow for app-specific metric collection.
@@ -42,12 +44,23 @@ public class MetricsAppConfigSource implements ImplicitAppConfigProvider {
 			ComponentModuleLocator.getDefault()
 				.flatMap(ComponentModuleLocator::getServletContext)
 				.ifPresent(ctx -> {
-					result.put(CONFIG_APPNAME, '/' + ctx.getContextPath());
+					result.put(CONFIG_APPNAME, getAppName(ctx));
 				});
 			return result;
 		} else {
 			return Collections.emptyMap();
 		}
 	}
+	
+	/**
+	 * Determines the app name used to tag metrics for the provided context.
+	 * 
+	 * @param ctx the {@link ServletContext} of the app
+	 * @return the app name for use with {@link #TAG_APP}
+	 * @since 2.15.0
+	 */
+	public static String getAppName(ServletContext ctx) {
+		return '/' + ctx.getContextPath();
+	}
 
 }
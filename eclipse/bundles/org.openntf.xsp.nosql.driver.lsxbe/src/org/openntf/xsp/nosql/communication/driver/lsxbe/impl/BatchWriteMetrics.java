@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.communication.driver.lsxbe.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.spi.CDI;
+
+/**
+ * Records the throughput of batched document writes to the application
+ * {@link MetricRegistry}, when MicroProfile Metrics is available.
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+enum BatchWriteMetrics {
+	;
+	private static final Logger log = Logger.getLogger(BatchWriteMetrics.class.getName());
+	
+	public static final String METRIC_THROUGHPUT = "nosql.batch.throughput"; //$NON-NLS-1$
+	public static final String METRIC_DOCUMENTS = "nosql.batch.documents"; //$NON-NLS-1$
+	
+	private static final boolean metricsAvailable;
+	static {
+		boolean found;
+		try {
+			Class.forName("org.eclipse.microprofile.metrics.MetricRegistry"); //$NON-NLS-1$
+			found = true;
+		} catch(Exception e) {
+			found = false;
+		}
+		metricsAvailable = found;
+	}
+	
+	/**
+	 * Records a completed batch of document writes.
+	 * 
+	 * @param operation the operation performed, such as {@code "insert"}
+	 * @param count the number of documents saved in the batch
+	 * @param nanos the time taken to process the batch, in nanoseconds
+	 */
+	public static void record(String operation, int count, long nanos) {
+		if(log.isLoggable(Level.FINE)) {
+			log.fine(String.format("Completed %s batch of %d documents in %dms", operation, count, TimeUnit.NANOSECONDS.toMillis(nanos))); //$NON-NLS-1$
+		}
+		if(metricsAvailable && count > 0) {
+			try {
+				Registry.record(operation, count, nanos);
+			} catch(IllegalStateException e) {
+				// No active CDI container - ignore
+			}
+		}
+	}
+	
+	/**
+	 * Holder for MicroProfile Metrics references, to avoid loading those classes
+	 * when the API is not present.
+	 */
+	private static class Registry {
+		private static final Metadata THROUGHPUT = Metadata.builder()
+			.withName(METRIC_THROUGHPUT)
+			.withDescription("Documents saved per second for each batch of NoSQL writes")
+			.withUnit(MetricUnits.PER_SECOND)
+			.build();
+		private static final Metadata DOCUMENTS = Metadata.builder()
+			.withName(METRIC_DOCUMENTS)
+			.withDescription("Total number of documents saved via NoSQL batch writes")
+			.build();
+		
+		static void record(String operation, int count, long nanos) {
+			Instance<MetricRegistry> registries = CDI.current().select(MetricRegistry.class);
+			if(!registries.isResolvable()) {
+				return;
+			}
+			MetricRegistry registry = registries.get();
+			Tag tag = new Tag("operation", operation); //$NON-NLS-1$
+			long perSecond = nanos > 0 ? count * TimeUnit.SECONDS.toNanos(1) / nanos : count;
+			registry.histogram(THROUGHPUT, tag).update(perSecond);
+			registry.counter(DOCUMENTS, tag).inc(count);
+		}
+	}
+}
@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.communication.driver.lsxbe.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openntf.xsp.nosql.communication.driver.lsxbe.util.DominoNoSQLUtil;
+
+import lotus.domino.Database;
+import lotus.domino.NotesException;
+import lotus.domino.View;
+import lotus.domino.ViewEntryCollection;
+
+/**
+ * Caches the results of count queries per database, allowing repeated counts
+ * against an unchanged NSF to be answered without consulting the database.
+ * 
+ * <p>Cached counts are keyed on the database's last data modification time and
+ * so are discarded as soon as any document in the database changes. Since that
+ * time has a granularity of one second, counts computed within the same second
+ * as the last modification are not cached.</p>
+ * 
+ * <p>This class also tracks views whose selection formula is a simple form match,
+ * as these can provide an entity count from the view index instead of a DQL
+ * query. Only views using the default index options, which refresh the index
+ * automatically, and that don't display response documents in a hierarchy are
+ * used this way. This information is discarded when the database design
+ * changes.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class CountCache {
+	/**
+	 * The maximum number of counts retained per database before the cache for that
+	 * database is cleared
+	 */
+	public static final int MAX_ENTRIES = 1000;
+	
+	private static final String ITEM_INDEX = "$Index"; //$NON-NLS-1$
+	private static final Pattern FORM_SELECTION = Pattern.compile("^\\s*SELECT\\s*\\(?\\s*Form\\s*=\\s*\"([^\"]+)\"\\s*\\)?\\s*;?\\s*$", Pattern.CASE_INSENSITIVE); //$NON-NLS-1$
+	
+	private static final CountCache INSTANCE = new CountCache();
+	
+	public static CountCache getInstance() {
+		return INSTANCE;
+	}
+	
+	@FunctionalInterface
+	public interface CountFunction {
+		long count() throws NotesException;
+	}
+	
+	private final Map<String, Map<String, CachedCount>> counts = new ConcurrentHashMap<>();
+	private final Map<String, FormViews> formViews = new ConcurrentHashMap<>();
+	
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	
+	CountCache() {
+	}
+	
+	/**
+	 * Retrieves the cached count for the given key if the database has not been
+	 * modified since it was computed, or otherwise computes and caches it.
+	 * 
+	 * @param database the database being counted
+	 * @param key a key identifying the count query, including anything that may
+	 *        affect visibility, such as the effective user name
+	 * @param function the function to compute the count when needed
+	 * @return the count of matching documents
+	 * @throws NotesException if there is a problem reading the database
+	 */
+	public long getCount(Database database, String key, CountFunction function) throws NotesException {
+		Map<String, CachedCount> dbCounts = counts.computeIfAbsent(getDatabaseKey(database), k -> new ConcurrentHashMap<>());
+		long dataMod = DominoNoSQLUtil.getLastDataModified(database);
+		
+		CachedCount cached = dbCounts.get(key);
+		if(cached != null && cached.dataMod == dataMod) {
+			hits.incrementAndGet();
+			return cached.count;
+		}
+		misses.incrementAndGet();
+		
+		long start = System.currentTimeMillis();
+		long count = function.count();
+		// Only retain the count if a same-second modification couldn't have been missed
+		if(start - dataMod >= 1000 && DominoNoSQLUtil.getLastDataModified(database) == dataMod) {
+			if(dbCounts.size() >= MAX_ENTRIES) {
+				dbCounts.clear();
+			}
+			dbCounts.put(key, new CachedCount(dataMod, count));
+		} else {
+			dbCounts.remove(key);
+		}
+		return count;
+	}
+	
+	/**
+	 * Finds a shared, unrestricted, non-categorized, non-hierarchical view whose selection formula matches only
+	 * documents with the given form, if one exists.
+	 * 
+	 * @param database the database to search
+	 * @param formName the form name to match
+	 * @return an {@link Optional} describing the matching {@link View}, or an empty
+	 *         one if there is no suitable view
+	 * @throws NotesException if there is a problem reading the database design
+	 */
+	public Optional<View> findFormView(Database database, String formName) throws NotesException {
+		long designMod = DominoNoSQLUtil.getLastNonDataModified(database);
+		String dbKey = getDatabaseKey(database);
+		FormViews views = formViews.get(dbKey);
+		if(views == null || views.designMod != designMod) {
+			views = new FormViews(designMod, readFormViews(database));
+			formViews.put(dbKey, views);
+		}
+		
+		ViewRef ref = views.views.get(formName);
+		if(ref == null) {
+			return Optional.empty();
+		}
+		View view = database.getView(ref.name);
+		if(view == null) {
+			return Optional.empty();
+		}
+		if(!ref.unid.equals(view.getUniversalID())) {
+			// Then there's an ambiguous name
+			view.recycle();
+			return Optional.empty();
+		}
+		return Optional.of(view);
+	}
+	
+	/**
+	 * Counts the document entries in the provided view, first bringing its index
+	 * up to date if the view object is not set to do so automatically.
+	 * 
+	 * @param view the view to count
+	 * @return the number of documents in the view
+	 * @throws NotesException if there is a problem reading the view
+	 */
+	public static long countViewDocuments(View view) throws NotesException {
+		if(!view.isAutoUpdate()) {
+			view.refresh();
+		}
+		ViewEntryCollection entries = view.getAllEntries();
+		try {
+			return entries.getCount();
+		} finally {
+			entries.recycle();
+		}
+	}
+	
+	public long getHits() {
+		return hits.get();
+	}
+	
+	public long getMisses() {
+		return misses.get();
+	}
+	
+	// *******************************************************************************
+	// * Internal implementation utilities
+	// *******************************************************************************
+	
+	private static String getDatabaseKey(Database database) throws NotesException {
+		return database.getServer() + "!!" + database.getFilePath(); //$NON-NLS-1$
+	}
+	
+	/**
+	 * Reads the shared views in the database, returning a map of form names to the
+	 * views selecting only that form.
+	 * 
+	 * <p>Views with hierarchical responses are skipped, since they hide responses
+	 * whose parents aren't in the view, as are views with customized index options,
+	 * which may defer or disable refreshing the index.</p>
+	 */
+	private static Map<String, ViewRef> readFormViews(Database database) throws NotesException {
+		Map<String, ViewRef> result = new HashMap<>();
+		@SuppressWarnings("unchecked")
+		Vector<View> views = database.getViews();
+		try {
+			for(View view : views) {
+				if(view.isFolder() || view.isPrivate() || view.isCategorized() || view.isHierarchical() || !view.getReaders().isEmpty()) {
+					continue;
+				}
+				Matcher matcher = FORM_SELECTION.matcher(String.valueOf(view.getSelectionFormula()));
+				if(matcher.matches() && hasDefaultIndexOptions(database, view)) {
+					result.putIfAbsent(matcher.group(1), new ViewRef(view.getUniversalID(), view.getName()));
+				}
+			}
+		} finally {
+			database.recycle(views);
+		}
+		return result;
+	}
+	
+	/**
+	 * Determines whether the view's design note has no customized index options,
+	 * meaning that its index is refreshed automatically.
+	 */
+	private static boolean hasDefaultIndexOptions(Database database, View view) throws NotesException {
+		lotus.domino.Document design = database.getDocumentByUNID(view.getUniversalID());
+		if(design == null) {
+			return false;
+		}
+		try {
+			String options = design.getItemValueString(ITEM_INDEX);
+			return options == null || options.isEmpty();
+		} finally {
+			design.recycle();
+		}
+	}
+	
+	private static class CachedCount {
+		private final long dataMod;
+		private final long count;
+		
+		public CachedCount(long dataMod, long count) {
+			this.dataMod = dataMod;
+			this.count = count;
+		}
+	}
+	
+	private static class FormViews {
+		private final long designMod;
+		private final Map<String, ViewRef> views;
+		
+		public FormViews(long designMod, Map<String, ViewRef> views) {
+			this.designMod = designMod;
+			this.views = views;
+		}
+	}
+	
+	private static class ViewRef {
+		private final String unid;
+		private final String name;
+		
+		public ViewRef(String unid, String name) {
+			this.unid = unid;
+			this.name = name;
+		}
+	}
+}
@@ -19,21 +19,25 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.Vector;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import javax.transaction.xa.XAException;
 import javax.transaction.xa.XAResource;
@@ -41,26 +45,25 @@ import javax.transaction.xa.Xid;
 
 import org.eclipse.jnosql.mapping.reflection.ClassMapping;
 import org.openntf.xsp.nosql.communication.driver.DominoConstants;
-import org.openntf.xsp.nosql.communication.driver.ViewColumnInfo;
 import org.openntf.xsp.nosql.communication.driver.ViewInfo;
 import org.openntf.xsp.nosql.communication.driver.impl.AbstractDominoDocumentCollectionManager;
 import org.openntf.xsp.nosql.communication.driver.impl.AbstractEntityConverter;
-import org.openntf.xsp.nosql.communication.driver.impl.DQL;
+import org.openntf.xsp.nosql.communication.driver.impl.ColumnProjectionContext;
 import org.openntf.xsp.nosql.communication.driver.impl.EntityUtil;
-import org.openntf.xsp.nosql.communication.driver.impl.DQL.DQLTerm;
 import org.openntf.xsp.nosql.communication.driver.impl.QueryConverter;
+import org.openntf.xsp.nosql.communication.driver.impl.QueryConverter.ParameterizedDQL;
 import org.openntf.xsp.nosql.communication.driver.impl.QueryConverter.QueryConverterResult;
-import org.openntf.xsp.nosql.communication.driver.impl.ViewColumnInfoImpl;
-import org.openntf.xsp.nosql.communication.driver.impl.ViewInfoImpl;
+import org.openntf.xsp.nosql.communication.driver.impl.QueryCursorContext;
+import org.openntf.xsp.nosql.communication.driver.impl.ViewBufferContext;
 import org.openntf.xsp.nosql.communication.driver.lsxbe.DatabaseSupplier;
 import org.openntf.xsp.nosql.communication.driver.lsxbe.SessionSupplier;
 import org.openntf.xsp.nosql.communication.driver.lsxbe.util.DominoNoSQLUtil;
+import org.openntf.xsp.nosql.mapping.extension.ColumnProjection;
 import org.openntf.xsp.nosql.mapping.extension.FTSearchOption;
+import org.openntf.xsp.nosql.mapping.extension.QueryCursor;
 import org.openntf.xsp.nosql.mapping.extension.ViewQuery;
 
 import com.ibm.commons.util.StringUtil;
-import com.ibm.designer.domino.napi.NotesAPIException;
-import com.ibm.designer.domino.napi.NotesSession;
 
 import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.spi.CDI;
@@ -70,7 +73,6 @@ import jakarta.nosql.document.Document;
 import jakarta.nosql.document.DocumentDeleteQuery;
 import jakarta.nosql.document.DocumentEntity;
 import jakarta.nosql.document.DocumentQuery;
-import jakarta.nosql.mapping.Column;
 import jakarta.nosql.mapping.Pagination;
 import jakarta.nosql.mapping.Sorts;
 import jakarta.transaction.RollbackException;
@@ -82,7 +84,6 @@ import lotus.domino.ACL;
 import lotus.domino.ACLEntry;
 import lotus.domino.Base;
 import lotus.domino.Database;
-import lotus.domino.DateTime;
 import lotus.domino.DbDirectory;
 import lotus.domino.DocumentCollection;
 import lotus.domino.DominoQuery;
@@ -90,7 +91,6 @@ import lotus.domino.NotesException;
 import lotus.domino.QueryResultsProcessor;
 import lotus.domino.Session;
 import lotus.domino.View;
-import lotus.domino.ViewColumn;
 import lotus.domino.ViewEntry;
 import lotus.domino.ViewEntryCollection;
 import lotus.domino.ViewNavigator;
@@ -98,6 +98,43 @@ import lotus.domino.ViewNavigator;
 public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocumentCollectionManager {
 	private final Logger log = Logger.getLogger(DefaultDominoDocumentCollectionManager.class.getName());
 	
+	/**
+	 * The name of the QRP column used to carry document UNIDs when reading
+	 * entities via column projection.
+	 * 
+	 * @since 2.15.0
+	 */
+	private static final String PROJECTION_UNID_COLUMN = "NoSQLProjectionUNID"; //$NON-NLS-1$
+	private static final String PROJECTION_UNID_FORMULA = "@Text(@DocumentUniqueID)"; //$NON-NLS-1$
+	
+	/**
+	 * System property used to specify the number of documents saved between
+	 * recycling passes in batch writes, currently {@value #PROP_BATCHSIZE}
+	 * 
+	 * @since 2.15.0
+	 */
+	public static final String PROP_BATCHSIZE = "org.openntf.xsp.nosql.batchSize"; //$NON-NLS-1$
+	/**
+	 * @since 2.15.0
+	 */
+	public static final int DEFAULT_BATCHSIZE = 500;
+	/**
+	 * The batch size in effect, read once from {@link #PROP_BATCHSIZE}
+	 */
+	private static final int BATCH_SIZE = readBatchSize();
+	
+	/**
+	 * The largest number of entries read per {@link ViewNavigator} buffer.
+	 */
+	private static final int MAX_BUFFER_ENTRIES = 400;
+	private static final int MIN_BUFFER_ENTRIES = 16;
+	/**
+	 * The approximate size of the summary buffer Domino fills per navigator read,
+	 * used along with {@link #ESTIMATED_COLUMN_BYTES} to size buffers for wide views.
+	 */
+	private static final int SUMMARY_BUFFER_BYTES = 64 * 1024;
+	private static final int ESTIMATED_COLUMN_BYTES = 20;
+	
 	private final DatabaseSupplier supplier;
 	private final SessionSupplier sessionSupplier;
 	private final LSXBEEntityConverter entityConverter;
@@ -117,38 +154,8 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 			Database database = supplier.get();
 			beginTransaction(database);
 			
-			// Special handling for named and profile notes
-			lotus.domino.Document target;
-			Optional<Document> maybeName = entity.find(DominoConstants.FIELD_NOTENAME);
-			Optional<Document> maybeProfileName = entity.find(DominoConstants.FIELD_PROFILENAME);
-			if(maybeName.isPresent() && StringUtil.isNotEmpty(maybeName.get().get(String.class))) {
-				Optional<Document> maybeUserName = entity.find(DominoConstants.FIELD_USERNAME);
-				if(maybeUserName.isPresent() && StringUtil.isNotEmpty(maybeUserName.get().get(String.class))) {
-					target = database.getNamedDocument(maybeName.get().get(String.class), maybeUserName.get().get(String.class));
-				} else {
-					target = database.getNamedDocument(maybeName.get().get(String.class));
-				}
-			} else if(maybeProfileName.isPresent() && StringUtil.isNotEmpty(maybeProfileName.get().get(String.class))) {
-				Optional<Document> maybeUserName = entity.find(DominoConstants.FIELD_PROFILEKEY);
-				target = database.getProfileDocument(maybeProfileName.get().get(String.class), maybeUserName.map(d -> d.get(String.class)).orElse(null));
-			} else {
-				target = database.createDocument();
-			}
-			
-			Optional<Document> maybeId = entity.find(DominoConstants.FIELD_ID);
-			if(maybeId.isPresent()) {
-				target.setUniversalID(maybeId.get().get().toString());
-			} else {
-				// Write the generated UNID into the entity
-				entity.add(Document.of(DominoConstants.FIELD_ID, target.getUniversalID()));
-			}
-
 			ClassMapping mapping = EntityUtil.getClassMapping(entity.getName());
-			entityConverter.convertNoSQLEntity(entity, false, target, mapping);
-			if(computeWithForm) {
-				target.computeWithForm(false, false);
-			}
-			target.save();
+			insertDocument(database, entity, mapping, computeWithForm);
 			return entity;
 		} catch(NotesException e) {
 			throw new RuntimeException(e);
@@ -157,13 +164,15 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 
 	@Override
 	public Iterable<DocumentEntity> insert(Iterable<DocumentEntity> entities) {
-		if(entities == null) {
-			return Collections.emptySet();
-		} else {
-			return StreamSupport.stream(entities.spliterator(), false)
-				.map(this::insert)
-				.collect(Collectors.toList());
-		}
+		return insert(entities, false);
+	}
+	
+	/**
+	 * @since 2.15.0
+	 */
+	@Override
+	public Iterable<DocumentEntity> insert(Iterable<DocumentEntity> entities, boolean computeWithForm) {
+		return saveBatch(entities, computeWithForm, SaveMode.INSERT);
 	}
 
 	@Override
@@ -172,22 +181,73 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 			Database database = supplier.get();
 			beginTransaction(database);
 			
-			Document id = entity.find(DominoConstants.FIELD_ID)
-				.orElseThrow(() -> new IllegalArgumentException(MessageFormat.format("Unable to find {0} in entity", DominoConstants.FIELD_ID)));
+			ClassMapping mapping = EntityUtil.getClassMapping(entity.getName());
+			updateDocument(database, entity, mapping, computeWithForm);
+			return entity;
+		} catch(NotesException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	/**
+	 * @since 2.15.0
+	 */
+	@Override
+	public Iterable<DocumentEntity> update(Iterable<DocumentEntity> entities, boolean computeWithForm) {
+		return saveBatch(entities, computeWithForm, SaveMode.UPDATE);
+	}
+	
+	/**
+	 * @since 2.15.0
+	 */
+	@Override
+	public DocumentEntity upsert(DocumentEntity entity, boolean computeWithForm) {
+		try {
+			Database database = supplier.get();
+			beginTransaction(database);
 			
-			lotus.domino.Document target = database.getDocumentByUNID((String)id.get());
-
 			ClassMapping mapping = EntityUtil.getClassMapping(entity.getName());
-			entityConverter.convertNoSQLEntity(entity, false, target, mapping);
-			if(computeWithForm) {
-				target.computeWithForm(false, false);
-			}
-			target.save();
+			upsertDocument(database, entity, mapping, computeWithForm);
 			return entity;
 		} catch(NotesException e) {
 			throw new RuntimeException(e);
 		}
 	}
+	
+	/**
+	 * @since 2.15.0
+	 */
+	@Override
+	public Iterable<DocumentEntity> upsert(Iterable<DocumentEntity> entities, boolean computeWithForm) {
+		return saveBatch(entities, computeWithForm, SaveMode.UPSERT);
+	}
+	
+	/**
+	 * Saves the provided entity into the existing document with its UNID if this
+	 * database contains one, opening the document only once.
+	 * 
+	 * @param entity the entity to save
+	 * @param computeWithForm whether to compute the document with its form
+	 * @return an {@link Optional} describing the saved entity, or an empty one
+	 *         if this database has no document with the entity's UNID
+	 * @since 2.15.0
+	 */
+	public Optional<DocumentEntity> updateIfPresent(DocumentEntity entity, boolean computeWithForm) {
+		try {
+			Database database = supplier.get();
+			beginTransaction(database);
+			
+			lotus.domino.Document target = findExistingDocument(database, entity);
+			if(target == null) {
+				return Optional.empty();
+			}
+			ClassMapping mapping = EntityUtil.getClassMapping(entity.getName());
+			saveExistingDocument(target, entity, mapping, computeWithForm);
+			return Optional.of(entity);
+		} catch(NotesException e) {
+			throw new RuntimeException(e);
+		}
+	}
 
 	@Override
 	public void delete(DocumentDeleteQuery query) {
@@ -204,11 +264,14 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 				}
 			} else if(query.getCondition().isPresent()) {
 				// Then do it via DQL
-				DQLTerm dql = QueryConverter.getCondition(query.getCondition().get());
+				ParameterizedDQL dql = QueryConverter.prepare(query.getCondition().get(), null);
 				DominoQuery dominoQuery = database.createDominoQuery();
-				DocumentCollection docs = dominoQuery.execute(dql.toString());
+				bindVariables(database, dominoQuery, dql);
+				DocumentCollection docs = dominoQuery.execute(dql.getDql());
 				docs.removeAll(true);
 			}
+			// Deletion stubs don't record their former items, so any cached QRP view may be affected
+			QRPViewCache.getInstance().invalidate(database);
 		} catch(NotesException e) {
 			throw new RuntimeException(e);
 		}
@@ -224,6 +287,9 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 			
 			long skip = queryResult.getSkip();
 			long limit = queryResult.getLimit();
+			if(skip > Integer.MAX_VALUE) {
+				throw new UnsupportedOperationException("Domino does not support skipping more than Integer.MAX_VALUE entries");
+			}
 			List<Sort> sorts = query.getSorts();
 			Stream<DocumentEntity> result;
 
@@ -234,70 +300,85 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 				Database qrpDatabase = getQrpDatabase(sessionAsSigner, database);
 
 				String userName = database.getParent().getEffectiveUserName();
-				String dqlQuery = queryResult.getStatement().toString();
-				String viewName = getClass().getName() + "-" + Objects.hash(sorts, userName, dqlQuery); //$NON-NLS-1$
-				View view = qrpDatabase.getView(viewName);
-				if(view != null) {
-					// Check to see if we need to "expire" it based on the data mod time of the DB
-					DateTime created = view.getCreated();
-					try {
-						// Skip using the server name when it's local, as that can cause resolution trouble
-						//   if the server doesn't know it's itself (Issue #461)
-						String serverName = database.getServer();
-						if(StringUtil.equals(database.getParent().getUserName(), serverName)) {
-							serverName = ""; //$NON-NLS-1$
-						}
-						long dataMod = NotesSession.getLastDataModificationDateByName(serverName, database.getFilePath());
-						if(dataMod > (created.toJavaDate().getTime() / 1000)) {
-							view.remove();
-							view.recycle();
-							view = null;
+				ParameterizedDQL dqlQuery = queryResult.getParameterizedStatement();
+				
+				// Determine whether the entity can be read directly from the QRP view columns
+				List<String> projectedItems = null;
+				if(mapping != null && (ColumnProjectionContext.isActive() || mapping.getClassInstance().isAnnotationPresent(ColumnProjection.class))) {
+					projectedItems = entityConverter.getProjectableItems(mapping).orElse(null);
+				}
+				
+				String viewName = getClass().getName() + "-" + Objects.hash(sorts, userName, dqlQuery.getDql(), dqlQuery.getParameters(), projectedItems); //$NON-NLS-1$
+				Set<String> dependentItems = new HashSet<>();
+				query.getCondition().ifPresent(c -> dependentItems.addAll(QueryConverter.getItemNames(c)));
+				List<String> columnNames = new ArrayList<>();
+				for(Sort sort : sorts) {
+					String itemName = EntityUtil.findItemName(sort.getName(), mapping);
+					dependentItems.add(itemName);
+					columnNames.add(itemName);
+				}
+				if(projectedItems != null) {
+					dependentItems.addAll(projectedItems);
+					for(String itemName : projectedItems) {
+						if(columnNames.stream().noneMatch(itemName::equalsIgnoreCase)) {
+							columnNames.add(itemName);
 						}
-					} catch (NotesAPIException e) {
-						throw new RuntimeException(e);
-					} finally {
-						recycle(created);
 					}
+					columnNames.add(PROJECTION_UNID_COLUMN);
 				}
+				
+				QRPViewCache viewCache = QRPViewCache.getInstance();
+				View view = viewCache.getView(qrpDatabase, database, viewName, entityName, dependentItems);
 
-				if(view != null) {
-					result = entityConverter.convertQRPViewDocuments(database, view, mapping);
-				} else {
-					DominoQuery dominoQuery = database.createDominoQuery();		
+				if(view == null) {
+					DominoQuery dominoQuery = database.createDominoQuery();
+					applyCursorLimits(dominoQuery);
+					bindVariables(database, dominoQuery, dqlQuery);
 					QueryResultsProcessor qrp = qrpDatabase.createQueryResultsProcessor();
 					try {
-						qrp.addDominoQuery(dominoQuery, dqlQuery, null);
+						qrp.addDominoQuery(dominoQuery, dqlQuery.getDql(), null);
 						for(Sort sort : sorts) {
 							String itemName = EntityUtil.findItemName(sort.getName(), mapping);
 							
 							int dir = sort.getType() == SortType.DESC ? QueryResultsProcessor.SORT_DESCENDING : QueryResultsProcessor.SORT_ASCENDING;
 							qrp.addColumn(itemName, itemName, null, dir, false, false);
 						}
+						if(projectedItems != null) {
+							for(String itemName : columnNames.subList(sorts.size(), columnNames.size()-1)) {
+								qrp.addColumn(itemName, itemName, null, QueryResultsProcessor.SORT_UNORDERED, false, false);
+							}
+							qrp.addColumn(PROJECTION_UNID_COLUMN, PROJECTION_UNID_COLUMN, PROJECTION_UNID_FORMULA, QueryResultsProcessor.SORT_UNORDERED, false, false);
+						}
 						
+						long checkpoint = System.currentTimeMillis();
 						view = qrp.executeToView(viewName, 24);
-						result = entityConverter.convertQRPViewDocuments(database, view, mapping);
+						viewCache.putView(qrpDatabase, view, entityName, dependentItems, checkpoint);
 					} finally {
 						recycle(qrp, dominoQuery);
 					}
 				}
 				
+				if(projectedItems != null) {
+					result = entityConverter.convertQRPViewProjection(database, view, entityName, columnNames, projectedItems, PROJECTION_UNID_COLUMN, mapping, (int)skip, limit);
+				} else {
+					result = entityConverter.convertQRPViewDocuments(database, view, mapping, (int)skip, limit);
+				}
+				
 			} else {
 				DominoQuery dominoQuery = database.createDominoQuery();
-				DocumentCollection docs = dominoQuery.execute(queryResult.getStatement().toString());
+				Optional<QueryCursor> queryCursor = QueryCursorContext.get();
+				applyCursorLimits(dominoQuery);
+				ParameterizedDQL dqlQuery = queryResult.getParameterizedStatement();
+				bindVariables(database, dominoQuery, dqlQuery);
+				DocumentCollection docs = dominoQuery.execute(dqlQuery.getDql());
 				try {
-					result = entityConverter.convertDocuments(docs, mapping);
+					int recycleBatchSize = queryCursor.map(QueryCursor::batchSize).orElse(1);
+					result = entityConverter.convertDocuments(docs, mapping, (int)skip, limit, recycleBatchSize);
 				} finally {
 					recycle(dominoQuery);
 				}
 			}
 			
-			if(skip > 0) {
-				result = result.skip(skip);
-			}
-			if(limit > 0) {
-				result = result.limit(limit);
-			}
-			
 			return result;
 		} catch(NotesException e) {
 			throw new RuntimeException(e);
@@ -335,7 +416,7 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 			}
 		}
 		
-		return buildNavigtor(viewName, pagination, sorts, maxLevel, viewQuery, singleResult, mapping,
+		return buildNavigtor(viewName, pagination, sorts, maxLevel, viewQuery, singleResult, true, mapping,
 			(nav, limit, didSkip, didKey) -> {
 				try {
 					if(nav instanceof ViewNavigator) {
@@ -383,7 +464,7 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 			}
 		}
 		
-		return buildNavigtor(viewName, pagination, sorts, maxLevel, viewQuery, singleResult, mapping,
+		return buildNavigtor(viewName, pagination, sorts, maxLevel, viewQuery, singleResult, false, mapping,
 			(nav, limit, didSkip, didKey) -> {
 				try {
 					if(nav instanceof ViewNavigator) {
@@ -448,14 +529,43 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 		try {
 			Database database = supplier.get();
 			beginTransaction(database);
-			DominoQuery dominoQuery = database.createDominoQuery();
-			DQLTerm dql = DQL.item(DominoConstants.FIELD_NAME).isEqualTo(documentCollection);
-			DocumentCollection result = dominoQuery.execute(dql.toString());
-			return result.getCount();
+			
+			CountCache countCache = CountCache.getInstance();
+			String key = database.getParent().getEffectiveUserName() + '|' + DominoConstants.FIELD_NAME + '=' + documentCollection;
+			return countCache.getCount(database, key, () -> {
+				// Prefer reading the count from an existing view index for the form
+				Optional<View> formView = countCache.findFormView(database, documentCollection);
+				if(formView.isPresent()) {
+					View view = formView.get();
+					try {
+						return CountCache.countViewDocuments(view);
+					} finally {
+						recycle(view);
+					}
+				}
+				
+				return countDql(database, QueryConverter.prepare(null, documentCollection));
+			});
+		} catch(NotesException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	/**
+	 * @since 2.15.0
+	 */
+	@Override
+	public long count(DocumentQuery query) {
+		try {
+			Database database = supplier.get();
+			beginTransaction(database);
+			
+			ParameterizedDQL dqlQuery = QueryConverter.select(query).getParameterizedStatement();
+			String key = database.getParent().getEffectiveUserName() + '|' + dqlQuery;
+			return CountCache.getInstance().getCount(database, key, () -> countDql(database, dqlQuery));
 		} catch(NotesException e) {
 			throw new RuntimeException(e);
 		}
-		
 	}
 	
 	@Override
@@ -533,60 +643,7 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 	public Stream<ViewInfo> getViewInfo() {
 		try {
 			Database database = supplier.get();
-			@SuppressWarnings("unchecked")
-			List<View> views = database.getViews();
-			return views.stream()
-				.map(view -> {
-					try {
-						ViewInfo.Type type = view.isFolder() ? ViewInfo.Type.FOLDER : ViewInfo.Type.VIEW;
-						String title = view.getName();
-						@SuppressWarnings("unchecked")
-						List<String> aliases = view.getAliases();
-						String unid = view.getUniversalID();
-						String selectionFormula = view.getSelectionFormula();
-						
-						@SuppressWarnings("unchecked")
-						Vector<ViewColumn> columns = view.getColumns();
-						List<ViewColumnInfo> columnInfo = columns.stream()
-							.map(column -> {
-								try {
-									String columnTitle = column.getTitle();
-									String itemName = column.getItemName();
-									ViewColumnInfo.SortOrder sortOrder = column.isSorted() ?
-										(
-											column.isSortDescending() ? ViewColumnInfo.SortOrder.DESCENDING :
-											ViewColumnInfo.SortOrder.ASCENDING
-										) :
-										ViewColumnInfo.SortOrder.NONE;
-									Collection<ViewColumnInfo.SortOrder> resortOrders = EnumSet.noneOf(ViewColumnInfo.SortOrder.class);
-									if(column.isResortAscending()) {
-										resortOrders.add(ViewColumnInfo.SortOrder.ASCENDING);
-									}
-									if(column.isResortDescending()) {
-										resortOrders.add(ViewColumnInfo.SortOrder.DESCENDING);
-									}
-									boolean categorized = column.isCategory();
-									
-									return new ViewColumnInfoImpl(columnTitle, itemName, sortOrder, resortOrders, categorized);
-										
-								} catch(NotesException e) {
-									throw new RuntimeException(e);
-								}
-							})
-							.collect(Collectors.toList());
-						view.recycle(columns);
-						
-						return new ViewInfoImpl(type, title, aliases, unid, selectionFormula, columnInfo);
-					} catch(NotesException e) {
-						throw new RuntimeException(e);
-					} finally {
-						try {
-							view.recycle();
-						} catch(NotesException e) {
-							// ignore
-						}
-					}
-				});
+			return ViewMetadataCache.getInstance().getViewInfo(database).stream();
 		} catch(NotesException e) {
 			throw new RuntimeException(e);
 		}
@@ -601,7 +658,7 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 	// *******************************************************************************
 	
 	@SuppressWarnings("unchecked")
-	private <T> T buildNavigtor(String viewName, Pagination pagination, Sorts sorts, int maxLevel, ViewQuery viewQuery, boolean singleResult, ClassMapping mapping, NavFunction<T> consumer) {
+	private <T> T buildNavigtor(String viewName, Pagination pagination, Sorts sorts, int maxLevel, ViewQuery viewQuery, boolean singleResult, boolean readColumnValues, ClassMapping mapping, NavFunction<T> consumer) {
 		try {
 			if(StringUtil.isEmpty(viewName)) {
 				throw new IllegalArgumentException("viewName cannot be empty");
@@ -670,17 +727,7 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 			}
 			
 			// Check if the class requests count data and skip reading if not
-			boolean requestsCounts = mapping.getFields()
-				.stream()
-				.map(fm -> fm.getNativeField())
-				.map(f -> f.getAnnotation(Column.class))
-				.filter(Objects::nonNull)
-				.map(col -> col.value())
-				.anyMatch(name ->
-					DominoConstants.FIELD_CHILDCOUNT.equals(name)
-					|| DominoConstants.FIELD_SIBLINGCOUNT.equals(name)
-					|| DominoConstants.FIELD_DESCENDANTCOUNT.equals(name)
-				);
+			boolean requestsCounts = EntityUtil.requestsCounts(mapping);
 			if(!requestsCounts) {
 				nav.setEntryOptions(ViewNavigator.VN_ENTRYOPT_NOCOUNTDATA);
 			}
@@ -701,11 +748,7 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 				}
 			}
 			
-			if(limit > 0) {
-				nav.setBufferMaxEntries((int)Math.min(400, limit));
-			} else {
-				nav.setBufferMaxEntries(400);
-			}
+			nav.setBufferMaxEntries(getBufferSize(view, limit, readColumnValues));
 			
 			return consumer.apply(nav, limit, didSkip, didKey);
 		} catch(NotesException e) {
@@ -713,6 +756,40 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 		}
 	}
 	
+	/**
+	 * Determines the number of entries a {@link ViewNavigator} should read per
+	 * server round trip.
+	 * 
+	 * <p>When not specified by the repository method, this is estimated from the
+	 * number of columns in the view so that wide views don't produce oversized
+	 * summary buffers, and is capped at the requested entry count when each read
+	 * entry will be returned.</p>
+	 * 
+	 * @param view the view being navigated
+	 * @param limit the maximum number of entries requested, or {@code 0} for all
+	 * @param readColumnValues whether column values will be read for entries
+	 * @return the buffer size to use
+	 * @throws NotesException if there is a problem reading the view
+	 */
+	private static int getBufferSize(View view, long limit, boolean readColumnValues) throws NotesException {
+		OptionalInt requested = ViewBufferContext.get();
+		if(requested.isPresent()) {
+			return Math.min(requested.getAsInt(), MAX_BUFFER_ENTRIES);
+		}
+		
+		int size = MAX_BUFFER_ENTRIES;
+		if(readColumnValues) {
+			int columns = Math.max(1, view.getColumnCount());
+			size = SUMMARY_BUFFER_BYTES / (columns * ESTIMATED_COLUMN_BYTES);
+			size = Math.max(MIN_BUFFER_ENTRIES, Math.min(MAX_BUFFER_ENTRIES, size));
+		}
+		// Category entries don't count towards the limit, so only cap flat views
+		if(limit > 0 && !view.isCategorized()) {
+			size = (int)Math.min(size, limit);
+		}
+		return size;
+	}
+	
 	private Database getQrpDatabase(Session session, Database database) throws NotesException {
 		String server = database.getServer();
 		String filePath = database.getFilePath();
@@ -744,6 +821,260 @@ public class DefaultDominoDocumentCollectionManager extends AbstractDominoDocume
 		
 	}
 
+	private lotus.domino.Document insertDocument(Database database, DocumentEntity entity, ClassMapping mapping, boolean computeWithForm) throws NotesException {
+		// Special handling for named and profile notes
+		lotus.domino.Document target;
+		Optional<Document> maybeName = entity.find(DominoConstants.FIELD_NOTENAME);
+		Optional<Document> maybeProfileName = entity.find(DominoConstants.FIELD_PROFILENAME);
+		if(maybeName.isPresent() && StringUtil.isNotEmpty(maybeName.get().get(String.class))) {
+			Optional<Document> maybeUserName = entity.find(DominoConstants.FIELD_USERNAME);
+			if(maybeUserName.isPresent() && StringUtil.isNotEmpty(maybeUserName.get().get(String.class))) {
+				target = database.getNamedDocument(maybeName.get().get(String.class), maybeUserName.get().get(String.class));
+			} else {
+				target = database.getNamedDocument(maybeName.get().get(String.class));
+			}
+		} else if(maybeProfileName.isPresent() && StringUtil.isNotEmpty(maybeProfileName.get().get(String.class))) {
+			Optional<Document> maybeUserName = entity.find(DominoConstants.FIELD_PROFILEKEY);
+			target = database.getProfileDocument(maybeProfileName.get().get(String.class), maybeUserName.map(d -> d.get(String.class)).orElse(null));
+		} else {
+			target = database.createDocument();
+		}
+		
+		Optional<Document> maybeId = entity.find(DominoConstants.FIELD_ID);
+		if(maybeId.isPresent()) {
+			target.setUniversalID(maybeId.get().get().toString());
+		} else {
+			// Write the generated UNID into the entity
+			entity.add(Document.of(DominoConstants.FIELD_ID, target.getUniversalID()));
+		}
+
+		entityConverter.convertNoSQLEntity(entity, false, target, mapping);
+		if(computeWithForm) {
+			target.computeWithForm(false, false);
+		}
+		target.save();
+		return target;
+	}
+	
+	private lotus.domino.Document updateDocument(Database database, DocumentEntity entity, ClassMapping mapping, boolean computeWithForm) throws NotesException {
+		Document id = entity.find(DominoConstants.FIELD_ID)
+			.orElseThrow(() -> new IllegalArgumentException(MessageFormat.format("Unable to find {0} in entity", DominoConstants.FIELD_ID)));
+		
+		lotus.domino.Document target = database.getDocumentByUNID((String)id.get());
+
+		entityConverter.convertNoSQLEntity(entity, false, target, mapping);
+		if(computeWithForm) {
+			target.computeWithForm(false, false);
+		}
+		target.save();
+		return target;
+	}
+	
+	/**
+	 * Saves the provided entity into the existing document with its UNID, if
+	 * present, or else into a new document, opening the target only once.
+	 * 
+	 * @since 2.15.0
+	 */
+	private lotus.domino.Document upsertDocument(Database database, DocumentEntity entity, ClassMapping mapping, boolean computeWithForm) throws NotesException {
+		lotus.domino.Document target = findExistingDocument(database, entity);
+		if(target == null) {
+			return insertDocument(database, entity, mapping, computeWithForm);
+		}
+		
+		saveExistingDocument(target, entity, mapping, computeWithForm);
+		return target;
+	}
+	
+	/**
+	 * Opens the non-deleted document with the entity's UNID, if present.
+	 * 
+	 * @return the existing document, or {@code null} if the entity has no UNID
+	 *         or the database does not contain a document with it
+	 * @since 2.15.0
+	 */
+	private lotus.domino.Document findExistingDocument(Database database, DocumentEntity entity) throws NotesException {
+		String unid = entity.find(DominoConstants.FIELD_ID)
+			.map(Document::get)
+			.map(String::valueOf)
+			.orElse(null);
+		lotus.domino.Document target = null;
+		if(StringUtil.isNotEmpty(unid)) {
+			try {
+				target = database.getDocumentByUNID(unid);
+			} catch(NotesException e) {
+				// Assume it doesn't exist
+			}
+			if(target != null && target.isDeleted()) {
+				target.recycle();
+				target = null;
+			}
+		}
+		return target;
+	}
+	
+	private void saveExistingDocument(lotus.domino.Document target, DocumentEntity entity, ClassMapping mapping, boolean computeWithForm) throws NotesException {
+		entityConverter.convertNoSQLEntity(entity, false, target, mapping);
+		if(computeWithForm) {
+			target.computeWithForm(false, false);
+		}
+		target.save();
+	}
+	
+	private enum SaveMode {
+		INSERT("insert"), UPDATE("update"), UPSERT("upsert"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		
+		private final String operation;
+		
+		private SaveMode(String operation) {
+			this.operation = operation;
+		}
+	}
+	
+	/**
+	 * Saves the provided entities in chunks of {@link #getBatchSize()}, resolving
+	 * the database, transaction, and class mappings once for the whole operation
+	 * and recycling the saved documents after each chunk.
+	 * 
+	 * @param entities the entities to save
+	 * @param computeWithForm whether to compute each document with its form
+	 * @param mode whether to create new documents, update existing documents, or
+	 *        pick per entity based on whether its document exists
+	 * @return the saved entities
+	 * @since 2.15.0
+	 */
+	private Iterable<DocumentEntity> saveBatch(Iterable<DocumentEntity> entities, boolean computeWithForm, SaveMode mode) {
+		if(entities == null) {
+			return Collections.emptySet();
+		}
+		try {
+			Database database = supplier.get();
+			beginTransaction(database);
+			
+			String operation = mode.operation;
+			int batchSize = BATCH_SIZE;
+			Map<String, ClassMapping> mappings = new HashMap<>();
+			List<DocumentEntity> result = new ArrayList<>();
+			List<lotus.domino.Document> batch = new ArrayList<>(batchSize);
+			long batchStart = System.nanoTime();
+			for(DocumentEntity entity : entities) {
+				String entityName = entity.getName();
+				ClassMapping mapping;
+				if(mappings.containsKey(entityName)) {
+					mapping = mappings.get(entityName);
+				} else {
+					mapping = EntityUtil.getClassMapping(entityName);
+					mappings.put(entityName, mapping);
+				}
+				
+				switch(mode) {
+				case INSERT:
+					batch.add(insertDocument(database, entity, mapping, computeWithForm));
+					break;
+				case UPDATE:
+					batch.add(updateDocument(database, entity, mapping, computeWithForm));
+					break;
+				case UPSERT:
+				default:
+					batch.add(upsertDocument(database, entity, mapping, computeWithForm));
+					break;
+				}
+				result.add(entity);
+				
+				if(batch.size() >= batchSize) {
+					int count = batch.size();
+					database.recycle(new Vector<>(batch));
+					batch.clear();
+					BatchWriteMetrics.record(operation, count, System.nanoTime() - batchStart);
+					batchStart = System.nanoTime();
+				}
+			}
+			if(!batch.isEmpty()) {
+				int count = batch.size();
+				database.recycle(new Vector<>(batch));
+				BatchWriteMetrics.record(operation, count, System.nanoTime() - batchStart);
+			}
+			return result;
+		} catch(NotesException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	@Override
+	public int getBatchSize() {
+		return BATCH_SIZE;
+	}
+	
+	private static int readBatchSize() {
+		String value = AccessController.doPrivileged((PrivilegedAction<String>)() -> System.getProperty(PROP_BATCHSIZE));
+		if(StringUtil.isNotEmpty(value)) {
+			try {
+				int batchSize = Integer.parseInt(value.trim());
+				if(batchSize > 0) {
+					return batchSize;
+				}
+			} catch(NumberFormatException e) {
+				// Fall through to the default
+			}
+		}
+		return DEFAULT_BATCHSIZE;
+	}
+
+	/**
+	 * Applies any DQL engine limits requested via {@link QueryCursor} on the
+	 * current repository method.
+	 * 
+	 * @param dominoQuery the query to configure
+	 * @throws NotesException if there is a problem setting the limits
+	 * @since 2.15.0
+	 */
+	private void applyCursorLimits(DominoQuery dominoQuery) throws NotesException {
+		Optional<QueryCursor> queryCursor = QueryCursorContext.get();
+		if(queryCursor.isPresent()) {
+			QueryCursor cursor = queryCursor.get();
+			if(cursor.maxScanDocs() > 0) {
+				dominoQuery.setMaxScanDocs(cursor.maxScanDocs());
+			}
+			if(cursor.maxScanEntries() > 0) {
+				dominoQuery.setMaxScanEntries(cursor.maxScanEntries());
+			}
+			if(cursor.timeoutSec() > 0) {
+				dominoQuery.setTimeoutSec(cursor.timeoutSec());
+			}
+		}
+	}
+	
+	/**
+	 * Binds the values of the named variables used by the provided query.
+	 * 
+	 * @param database the database the query was created from
+	 * @param dominoQuery the query to configure
+	 * @param dql the parameterized statement to be executed
+	 * @throws NotesException if there is a problem setting the variables
+	 * @since 2.15.0
+	 */
+	private static void bindVariables(Database database, DominoQuery dominoQuery, ParameterizedDQL dql) throws NotesException {
+		if(dql.getParameters().isEmpty()) {
+			return;
+		}
+		Session session = database.getParent();
+		for(Map.Entry<String, Object> param : dql.getParameters().entrySet()) {
+			dominoQuery.setNamedVariable(param.getKey(), DominoNoSQLUtil.toDominoFriendly(session, param.getValue()));
+		}
+	}
+	
+	private static long countDql(Database database, ParameterizedDQL dqlQuery) throws NotesException {
+		DominoQuery dominoQuery = database.createDominoQuery();
+		DocumentCollection docs = null;
+		try {
+			bindVariables(database, dominoQuery, dqlQuery);
+			docs = dominoQuery.execute(dqlQuery.getDql());
+			return docs.getCount();
+		} finally {
+			recycle(docs, dominoQuery);
+		}
+	}
+	
 	private static void recycle(Object... objects) {
 		for(Object obj : objects) {
 			if(obj instanceof Base) {
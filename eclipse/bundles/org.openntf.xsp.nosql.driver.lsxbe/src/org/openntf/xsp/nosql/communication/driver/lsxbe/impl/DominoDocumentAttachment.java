@@ -15,9 +15,13 @@
  */
 package org.openntf.xsp.nosql.communication.driver.lsxbe.impl;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.jnosql.communication.driver.attachment.EntityAttachment;
 import org.openntf.xsp.nosql.communication.driver.lsxbe.DatabaseSupplier;
@@ -26,11 +30,20 @@ import com.ibm.commons.util.StringUtil;
 
 import jakarta.activation.MimetypesFileTypeMap;
 import lotus.domino.Database;
+import lotus.domino.DateTime;
 import lotus.domino.Document;
 import lotus.domino.EmbeddedObject;
 import lotus.domino.NotesException;
 
 public class DominoDocumentAttachment implements EntityAttachment {
+	/**
+	 * The buffer size used when reading attachment data, large enough to avoid
+	 * many small reads through the embedded object stream.
+	 * 
+	 * @since 2.15.0
+	 */
+	public static final int BUFFER_SIZE = 64 * 1024;
+	
 	private final DatabaseSupplier databaseSupplier;
 	private final String unid;
 	private final String attachmentName;
@@ -44,6 +57,61 @@ public class DominoDocumentAttachment implements EntityAttachment {
 		this.attachmentName = attachmentName;
 		this.contentType = guessContentType(attachmentName);
 	}
+	
+	/**
+	 * Creates a new attachment reference with metadata already read from the
+	 * containing document, avoiding a later lookup of the document.
+	 * 
+	 * @param databaseSupplier a supplier for the containing database
+	 * @param unid the UNID of the containing document
+	 * @param attachmentName the name of the attachment
+	 * @param length the size of the attachment in bytes
+	 * @param lastModified the last-modified time of the attachment in epoch milliseconds
+	 * @since 2.15.0
+	 */
+	public DominoDocumentAttachment(DatabaseSupplier databaseSupplier, String unid, String attachmentName, long length, long lastModified) {
+		this(databaseSupplier, unid, attachmentName);
+		this.length = length;
+		this.lastModified = lastModified;
+	}
+	
+	/**
+	 * Reads attachment references for the provided document, which must already
+	 * be open, collecting the metadata of each attachment in the same pass.
+	 * 
+	 * @param databaseSupplier a supplier for the containing database
+	 * @param doc the document to read
+	 * @return a {@link List} of attachments, possibly empty
+	 * @throws NotesException if there is a problem reading the document
+	 * @since 2.15.0
+	 */
+	public static List<EntityAttachment> readAttachments(DatabaseSupplier databaseSupplier, Document doc) throws NotesException {
+		if(!doc.hasEmbedded()) {
+			return Collections.emptyList();
+		}
+		
+		String unid = doc.getUniversalID();
+		@SuppressWarnings("unchecked")
+		List<String> attachmentNames = doc.getParentDatabase().getParent().evaluate(" @AttachmentNames ", doc); //$NON-NLS-1$
+		List<EntityAttachment> result = new ArrayList<>(attachmentNames.size());
+		for(String attachmentName : attachmentNames) {
+			if(StringUtil.isEmpty(attachmentName)) {
+				continue;
+			}
+			EmbeddedObject eo = doc.getAttachment(attachmentName);
+			if(eo == null) {
+				result.add(new DominoDocumentAttachment(databaseSupplier, unid, attachmentName));
+			} else {
+				try {
+					long lastModified = getFileModified(eo, doc);
+					result.add(new DominoDocumentAttachment(databaseSupplier, unid, attachmentName, eo.getFileSize(), lastModified));
+				} finally {
+					eo.recycle();
+				}
+			}
+		}
+		return result;
+	}
 
 	@Override
 	public String getName() {
@@ -64,7 +132,7 @@ public class DominoDocumentAttachment implements EntityAttachment {
 	@Override
 	public InputStream getData() throws IOException {
 		try {
-			return new EmbeddedObjectInputStream(getEmbeddedObject());
+			return new BufferedInputStream(new EmbeddedObjectInputStream(getEmbeddedObject()), BUFFER_SIZE);
 		} catch (NotesException e) {
 			throw new RuntimeException(e);
 		}
@@ -76,6 +144,14 @@ public class DominoDocumentAttachment implements EntityAttachment {
 		return this.length;
 	}
 
+	/**
+	 * @return the UNID of the containing document
+	 * @since 2.15.0
+	 */
+	public String getDocumentId() {
+		return this.unid;
+	}
+
 	@Override
 	public String toString() {
 		return String.format( "DominoDocumentAttachment [unid=%s, attachmentName=%s]", unid, attachmentName); //$NON-NLS-1$
@@ -89,10 +165,14 @@ public class DominoDocumentAttachment implements EntityAttachment {
 	private synchronized void cacheMeta() {
 		if(this.lastModified == null) {
 			try {
-				EmbeddedObject eo = getEmbeddedObject();
-				this.lastModified = eo.getFileModified().toJavaDate().getTime();
-				this.length = (long)eo.getFileSize();
-				eo.recycle();
+				Document doc = getDocument();
+				EmbeddedObject eo = doc.getAttachment(this.attachmentName);
+				try {
+					this.lastModified = getFileModified(eo, doc);
+					this.length = (long)eo.getFileSize();
+				} finally {
+					eo.recycle();
+				}
 			} catch(NotesException ne) {
 				throw new RuntimeException(ne);
 			}
@@ -101,14 +181,34 @@ public class DominoDocumentAttachment implements EntityAttachment {
 
 	private EmbeddedObject getEmbeddedObject() {
 		try {
-			Database database = databaseSupplier.get();
-			Document doc = database.getDocumentByUNID(unid);
-			return doc.getAttachment(this.attachmentName);
+			return getDocument().getAttachment(this.attachmentName);
 		} catch(NotesException ne) {
 			throw new RuntimeException(ne);
 		}
 	}
 	
+	private Document getDocument() throws NotesException {
+		Database database = databaseSupplier.get();
+		return database.getDocumentByUNID(unid);
+	}
+	
+	/**
+	 * Determines the last-modified time of the provided attachment, falling back
+	 * to that of its document when the attachment does not record its own, as is
+	 * the case for some attachments created outside of the Notes client.
+	 */
+	private static long getFileModified(EmbeddedObject eo, Document doc) throws NotesException {
+		DateTime mod = eo.getFileModified();
+		if(mod == null) {
+			mod = doc.getLastModified();
+		}
+		try {
+			return mod.toJavaDate().getTime();
+		} finally {
+			mod.recycle();
+		}
+	}
+	
 	private static String guessContentType(String fileName) {
 		String contentType = URLConnection.guessContentTypeFromName(fileName);
 		if(StringUtil.isNotEmpty(contentType)) {
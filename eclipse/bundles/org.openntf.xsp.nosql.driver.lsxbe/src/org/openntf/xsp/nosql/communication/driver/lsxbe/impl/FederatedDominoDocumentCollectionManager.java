@@ -0,0 +1,690 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.communication.driver.lsxbe.impl;
+
+import java.text.Collator;
+import java.time.Instant;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.openntf.xsp.nosql.communication.driver.DominoConstants;
+import org.openntf.xsp.nosql.communication.driver.DominoDocumentCollectionManager;
+import org.openntf.xsp.nosql.communication.driver.ViewColumnInfo;
+import org.openntf.xsp.nosql.communication.driver.ViewInfo;
+import org.openntf.xsp.nosql.communication.driver.impl.AbstractDominoDocumentCollectionManager;
+import org.openntf.xsp.nosql.communication.driver.impl.ColumnProjectionContext;
+import org.openntf.xsp.nosql.communication.driver.impl.EntityUtil;
+import org.openntf.xsp.nosql.communication.driver.impl.QueryCursorContext;
+import org.openntf.xsp.nosql.communication.driver.impl.ViewBufferContext;
+import org.openntf.xsp.nosql.communication.driver.lsxbe.DatabaseSupplier;
+import org.openntf.xsp.nosql.communication.driver.lsxbe.SessionSupplier;
+import org.openntf.xsp.nosql.mapping.extension.QueryCursor;
+import org.openntf.xsp.nosql.mapping.extension.ViewQuery;
+
+import jakarta.nosql.Sort;
+import jakarta.nosql.SortType;
+import jakarta.nosql.document.Document;
+import jakarta.nosql.document.DocumentCondition;
+import jakarta.nosql.document.DocumentDeleteQuery;
+import jakarta.nosql.document.DocumentEntity;
+import jakarta.nosql.document.DocumentQuery;
+import jakarta.nosql.mapping.Pagination;
+import jakarta.nosql.mapping.Sorts;
+
+/**
+ * {@link DominoDocumentCollectionManager} implementation that treats several
+ * NSFs with the same design as shards of a single logical collection.
+ * 
+ * <p>Read operations are executed against each shard concurrently using the
+ * provided {@link ExecutorService}, which should be the application's
+ * {@code ManagedExecutorService} so that worker threads carry a Notes context
+ * for the running module. Each shard's results are fully read within its worker
+ * thread and the sorted per-shard lists are then merged on the calling thread,
+ * so overall latency tracks the slowest shard rather than the sum of them. Shard
+ * tasks that no worker has started by the time the calling thread waits for them
+ * are run on the calling thread itself, so this manager can be used from tasks
+ * running on the same executor without exhausting its threads.</p>
+ * 
+ * <p>The {@link DatabaseSupplier}s are invoked on both worker threads and the
+ * calling thread and so must open their databases from the current thread's
+ * context rather than capturing a {@code Database} object from the calling
+ * thread.</p>
+ * 
+ * <p>New documents are created in the first ("primary") shard, while updates,
+ * deletions, and folder operations are routed to whichever shards contain the
+ * targeted documents. Updates visit the shards in order and save into the first
+ * one containing the document, opening it only once there.</p>
+ * 
+ * <p>Merged results are ordered by the query's sorts or, for view queries without
+ * explicit sorts, by the sorted columns of the view. Text is compared
+ * case- and accent-insensitively, as with the default collation of sorted view
+ * columns, and values of differing types are grouped by type. Entries that
+ * compare as equal are returned in shard order.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class FederatedDominoDocumentCollectionManager extends AbstractDominoDocumentCollectionManager {
+	private final List<DefaultDominoDocumentCollectionManager> managers;
+	private final ExecutorService executor;
+	
+	public FederatedDominoDocumentCollectionManager(Collection<DatabaseSupplier> shards, SessionSupplier sessionSupplier, ExecutorService executor) {
+		Objects.requireNonNull(shards, "shards cannot be null");
+		if(shards.isEmpty()) {
+			throw new IllegalArgumentException("shards cannot be empty");
+		}
+		Objects.requireNonNull(sessionSupplier, "sessionSupplier cannot be null");
+		this.managers = shards.stream()
+			.map(shard -> new DefaultDominoDocumentCollectionManager(shard, sessionSupplier))
+			.collect(Collectors.toList());
+		this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+	}
+	
+	@Override
+	public DocumentEntity insert(DocumentEntity entity, boolean computeWithForm) {
+		return primary().insert(entity, computeWithForm);
+	}
+	
+	@Override
+	public Iterable<DocumentEntity> insert(Iterable<DocumentEntity> entities) {
+		return insert(entities, false);
+	}
+	
+	@Override
+	public Iterable<DocumentEntity> insert(Iterable<DocumentEntity> entities, boolean computeWithForm) {
+		return primary().insert(entities, computeWithForm);
+	}
+	
+	@Override
+	public DocumentEntity update(DocumentEntity entity, boolean computeWithForm) {
+		// Fall back to the primary shard to report the missing document the same way
+		return updateIfPresent(entity, computeWithForm)
+			.orElseGet(() -> primary().update(entity, computeWithForm));
+	}
+	
+	@Override
+	public Iterable<DocumentEntity> update(Iterable<DocumentEntity> entities, boolean computeWithForm) {
+		List<DocumentEntity> result = new ArrayList<>();
+		for(DocumentEntity entity : entities) {
+			result.add(update(entity, computeWithForm));
+		}
+		return result;
+	}
+	
+	@Override
+	public DocumentEntity upsert(DocumentEntity entity, boolean computeWithForm) {
+		return updateIfPresent(entity, computeWithForm)
+			.orElseGet(() -> primary().insert(entity, computeWithForm));
+	}
+	
+	@Override
+	public Iterable<DocumentEntity> upsert(Iterable<DocumentEntity> entities, boolean computeWithForm) {
+		List<DocumentEntity> result = new ArrayList<>();
+		for(DocumentEntity entity : entities) {
+			result.add(upsert(entity, computeWithForm));
+		}
+		return result;
+	}
+	
+	@Override
+	public void delete(DocumentDeleteQuery query) {
+		List<String> unids = query.getDocuments();
+		if(unids != null && !unids.isEmpty()) {
+			// Route explicit UNIDs to the shards containing them, skipping unknown ones
+			Map<Integer, List<String>> byShard = new LinkedHashMap<>();
+			for(String unid : unids) {
+				if(unid != null && !unid.isEmpty()) {
+					int shard = findShard(unid);
+					if(shard > -1) {
+						byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(unid);
+					}
+				}
+			}
+			byShard.forEach((shard, shardUnids) ->
+				managers.get(shard).delete(new ShardDocumentDeleteQuery(query, shardUnids))
+			);
+		} else {
+			fanOut(manager -> {
+				manager.delete(query);
+				return null;
+			});
+		}
+	}
+	
+	@Override
+	public Stream<DocumentEntity> select(DocumentQuery query) {
+		long skip = query.getSkip();
+		long limit = query.getLimit();
+		// Each shard has to provide enough entries to satisfy the page on its own
+		long shardLimit = limit > 0 ? skip + limit : 0;
+		DocumentQuery shardQuery = new ShardDocumentQuery(query, shardLimit);
+		
+		List<List<DocumentEntity>> shardResults = fanOut(manager -> {
+			try(Stream<DocumentEntity> stream = manager.select(shardQuery)) {
+				return stream.collect(Collectors.toList());
+			}
+		});
+		
+		ClassMapping mapping = EntityUtil.getClassMapping(query.getDocumentCollection());
+		return page(merge(shardResults, query.getSorts(), mapping), skip, limit);
+	}
+	
+	@Override
+	public Stream<DocumentEntity> viewEntryQuery(String entityName, String viewName, Pagination pagination, Sorts sorts,
+			int maxLevel, boolean docsOnly, ViewQuery viewQuery, boolean singleResult) {
+		Pagination shardPagination = toShardPagination(pagination);
+		List<List<DocumentEntity>> shardResults = fanOut(manager -> {
+			try(Stream<DocumentEntity> stream = manager.viewEntryQuery(entityName, viewName, shardPagination, sorts, maxLevel, docsOnly, viewQuery, singleResult)) {
+				return stream.collect(Collectors.toList());
+			}
+		});
+		return mergeViewResults(entityName, viewName, shardResults, pagination, sorts, singleResult);
+	}
+	
+	@Override
+	public Stream<DocumentEntity> viewDocumentQuery(String entityName, String viewName, Pagination pagination, Sorts sorts,
+			int maxLevel, ViewQuery viewQuery, boolean singleResult, boolean distinct) {
+		Pagination shardPagination = toShardPagination(pagination);
+		List<List<DocumentEntity>> shardResults = fanOut(manager -> {
+			try(Stream<DocumentEntity> stream = manager.viewDocumentQuery(entityName, viewName, shardPagination, sorts, maxLevel, viewQuery, singleResult, distinct)) {
+				return stream.collect(Collectors.toList());
+			}
+		});
+		return mergeViewResults(entityName, viewName, shardResults, pagination, sorts, singleResult);
+	}
+	
+	@Override
+	public void putInFolder(String entityId, String folderName) {
+		shardManagerFor(entityId).putInFolder(entityId, folderName);
+	}
+	
+	@Override
+	public void removeFromFolder(String entityId, String folderName) {
+		shardManagerFor(entityId).removeFromFolder(entityId, folderName);
+	}
+	
+	@Override
+	public int getBatchSize() {
+		return primary().getBatchSize();
+	}
+	
+	@Override
+	public long count(String documentCollection) {
+		return fanOut(manager -> manager.count(documentCollection))
+			.stream()
+			.mapToLong(Long::longValue)
+			.sum();
+	}
+	
+	@Override
+	public long count(DocumentQuery query) {
+		return fanOut(manager -> manager.count(query))
+			.stream()
+			.mapToLong(Long::longValue)
+			.sum();
+	}
+	
+	@Override
+	public boolean existsById(String unid) {
+		return findShard(unid) > -1;
+	}
+	
+	@Override
+	public Optional<DocumentEntity> getByNoteId(String entityName, String noteId) {
+		// Note IDs are only unique per-NSF, so this consults the primary shard only
+		return primary().getByNoteId(entityName, noteId);
+	}
+	
+	@Override
+	public Optional<DocumentEntity> getById(String entityName, String id) {
+		return fanOut(manager -> manager.getById(entityName, id))
+			.stream()
+			.filter(Optional::isPresent)
+			.map(Optional::get)
+			.findFirst();
+	}
+	
+	@Override
+	public Stream<ViewInfo> getViewInfo() {
+		// Shards are expected to share a design
+		return primary().getViewInfo();
+	}
+	
+	@Override
+	public Optional<DocumentEntity> getByName(String entityName, String name, String userName) {
+		return primary().getByName(entityName, name, userName);
+	}
+	
+	@Override
+	public Optional<DocumentEntity> getProfileDocument(String entityName, String profileName, String userName) {
+		return primary().getProfileDocument(entityName, profileName, userName);
+	}
+	
+	@Override
+	public void close() {
+		managers.forEach(DefaultDominoDocumentCollectionManager::close);
+	}
+	
+	// *******************************************************************************
+	// * Internal implementation utilities
+	// *******************************************************************************
+	
+	private DefaultDominoDocumentCollectionManager primary() {
+		return managers.get(0);
+	}
+	
+	/**
+	 * Saves the entity into the first shard containing its document, checking
+	 * shards in order on the calling thread so that only the containing shard
+	 * opens and writes the document.
+	 * 
+	 * @param entity the entity to save
+	 * @param computeWithForm whether to compute the document with its form
+	 * @return an {@link Optional} describing the saved entity, or an empty one if
+	 *         the entity has no UNID or no shard contains its document
+	 */
+	private Optional<DocumentEntity> updateIfPresent(DocumentEntity entity, boolean computeWithForm) {
+		boolean hasId = entity.find(DominoConstants.FIELD_ID)
+			.map(Document::get)
+			.map(String::valueOf)
+			.filter(unid -> !unid.isEmpty())
+			.isPresent();
+		if(hasId) {
+			for(DefaultDominoDocumentCollectionManager manager : managers) {
+				Optional<DocumentEntity> result = manager.updateIfPresent(entity, computeWithForm);
+				if(result.isPresent()) {
+					return result;
+				}
+			}
+		}
+		return Optional.empty();
+	}
+	
+	/**
+	 * Retrieves a manager for the shard containing the provided UNID, falling back
+	 * to the primary shard when no shard contains it.
+	 * 
+	 * @param unid the UNID to look for
+	 * @return a {@link DominoDocumentCollectionManager} for the appropriate shard
+	 */
+	private DominoDocumentCollectionManager shardManagerFor(String unid) {
+		int shard = unid == null ? -1 : findShard(unid);
+		return shard < 0 ? primary() : managers.get(shard);
+	}
+	
+	/**
+	 * Finds the index of the first shard containing a document with the given UNID.
+	 * 
+	 * @param unid the UNID to look for
+	 * @return the index of the containing shard, or {@code -1} if no shard contains it
+	 */
+	private int findShard(String unid) {
+		List<Boolean> found = fanOut(manager -> manager.existsById(unid));
+		return found.indexOf(Boolean.TRUE);
+	}
+	
+	/**
+	 * Executes the provided task against each shard in parallel, waiting for all to
+	 * complete.
+	 * 
+	 * <p>The task is executed on a worker thread or, when no worker has picked it
+	 * up yet, on the calling thread, and so must fully materialize any values read
+	 * from Notes objects before returning.</p>
+	 * 
+	 * @param <T> the type of value returned by the task
+	 * @param task the task to run against a shard-specific manager
+	 * @return a {@link List} of results in shard order
+	 */
+	private <T> List<T> fanOut(Function<DominoDocumentCollectionManager, T> task) {
+		// These are set by the repository proxy on the calling thread
+		boolean projection = ColumnProjectionContext.isActive();
+		QueryCursor cursor = QueryCursorContext.get().orElse(null);
+		int bufferSize = ViewBufferContext.get().orElse(-1);
+		
+		List<FutureTask<T>> tasks = new ArrayList<>(managers.size());
+		for(DominoDocumentCollectionManager manager : managers) {
+			tasks.add(new FutureTask<>(() -> {
+				boolean prevProjection = ColumnProjectionContext.isActive();
+				QueryCursor prevCursor = QueryCursorContext.get().orElse(null);
+				int prevBufferSize = ViewBufferContext.get().orElse(-1);
+				ColumnProjectionContext.setActive(projection);
+				QueryCursorContext.set(cursor);
+				ViewBufferContext.set(bufferSize);
+				try {
+					return task.apply(manager);
+				} finally {
+					ColumnProjectionContext.setActive(prevProjection);
+					QueryCursorContext.set(prevCursor);
+					ViewBufferContext.set(prevBufferSize);
+				}
+			}));
+		}
+		
+		// The first shard is always handled on the calling thread
+		for(int i = 1; i < tasks.size(); i++) {
+			try {
+				executor.execute(tasks.get(i));
+			} catch(RejectedExecutionException e) {
+				// Then it will be run below
+			}
+		}
+		// Run anything not yet started by a worker here rather than blocking on it,
+		// which would deadlock if this is itself running on a saturated executor.
+		// FutureTask#run does nothing for tasks that have already started
+		tasks.forEach(FutureTask::run);
+		
+		try {
+			List<T> result = new ArrayList<>(tasks.size());
+			for(FutureTask<T> future : tasks) {
+				result.add(future.get());
+			}
+			return result;
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch(ExecutionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			}
+			throw new RuntimeException(cause);
+		}
+	}
+	
+	private Stream<DocumentEntity> mergeViewResults(String entityName, String viewName, List<List<DocumentEntity>> shardResults, Pagination pagination, Sorts sorts, boolean singleResult) {
+		ClassMapping mapping = EntityUtil.getClassMapping(entityName);
+		List<Sort> sortList = sorts == null ? null : sorts.getSorts();
+		if(sortList == null || sortList.isEmpty()) {
+			sortList = getViewSorts(viewName);
+		}
+		long skip = pagination == null ? 0 : pagination.getSkip();
+		long limit = singleResult ? 1 : pagination == null ? 0 : pagination.getLimit();
+		return page(merge(shardResults, sortList, mapping), skip, limit);
+	}
+	
+	/**
+	 * Determines the natural sort order of the named view from its sorted columns.
+	 * 
+	 * @param viewName the name or alias of the view
+	 * @return a {@link List} of {@link Sort}s matching the view's sorted columns,
+	 *         which may be empty
+	 */
+	private List<Sort> getViewSorts(String viewName) {
+		// Shards are expected to share a design
+		try(Stream<ViewInfo> views = primary().getViewInfo()) {
+			return views
+				.filter(view -> viewName.equalsIgnoreCase(view.getTitle()) || view.getAliases().stream().anyMatch(viewName::equalsIgnoreCase))
+				.findFirst()
+				.map(view -> view.getColumnInfo().stream()
+					.filter(col -> col.getSortOrder() != ViewColumnInfo.SortOrder.NONE)
+					.map(col -> col.getSortOrder() == ViewColumnInfo.SortOrder.DESCENDING ? Sort.desc(col.getProgrammaticName()) : Sort.asc(col.getProgrammaticName()))
+					.collect(Collectors.toList())
+				)
+				.orElseGet(ArrayList::new);
+		}
+	}
+	
+	private static Pagination toShardPagination(Pagination pagination) {
+		if(pagination == null || pagination.getLimit() <= 0) {
+			return null;
+		}
+		return Pagination.page(1).size(pagination.getSkip() + pagination.getLimit());
+	}
+	
+	private static Stream<DocumentEntity> page(Iterator<DocumentEntity> merged, long skip, long limit) {
+		List<DocumentEntity> result = new ArrayList<>();
+		long index = 0;
+		while(merged.hasNext()) {
+			DocumentEntity entity = merged.next();
+			if(index++ < skip) {
+				continue;
+			}
+			result.add(entity);
+			if(limit > 0 && result.size() >= limit) {
+				break;
+			}
+		}
+		return result.stream();
+	}
+	
+	/**
+	 * Performs a k-way merge of the individually-sorted shard results.
+	 * 
+	 * @param shardResults the results from each shard, each in sort order
+	 * @param sorts the sorts used by the query, if any
+	 * @param mapping the {@link ClassMapping} for the entity, if available
+	 * @return an {@link Iterator} of merged results
+	 */
+	private static Iterator<DocumentEntity> merge(List<List<DocumentEntity>> shardResults, List<Sort> sorts, ClassMapping mapping) {
+		if(sorts == null || sorts.isEmpty()) {
+			// No order to respect, so provide shard results in sequence
+			return shardResults.stream().flatMap(List::stream).iterator();
+		}
+		
+		Comparator<DocumentEntity> comparator = entityComparator(sorts, mapping);
+		PriorityQueue<ShardCursor> queue = new PriorityQueue<>(Math.max(1, shardResults.size()), (a, b) -> {
+			int result = comparator.compare(a.current, b.current);
+			// Fall back to shard order to keep the merge stable
+			return result != 0 ? result : Integer.compare(a.shard, b.shard);
+		});
+		for(int i = 0; i < shardResults.size(); i++) {
+			Iterator<DocumentEntity> iter = shardResults.get(i).iterator();
+			if(iter.hasNext()) {
+				queue.add(new ShardCursor(i, iter));
+			}
+		}
+		
+		return new Iterator<DocumentEntity>() {
+			@Override
+			public boolean hasNext() {
+				return !queue.isEmpty();
+			}
+			
+			@Override
+			public DocumentEntity next() {
+				ShardCursor cursor = queue.poll();
+				DocumentEntity result = cursor.current;
+				if(cursor.advance()) {
+					queue.add(cursor);
+				}
+				return result;
+			}
+		};
+	}
+	
+	private static Comparator<DocumentEntity> entityComparator(List<Sort> sorts, ClassMapping mapping) {
+		// Primary strength ignores case and accents, like the default for sorted columns
+		Collator collator = Collator.getInstance();
+		collator.setStrength(Collator.PRIMARY);
+		
+		Comparator<DocumentEntity> result = null;
+		for(Sort sort : sorts) {
+			String itemName = mapping == null ? sort.getName() : EntityUtil.findItemName(sort.getName(), mapping);
+			Comparator<DocumentEntity> comparator = (a, b) -> compareValues(collator, findValue(a, sort.getName(), itemName), findValue(b, sort.getName(), itemName));
+			if(sort.getType() == SortType.DESC) {
+				comparator = comparator.reversed();
+			}
+			result = result == null ? comparator : result.thenComparing(comparator);
+		}
+		return result;
+	}
+	
+	private static Object findValue(DocumentEntity entity, String fieldName, String itemName) {
+		Optional<Document> doc = entity.find(itemName);
+		if(!doc.isPresent() && !fieldName.equals(itemName)) {
+			doc = entity.find(fieldName);
+		}
+		Object value = doc.map(Document::get).orElse(null);
+		if(value instanceof List) {
+			List<?> list = (List<?>)value;
+			return list.isEmpty() ? null : list.get(0);
+		}
+		return value;
+	}
+	
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static int compareValues(Collator collator, Object a, Object b) {
+		if(a == b) {
+			return 0;
+		} else if(a == null) {
+			return -1;
+		} else if(b == null) {
+			return 1;
+		}
+		
+		int typeResult = Integer.compare(typeRank(a), typeRank(b));
+		if(typeResult != 0) {
+			return typeResult;
+		}
+		
+		if(a instanceof Number && b instanceof Number) {
+			return Double.compare(((Number)a).doubleValue(), ((Number)b).doubleValue());
+		} else if(a instanceof TemporalAccessor && b instanceof TemporalAccessor && !a.getClass().equals(b.getClass())) {
+			TemporalAccessor ta = (TemporalAccessor)a;
+			TemporalAccessor tb = (TemporalAccessor)b;
+			if(ta.isSupported(ChronoField.INSTANT_SECONDS) && tb.isSupported(ChronoField.INSTANT_SECONDS)) {
+				return Instant.from(ta).compareTo(Instant.from(tb));
+			} else if(ta.isSupported(ChronoField.EPOCH_DAY) && tb.isSupported(ChronoField.EPOCH_DAY)) {
+				return Long.compare(ta.getLong(ChronoField.EPOCH_DAY), tb.getLong(ChronoField.EPOCH_DAY));
+			}
+		} else if(a instanceof Comparable && a.getClass().isInstance(b) && !(a instanceof String)) {
+			return ((Comparable)a).compareTo(b);
+		}
+		return collator.compare(String.valueOf(a), String.valueOf(b));
+	}
+	
+	/**
+	 * Groups values by type so that mixed-type columns merge consistently, with
+	 * numbers before date/time values and date/time values before text.
+	 */
+	private static int typeRank(Object value) {
+		if(value instanceof Number) {
+			return 0;
+		} else if(value instanceof TemporalAccessor || value instanceof Date) {
+			return 1;
+		} else {
+			return 2;
+		}
+	}
+	
+	private static class ShardCursor {
+		private final int shard;
+		private final Iterator<DocumentEntity> iter;
+		private DocumentEntity current;
+		
+		public ShardCursor(int shard, Iterator<DocumentEntity> iter) {
+			this.shard = shard;
+			this.iter = iter;
+			this.current = iter.next();
+		}
+		
+		public boolean advance() {
+			if(iter.hasNext()) {
+				this.current = iter.next();
+				return true;
+			}
+			return false;
+		}
+	}
+	
+	/**
+	 * Wraps a {@link DocumentQuery} to read from the start of each shard, since
+	 * skipping can only be applied after merging.
+	 */
+	private static class ShardDocumentQuery implements DocumentQuery {
+		private final DocumentQuery delegate;
+		private final long limit;
+		
+		public ShardDocumentQuery(DocumentQuery delegate, long limit) {
+			this.delegate = delegate;
+			this.limit = limit;
+		}
+
+		@Override
+		public long getLimit() {
+			return limit;
+		}
+
+		@Override
+		public long getSkip() {
+			return 0;
+		}
+
+		@Override
+		public String getDocumentCollection() {
+			return delegate.getDocumentCollection();
+		}
+
+		@Override
+		public Optional<DocumentCondition> getCondition() {
+			return delegate.getCondition();
+		}
+
+		@Override
+		public List<Sort> getSorts() {
+			return delegate.getSorts();
+		}
+
+		@Override
+		public List<String> getDocuments() {
+			return delegate.getDocuments();
+		}
+	}
+	
+	private static class ShardDocumentDeleteQuery implements DocumentDeleteQuery {
+		private final DocumentDeleteQuery delegate;
+		private final List<String> documents;
+		
+		public ShardDocumentDeleteQuery(DocumentDeleteQuery delegate, List<String> documents) {
+			this.delegate = delegate;
+			this.documents = documents;
+		}
+
+		@Override
+		public String getDocumentCollection() {
+			return delegate.getDocumentCollection();
+		}
+
+		@Override
+		public Optional<DocumentCondition> getCondition() {
+			return delegate.getCondition();
+		}
+
+		@Override
+		public List<String> getDocuments() {
+			return documents;
+		}
+	}
+}
@@ -18,13 +18,10 @@ package org.openntf.xsp.nosql.communication.driver.lsxbe.impl;
 
 import static java.util.Objects.requireNonNull;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -35,7 +32,9 @@ import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -50,13 +49,15 @@ import java.util.stream.Stream;
 
 import org.eclipse.jnosql.communication.driver.attachment.EntityAttachment;
 import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.FieldMapping;
 import org.openntf.xsp.nosql.communication.driver.DominoConstants;
 import org.openntf.xsp.nosql.communication.driver.impl.AbstractEntityConverter;
+import org.openntf.xsp.nosql.communication.driver.impl.EntityReadPlan;
 import org.openntf.xsp.nosql.communication.driver.impl.EntityUtil;
 import org.openntf.xsp.nosql.communication.driver.lsxbe.DatabaseSupplier;
 import org.openntf.xsp.nosql.communication.driver.lsxbe.util.DocumentCollectionIterator;
 import org.openntf.xsp.nosql.communication.driver.lsxbe.util.DominoNoSQLUtil;
-import org.openntf.xsp.nosql.communication.driver.lsxbe.util.LoaderObjectInputStream;
+import org.openntf.xsp.nosql.communication.driver.lsxbe.util.MIMEBeanCodec;
 import org.openntf.xsp.nosql.communication.driver.lsxbe.util.ViewEntryCollectionIterator;
 import org.openntf.xsp.nosql.communication.driver.lsxbe.util.ViewNavigatorIterator;
 import org.openntf.xsp.nosql.mapping.extension.DXLExport;
@@ -79,12 +80,10 @@ import lotus.domino.DxlExporter;
 import lotus.domino.EmbeddedObject;
 import lotus.domino.Item;
 import lotus.domino.MIMEEntity;
-import lotus.domino.MIMEHeader;
 import lotus.domino.NotesException;
 import lotus.domino.RichTextItem;
 import lotus.domino.Session;
 import lotus.domino.View;
-import lotus.domino.ViewColumn;
 import lotus.domino.ViewEntry;
 import lotus.domino.ViewEntryCollection;
 import lotus.domino.ViewNavigator;
@@ -99,6 +98,7 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 	
 	private final DatabaseSupplier databaseSupplier;
 	private final Jsonb jsonb;
+	private volatile List<ValueWriter<Object, Object>> valueWriters;
 	
 	public LSXBEEntityConverter(DatabaseSupplier databaseSupplier) {
 		this.databaseSupplier = databaseSupplier;
@@ -115,10 +115,40 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 	 * @throws NotesException if there is a problem reading the view or documents
 	 */
 	public Stream<DocumentEntity> convertQRPViewDocuments(Database database, View docs, ClassMapping classMapping) throws NotesException {
+		return convertQRPViewDocuments(database, docs, classMapping, 0, 0);
+	}
+
+	/**
+	 * Converts the provided QRP view to NoSQL document entities, restricted to the
+	 * provided window of documents.
+	 * 
+	 * <p>Since entries whose documents have since been deleted or are otherwise
+	 * invalid are left out of the result, {@code skip} counts valid documents only.
+	 * Documents before the window are opened to check their validity, but are not
+	 * converted.</p>
+	 * 
+	 * @param database the database containing the actual documents
+	 * @param docs the QRP generated view
+	 * @param classMapping the {@link ClassMapping} instance for the target entity; may be {@code null}
+	 * @param skip the number of entries to skip
+	 * @param limit the maximum number of entries to read, or {@code 0} to read all entries
+	 * @return a {@link Stream} of NoSQL {@link DocumentEntity} objects
+	 * @throws NotesException if there is a problem reading the view or documents
+	 * @since 2.15.0
+	 */
+	public Stream<DocumentEntity> convertQRPViewDocuments(Database database, View docs, ClassMapping classMapping, int skip, long limit) throws NotesException {
 		ViewNavigator nav = docs.createViewNav();
+		if(limit > 0) {
+			nav.setBufferMaxEntries((int)Math.min(400, skip + limit));
+		} else {
+			nav.setBufferMaxEntries(400);
+		}
 		ViewNavigatorIterator iter = new ViewNavigatorIterator(nav, false, false, false);
 		Map<String, Class<?>> itemTypes = EntityUtil.getItemTypes(classMapping);
-		return iter.stream()
+		// Entries can't be skipped in the navigator, since invalid documents must not count
+		//   towards the skipped total
+		int[] toSkip = new int[] { skip };
+		Stream<DocumentEntity> result = iter.stream()
 			.map(entry -> {
 				try {
 					Vector<?> columnValues = entry.getColumnValues();
@@ -127,6 +157,11 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 						String noteId = (String)columnValues.get(columnValues.size()-1);
 						lotus.domino.Document doc = database.getDocumentByID(noteId.substring(2));
 						if(DominoNoSQLUtil.isValid(doc)) {
+							if(toSkip[0] > 0) {
+								toSkip[0]--;
+								doc.recycle();
+								return null;
+							}
 							List<Document> documents = convertDominoDocument(doc, classMapping, itemTypes);
 							String name = doc.getItemValueString(DominoConstants.FIELD_NAME);
 							return DocumentEntity.of(name, documents);
@@ -141,8 +176,125 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 				}
 			})
 			.filter(Objects::nonNull);
+		if(limit > 0) {
+			result = result.limit(limit);
+		}
+		return result;
+	}
+
+	/**
+	 * Determines the items of the provided entity that can be read directly from the columns
+	 * of a QRP view rather than by opening each document.
+	 * 
+	 * <p>This is only possible when every mapped property is a scalar value with default
+	 * storage. If any property is a system field, a multi-value or embedded type, or uses
+	 * special storage, this method returns an empty value and callers should fall back to
+	 * reading the documents.</p>
+	 * 
+	 * @param classMapping the {@link ClassMapping} instance for the target entity; may be {@code null}
+	 * @return an {@link Optional} describing the item names to project, or an empty one if
+	 *         the entity cannot be projected
+	 * @since 2.15.0
+	 */
+	public Optional<List<String>> getProjectableItems(ClassMapping classMapping) {
+		if(classMapping == null) {
+			return Optional.empty();
+		}
+		List<String> result = new ArrayList<>();
+		for(FieldMapping field : classMapping.getFields()) {
+			String itemName = field.getName();
+			if(DominoConstants.FIELD_ID.equals(itemName)) {
+				continue;
+			}
+			if(itemName.startsWith("@") || itemName.startsWith("$")) { //$NON-NLS-1$ //$NON-NLS-2$
+				return Optional.empty();
+			}
+			Optional<ItemStorage> optStorage = getFieldAnnotation(classMapping, itemName, ItemStorage.class);
+			if(optStorage.isPresent() && optStorage.get().type() != ItemStorage.Type.Default) {
+				return Optional.empty();
+			}
+			if(!isProjectableType(field.getNativeField().getType())) {
+				return Optional.empty();
+			}
+			result.add(itemName);
+		}
+		return Optional.of(result);
 	}
 	
+	/**
+	 * Converts the provided QRP view to NoSQL document entities using only the values of
+	 * its columns, without opening the underlying documents.
+	 * 
+	 * @param database the database containing the actual documents
+	 * @param docs the QRP generated view
+	 * @param entityName the name of the target entity
+	 * @param columnNames the programmatic names of the columns added to the QRP, in order
+	 * @param projectedItems the entity items to read from the columns, as returned by
+	 *        {@link #getProjectableItems(ClassMapping)}
+	 * @param unidColumn the name of the column containing the document UNID
+	 * @param classMapping the {@link ClassMapping} instance for the target entity
+	 * @param skip the number of entries to skip
+	 * @param limit the maximum number of entries to read, or {@code 0} to read all entries
+	 * @return a {@link Stream} of NoSQL {@link DocumentEntity} objects
+	 * @throws NotesException if there is a problem reading the view
+	 * @since 2.15.0
+	 */
+	public Stream<DocumentEntity> convertQRPViewProjection(Database database, View docs, String entityName, List<String> columnNames, Collection<String> projectedItems, String unidColumn, ClassMapping classMapping, int skip, long limit) throws NotesException {
+		ViewNavigator nav = docs.createViewNav();
+		nav.setEntryOptions(ViewNavigator.VN_ENTRYOPT_NOCOUNTDATA);
+		if(limit > 0) {
+			nav.setBufferMaxEntries((int)Math.min(400, limit));
+		} else {
+			nav.setBufferMaxEntries(400);
+		}
+		if(skip > 0) {
+			nav.skip(skip-1);
+		}
+		
+		int unidIndex = indexOfIgnoreCase(columnNames, unidColumn);
+		Map<String, Integer> itemIndexes = new LinkedHashMap<>();
+		for(String itemName : projectedItems) {
+			int index = indexOfIgnoreCase(columnNames, itemName);
+			if(index > -1) {
+				itemIndexes.put(itemName, index);
+			}
+		}
+		Map<String, Class<?>> itemTypes = EntityUtil.getItemTypes(classMapping);
+		
+		ViewNavigatorIterator iter = new ViewNavigatorIterator(nav, false, skip > 0, false);
+		Stream<DocumentEntity> result = iter.stream()
+			.map(entry -> {
+				try {
+					Vector<?> columnValues = entry.getColumnValues();
+					try {
+						List<Document> documents = new ArrayList<>(itemIndexes.size()+1);
+						documents.add(Document.of(DominoConstants.FIELD_ID, columnValues.get(unidIndex)));
+						for(Map.Entry<String, Integer> itemIndex : itemIndexes.entrySet()) {
+							String itemName = itemIndex.getKey();
+							Object value = columnValues.get(itemIndex.getValue());
+							if(value == null || "".equals(value)) { //$NON-NLS-1$
+								// Strip empty strings, since JNoSQL would otherwise try to parse them
+								//   for non-string types
+								if(isParsedType(itemTypes.get(itemName)) || value == null) {
+									continue;
+								}
+							}
+							documents.add(Document.of(itemName, DominoNoSQLUtil.toJavaFriendly(database, value)));
+						}
+						return DocumentEntity.of(entityName, documents);
+					} finally {
+						entry.recycle(columnValues);
+					}
+				} catch(NotesException e) {
+					throw new RuntimeException(e);
+				}
+			});
+		if(limit > 0) {
+			result = result.limit(limit);
+		}
+		return result;
+	}
+
 	/**
 	 * Converts the entries in the provided {@link ViewNavigator} into NoSQL document entities
 	 * based on their column values.
@@ -162,24 +314,11 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 		
 		// Read in the column names
 		View view = nav.getParentView();
-		@SuppressWarnings("unchecked")
-		Vector<ViewColumn> columns = view.getColumns();
-		List<String> columnNames = new ArrayList<>();
-		List<String> columnFormulas = new ArrayList<>();
-		for(ViewColumn col : columns) {
-			if(col.getColumnValuesIndex() != ViewColumn.VC_NOT_PRESENT) {
-				columnNames.add(col.getItemName());
-				columnFormulas.add(col.getFormula());
-			}
-		}
-		view.recycle(columns);
+		ViewMetadataCache.ColumnMetadata columns = ViewMetadataCache.getInstance().getColumns(view);
+		List<String> columnNames = columns.getItemNames();
+		List<String> columnFormulas = columns.getFormulas();
 		
-		Map<String, Class<?>> itemTypes = classMapping == null ? null : classMapping.getFields()
-			.stream()
-			.collect(Collectors.toMap(
-				f -> f.getName(),
-				f -> f.getNativeField().getType()
-			));
+		Map<String, Class<?>> itemTypes = EntityUtil.getItemTypes(classMapping);
 		
 		ViewNavigatorIterator iter = new ViewNavigatorIterator(nav, docsOnly, didSkip, didKey);
 		Stream<DocumentEntity> result = iter.stream()
@@ -216,24 +355,11 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 		View view = entries.getParent();
 		
 		// Read in the column names
-		@SuppressWarnings("unchecked")
-		Vector<ViewColumn> columns = view.getColumns();
-		List<String> columnNames = new ArrayList<>();
-		List<String> columnFormulas = new ArrayList<>();
-		for(ViewColumn col : columns) {
-			if(col.getColumnValuesIndex() != ViewColumn.VC_NOT_PRESENT) {
-				columnNames.add(col.getItemName());
-				columnFormulas.add(col.getFormula());
-			}
-		}
-		view.recycle(columns);
+		ViewMetadataCache.ColumnMetadata columns = ViewMetadataCache.getInstance().getColumns(view);
+		List<String> columnNames = columns.getItemNames();
+		List<String> columnFormulas = columns.getFormulas();
 		
-		Map<String, Class<?>> itemTypes = classMapping == null ? null : classMapping.getFields()
-			.stream()
-			.collect(Collectors.toMap(
-				f -> f.getName(),
-				f -> f.getNativeField().getType()
-			));
+		Map<String, Class<?>> itemTypes = EntityUtil.getItemTypes(classMapping);
 		
 		ViewEntryCollectionIterator iter = new ViewEntryCollectionIterator(entries, didSkip);
 		Stream<DocumentEntity> result = iter.stream()
@@ -350,7 +476,45 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 	 * @throws NotesException if there is a problem reading the documents
 	 */
 	public Stream<DocumentEntity> convertDocuments(DocumentCollection docs, ClassMapping classMapping) throws NotesException {
-		DocumentCollectionIterator iter = new DocumentCollectionIterator(docs);
+		return convertDocuments(docs, classMapping, 0, 0);
+	}
+
+	/**
+	 * Converts the documents in the provided {@link DocumentCollection} to NoSQL documents,
+	 * restricted to the provided window of the collection. Documents outside the window
+	 * are not opened.
+	 * 
+	 * @param docs the {@link DocumentCollection} to process
+	 * @param classMapping the {@link ClassMapping} instance for the target entity; may be {@code null}
+	 * @param skip the number of documents to skip
+	 * @param limit the maximum number of documents to read, or {@code 0} to read all documents
+	 * @return a {@link Stream} of NoSQL {@link DocumentEntity} objects
+	 * @throws NotesException if there is a problem reading the documents
+	 * @since 2.15.0
+	 */
+	public Stream<DocumentEntity> convertDocuments(DocumentCollection docs, ClassMapping classMapping, int skip, long limit) throws NotesException {
+		return convertDocuments(docs, classMapping, skip, limit, 1);
+	}
+
+	/**
+	 * Converts the documents in the provided {@link DocumentCollection} to NoSQL documents,
+	 * restricted to the provided window of the collection and recycling document handles
+	 * in groups.
+	 * 
+	 * <p>Closing the returned {@link Stream} recycles any outstanding handles and the
+	 * collection, even if the stream was not fully consumed.</p>
+	 * 
+	 * @param docs the {@link DocumentCollection} to process
+	 * @param classMapping the {@link ClassMapping} instance for the target entity; may be {@code null}
+	 * @param skip the number of documents to skip
+	 * @param limit the maximum number of documents to read, or {@code 0} to read all documents
+	 * @param recycleBatchSize the number of documents to read before recycling them as a group
+	 * @return a {@link Stream} of NoSQL {@link DocumentEntity} objects
+	 * @throws NotesException if there is a problem reading the documents
+	 * @since 2.15.0
+	 */
+	public Stream<DocumentEntity> convertDocuments(DocumentCollection docs, ClassMapping classMapping, int skip, long limit, int recycleBatchSize) throws NotesException {
+		DocumentCollectionIterator iter = new DocumentCollectionIterator(docs, skip, limit, recycleBatchSize);
 		Map<String, Class<?>> itemTypes = EntityUtil.getItemTypes(classMapping);
 		return iter.stream()
 			.filter(DominoNoSQLUtil::isValid)
@@ -378,17 +542,9 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 			throw new RuntimeException("Unable to locate parent view from " + viewEntry);
 		}
 		
-		@SuppressWarnings("unchecked")
-		Vector<ViewColumn> columns = view.getColumns();
-		List<String> columnNames = new ArrayList<>();
-		List<String> columnFormulas = new ArrayList<>();
-		for(ViewColumn col : columns) {
-			if(col.getColumnValuesIndex() != ViewColumn.VC_NOT_PRESENT) {
-				columnNames.add(col.getItemName());
-				columnFormulas.add(col.getFormula());
-			}
-		}
-		view.recycle(columns);
+		ViewMetadataCache.ColumnMetadata columns = ViewMetadataCache.getInstance().getColumns(view);
+		List<String> columnNames = columns.getItemNames();
+		List<String> columnFormulas = columns.getFormulas();
 		
 		Map<String, Class<?>> itemTypes = EntityUtil.getItemTypes(classMapping);
 		
@@ -555,10 +711,8 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 
 	@SuppressWarnings("unchecked")
 	public List<Document> convertDominoDocument(lotus.domino.Document doc, ClassMapping classMapping, Map<String, Class<?>> itemTypes) throws NotesException {
-		Set<String> fieldNames = classMapping == null ? null : classMapping.getFieldsName()
-			.stream()
-			.filter(s -> !DominoConstants.FIELD_ID.equals(s))
-			.collect(Collectors.toSet());
+		EntityReadPlan readPlan = EntityUtil.getReadPlan(classMapping);
+		Set<String> fieldNames = readPlan == null ? null : readPlan.getFieldNames();
 
 		Database database = doc.getParentDatabase();
 		Session session = database.getParent();
@@ -570,106 +724,28 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 			String unid = doc.getUniversalID();
 			result.add(Document.of(DominoConstants.FIELD_ID, unid));
 			
-			// TODO when fieldNames is present, only loop over those names
 			Map<String, Object> docMap = new LinkedHashMap<>();
-			for(Item item : (List<Item>)doc.getItems()) {
-				String itemName = item.getName();
-				if(DominoConstants.SYSTEM_FIELDS.contains(itemName)) {
-					continue;
-				}
-				
-				// If we have field information, restrict to only those fields
-				//   and match capitalization
-				if(fieldNames != null) {
-					String fItemName = itemName;
-					itemName = fieldNames.stream()
-						.filter(fieldName -> fieldName.equalsIgnoreCase(fItemName))
-						.findFirst()
-						.orElse(null);
-					if(itemName == null) {
+			if(readPlan != null) {
+				// When we have field information, read only the mapped items directly
+				//   and use the mapping's capitalization
+				for(String itemName : readPlan.getItemNames()) {
+					Item item = doc.getFirstItem(itemName);
+					if(item == null) {
 						continue;
 					}
-				}
-				
-				// Check if the item is expected to be stored specially, which may be handled down the line
-				Optional<ItemStorage> optStorage = getFieldAnnotation(classMapping, itemName, ItemStorage.class);
-				
-				if(item instanceof RichTextItem) {
-					// Special handling here for RT -> HTML
-					String html = ((RichTextItem)item).convertToHTML(DominoConstants.HTML_CONVERSION_OPTIONS);
-					docMap.put(itemName, html);
-				} else if(item.getType() == Item.MIME_PART) {
-					MIMEEntity entity = doc.getMIMEEntity(itemName);
-					
-					// See if this is expected to be MIMEBean
-					if(optStorage.isPresent() && optStorage.get().type() == ItemStorage.Type.MIMEBean) {
-						// If so, deserialize it
-
-						byte[] serialized;
-						lotus.domino.Stream outStream = session.createStream();
-						try {
-							entity.getContentAsBytes(outStream);
-							try(ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-								outStream.getContents(baos);
-								serialized = baos.toByteArray();
-							} catch (IOException e) {
-								throw new UncheckedIOException(e);
-							}
-						} finally {
-							outStream.close();
-							outStream.recycle();
-						}
-						
-						String encoding = null;
-						MIMEHeader encodingHeader = entity.getNthHeader("Content-Encoding"); //$NON-NLS-1$
-						if(encodingHeader != null) {
-							encoding = encodingHeader.getHeaderVal();
-						}
-						
-						try(
-							InputStream bais = new ByteArrayInputStream(serialized);
-							InputStream is = DominoNoSQLUtil.wrapInputStream(bais, encoding);
-							ObjectInputStream ois = new LoaderObjectInputStream(is)
-						) {
-							docMap.put(itemName, ois.readObject());
-							continue;
-						} catch (IOException e) {
-							throw new UncheckedIOException(e);
-						} catch (ClassNotFoundException e) {
-							throw new RuntimeException(e);
-						}
-					}
-					
-					// TODO consider whether to pass this back as a Mail API MIME entity
-					MIMEEntity html = findEntityForType(entity, "text", "html"); //$NON-NLS-1$ //$NON-NLS-2$
-					if(html != null) {
-						docMap.put(itemName, html.getContentAsText());
-					} else {
-						MIMEEntity text = findEntityForType(entity, "text", "plain"); //$NON-NLS-1$ //$NON-NLS-2$
-						if(text != null) {
-							docMap.put(itemName, text.getContentAsText());
-						} else {
-							docMap.put(itemName, entity.toString());
-						}
+					try {
+						readItem(doc, item, itemName, Optional.ofNullable(readPlan.getStorage().get(itemName)), classMapping, docMap);
+					} finally {
+						item.recycle();
 					}
-				} else {
-					List<?> val = item.getValues();
-					if(val == null || val.isEmpty()) {
-						// Skip
-					} else if(val.size() == 1) {
-						// It may be stored as JSON
-						if(val.get(0) != null && !"".equals(val.get(0))) { //$NON-NLS-1$
-							Optional<Object> jsonConverted = maybeConvertJson(val.get(0), optStorage, itemName, classMapping);
-							if(jsonConverted.isPresent()) {
-								docMap.put(itemName,  jsonConverted.get());
-								continue;
-							}
-						}
-						
-						docMap.put(itemName, DominoNoSQLUtil.toJavaFriendly(database, val.get(0)));
-					} else {
-						docMap.put(itemName, DominoNoSQLUtil.toJavaFriendly(database, val));
+				}
+			} else {
+				for(Item item : (List<Item>)doc.getItems()) {
+					String itemName = item.getName();
+					if(DominoConstants.SYSTEM_FIELDS.contains(itemName)) {
+						continue;
 					}
+					readItem(doc, item, itemName, Optional.empty(), classMapping, docMap);
 				}
 			}
 			
@@ -736,18 +812,15 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 				}
 				
 				if(fieldNames.contains(DominoConstants.FIELD_ATTACHMENTS)) {
-					List<String> attachmentNames = session.evaluate(" @AttachmentNames ", doc); //$NON-NLS-1$
-					List<EntityAttachment> attachments = attachmentNames.stream()
-						.filter(StringUtil::isNotEmpty)
-						.map(attachmentName -> new DominoDocumentAttachment(this.databaseSupplier, unid, attachmentName))
-						.collect(Collectors.toList());
+					// Read attachment metadata now, while the document is open
+					List<EntityAttachment> attachments = DominoDocumentAttachment.readAttachments(this.databaseSupplier, doc);
 					result.add(Document.of(DominoConstants.FIELD_ATTACHMENTS, attachments));
 				}
 				
 				if(fieldNames.contains(DominoConstants.FIELD_DXL)) {
 					DxlExporter exporter = session.createDxlExporter();
 					
-					Optional<DXLExport> optSettings = getFieldAnnotation(classMapping, DominoConstants.FIELD_DXL, DXLExport.class);
+					Optional<DXLExport> optSettings = Optional.ofNullable(readPlan.getDxlExport());
 					if(optSettings.isPresent()) {
 						DXLExport settings = optSettings.get();
 						
@@ -796,6 +869,69 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private List<ValueWriter<Object, Object>> getValueWriters() {
+		List<ValueWriter<Object, Object>> writers = this.valueWriters;
+		if(writers == null) {
+			writers = ServiceLoaderProvider.getSupplierStream(ValueWriter.class)
+				.map(w -> (ValueWriter<Object, Object>)w)
+				.collect(Collectors.toList());
+			this.valueWriters = writers;
+		}
+		return writers;
+	}
+	
+	private void readItem(lotus.domino.Document doc, Item item, String itemName, Optional<ItemStorage> optStorage, ClassMapping classMapping, Map<String, Object> docMap) throws NotesException {
+		Database database = doc.getParentDatabase();
+		
+		if(item instanceof RichTextItem) {
+			// Special handling here for RT -> HTML
+			String html = ((RichTextItem)item).convertToHTML(DominoConstants.HTML_CONVERSION_OPTIONS);
+			docMap.put(itemName, html);
+		} else if(item.getType() == Item.MIME_PART) {
+			MIMEEntity entity = doc.getMIMEEntity(itemName);
+			
+			// See if this is expected to be MIMEBean
+			if(optStorage.isPresent() && optStorage.get().type() == ItemStorage.Type.MIMEBean) {
+				// If so, deserialize it
+				Type fieldType = getFieldGenericType(classMapping, itemName).orElse(null);
+				docMap.put(itemName, MIMEBeanCodec.read(entity, fieldType, jsonb));
+				return;
+			}
+			
+			// TODO consider whether to pass this back as a Mail API MIME entity
+			MIMEEntity html = findEntityForType(entity, "text", "html"); //$NON-NLS-1$ //$NON-NLS-2$
+			if(html != null) {
+				docMap.put(itemName, html.getContentAsText());
+			} else {
+				MIMEEntity text = findEntityForType(entity, "text", "plain"); //$NON-NLS-1$ //$NON-NLS-2$
+				if(text != null) {
+					docMap.put(itemName, text.getContentAsText());
+				} else {
+					docMap.put(itemName, entity.toString());
+				}
+			}
+		} else {
+			List<?> val = item.getValues();
+			if(val == null || val.isEmpty()) {
+				// Skip
+			} else if(val.size() == 1) {
+				// It may be stored as JSON
+				if(val.get(0) != null && !"".equals(val.get(0))) { //$NON-NLS-1$
+					Optional<Object> jsonConverted = maybeConvertJson(val.get(0), optStorage, itemName, classMapping);
+					if(jsonConverted.isPresent()) {
+						docMap.put(itemName,  jsonConverted.get());
+						return;
+					}
+				}
+				
+				docMap.put(itemName, DominoNoSQLUtil.toJavaFriendly(database, val.get(0)));
+			} else {
+				docMap.put(itemName, DominoNoSQLUtil.toJavaFriendly(database, val));
+			}
+		}
+	}
+	
 	/**
 	 * Converts the provided {@link DocumentEntity} instance into a Domino
 	 * JSON object.
@@ -807,10 +943,7 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 	public void convertNoSQLEntity(DocumentEntity entity, boolean retainId, lotus.domino.Document target, ClassMapping classMapping) throws NotesException {
 		requireNonNull(entity, "entity is required"); //$NON-NLS-1$
 		try {
-			@SuppressWarnings("unchecked")
-			List<ValueWriter<Object, Object>> writers = ServiceLoaderProvider.getSupplierStream(ValueWriter.class)
-				.map(w -> (ValueWriter<Object, Object>)w)
-				.collect(Collectors.toList());
+			List<ValueWriter<Object, Object>> writers = getValueWriters();
 			
 			Set<String> writtenItems = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
 	
@@ -924,32 +1057,12 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 								}
 								continue;
 							}
-							case MIMEBean:
-								byte[] serialized;
-								try(
-									ByteArrayOutputStream baos = new ByteArrayOutputStream();
-									ObjectOutputStream oos = new ObjectOutputStream(baos);
-								) {
-									oos.writeObject(val);
-									oos.flush();
-									serialized = baos.toByteArray();
-								} catch(IOException e) {
-									throw new UncheckedIOException(e);
-								}
+							case MIMEBean: {
 								target.removeItem(doc.getName());
 								MIMEEntity mimeEntity = target.createMIMEEntity(doc.getName());
-								mimeEntity.createHeader(DominoConstants.HEADER_JAVA_CLASS).setHeaderVal(val.getClass().getName());
-								lotus.domino.Stream mimeStream = target.getParentDatabase().getParent().createStream();
-								try {
-									mimeStream.write(serialized);
-									mimeStream.setPosition(0);
-									mimeEntity.setContentFromBytes(mimeStream, DominoConstants.MIME_TYPE_SERIALIZED_OBJECT, MIMEEntity.ENC_NONE);
-								} finally {
-									mimeStream.close();
-									mimeStream.recycle();
-								}
-								
+								MIMEBeanCodec.write(target.getParentDatabase().getParent(), mimeEntity, val, storage.mimeBeanFormat(), jsonb);
 								continue;
+							}
 							case Default:
 							default:
 								// Shouldn't get here
@@ -1066,6 +1179,34 @@ public class LSXBEEntityConverter extends AbstractEntityConverter {
 		return false;
 	}
 	
+	/**
+	 * Determines whether the provided type can be populated from a single view column
+	 * value without any special handling.
+	 * 
+	 * @param type the type to check
+	 * @return whether the type is a scalar value suitable for column projection
+	 * @since 2.15.0
+	 */
+	private boolean isProjectableType(Class<?> type) {
+		if(type.isPrimitive() || type.isEnum()) {
+			return true;
+		}
+		return CharSequence.class.isAssignableFrom(type)
+			|| Number.class.isAssignableFrom(type)
+			|| Boolean.class.equals(type)
+			|| TemporalAccessor.class.isAssignableFrom(type)
+			|| Date.class.isAssignableFrom(type);
+	}
+	
+	private static int indexOfIgnoreCase(List<String> values, String value) {
+		for(int i = 0; i < values.size(); i++) {
+			if(values.get(i).equalsIgnoreCase(value)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
 	private Optional<Object> maybeConvertJson(Object value, Optional<ItemStorage> optStorage, String itemName, ClassMapping classMapping) {
 		if(optStorage.isPresent()) {
 			if(optStorage.get().type() == ItemStorage.Type.JSON) {
@@ -0,0 +1,471 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.communication.driver.lsxbe.impl;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openntf.xsp.nosql.communication.driver.DominoConstants;
+import org.openntf.xsp.nosql.communication.driver.lsxbe.util.DominoNoSQLUtil;
+
+import com.ibm.commons.util.StringUtil;
+
+import lotus.domino.Database;
+import lotus.domino.DateTime;
+import lotus.domino.Document;
+import lotus.domino.DocumentCollection;
+import lotus.domino.Item;
+import lotus.domino.NotesException;
+import lotus.domino.View;
+
+/**
+ * Manages the QueryResultsProcessor views generated for sorted DQL queries,
+ * allowing them to be reused across requests as long as no document that could
+ * affect their contents has changed.
+ *
+ * <p>Each cached view records the items it depends on: the items used in the
+ * DQL condition, the sort columns, and the form item. When the source database
+ * has been modified since the view was last validated, the documents modified
+ * since then are checked and the view is kept when none of them changed a
+ * dependent item. Note that the removal of an item from a document without any
+ * other change to a dependent item is not detectable this way.</p>
+ *
+ * <p>Deletions made through the NoSQL driver call {@link #invalidate(Database)},
+ * which marks every view for the source database as stale, since a deletion stub
+ * carries no record of the items the document used to contain.</p>
+ *
+ * <p>The number of views and the total entry count of views kept per QRP database
+ * are capped, with the least-recently-used views being removed first. These
+ * limits can be set via the {@value #PROP_MAXVIEWS} and {@value #PROP_MAXENTRIES}
+ * system properties.</p>
+ *
+ * <p>This class stores only metadata about the views and never retains Notes
+ * objects between calls. Lookup outcomes and running totals are logged at
+ * {@link Level#FINE}.</p>
+ *
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class QRPViewCache {
+	private static final Logger log = Logger.getLogger(QRPViewCache.class.getName());
+
+	/**
+	 * System property used to specify the maximum number of cached views per
+	 * QRP database, currently {@value #PROP_MAXVIEWS}
+	 */
+	public static final String PROP_MAXVIEWS = "org.openntf.xsp.nosql.qrp.maxViews"; //$NON-NLS-1$
+	/**
+	 * System property used to specify the maximum total number of entries across
+	 * cached views per QRP database, currently {@value #PROP_MAXENTRIES}
+	 */
+	public static final String PROP_MAXENTRIES = "org.openntf.xsp.nosql.qrp.maxEntries"; //$NON-NLS-1$
+	/**
+	 * System property used to specify the maximum number of modified documents
+	 * to inspect before giving up and rebuilding a view, currently {@value #PROP_MAXSCAN}
+	 */
+	public static final String PROP_MAXSCAN = "org.openntf.xsp.nosql.qrp.maxScan"; //$NON-NLS-1$
+
+	public static final int DEFAULT_MAXVIEWS = 100;
+	public static final long DEFAULT_MAXENTRIES = 1_000_000;
+	public static final int DEFAULT_MAXSCAN = 500;
+
+	private static final QRPViewCache INSTANCE = new QRPViewCache(
+		getIntProperty(PROP_MAXVIEWS, DEFAULT_MAXVIEWS),
+		getLongProperty(PROP_MAXENTRIES, DEFAULT_MAXENTRIES),
+		getIntProperty(PROP_MAXSCAN, DEFAULT_MAXSCAN)
+	);
+
+	public static QRPViewCache getInstance() {
+		return INSTANCE;
+	}
+
+	private final int maxViews;
+	private final long maxEntries;
+	private final int maxScan;
+	private final Map<String, Map<String, CachedView>> databases = new ConcurrentHashMap<>();
+	/** Maps source database keys to the file paths of their QRP databases */
+	private final Map<String, String> qrpPaths = new ConcurrentHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong rebuilds = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private final AtomicLong invalidations = new AtomicLong();
+
+	QRPViewCache(int maxViews, long maxEntries, int maxScan) {
+		this.maxViews = maxViews;
+		this.maxEntries = maxEntries;
+		this.maxScan = maxScan;
+	}
+
+	/**
+	 * Retrieves the named QRP view if it exists and is still valid for the current
+	 * state of the source database. Stale views are removed from the QRP database.
+	 *
+	 * @param qrpDatabase the database housing QRP views
+	 * @param database the source database for the query
+	 * @param viewName the name of the QRP view
+	 * @param formName the form name of the queried entity; may be {@code null}
+	 * @param dependentItems the names of the items the view's contents depend on
+	 * @return the valid {@link View}, or {@code null} if the view must be (re)built
+	 * @throws NotesException if there is a problem reading the views or databases
+	 */
+	public View getView(Database qrpDatabase, Database database, String viewName, String formName, Collection<String> dependentItems) throws NotesException {
+		Map<String, CachedView> views = getViews(qrpDatabase);
+		qrpPaths.put(getSourceKey(database), qrpDatabase.getFilePath());
+		CachedView cached;
+		synchronized(views) {
+			cached = views.get(viewName);
+		}
+
+		View view = qrpDatabase.getView(viewName);
+		if(view == null) {
+			if(cached != null) {
+				// Expired or removed externally
+				synchronized(views) {
+					views.remove(viewName);
+				}
+			}
+			misses.incrementAndGet();
+			logLookup("miss", viewName); //$NON-NLS-1$
+			return null;
+		}
+
+		long dataMod = DominoNoSQLUtil.getLastDataModified(database);
+		if(cached == null) {
+			// Likely created before a restart - fall back to a creation time check
+			DateTime created = view.getCreated();
+			long createdMillis;
+			try {
+				createdMillis = created.toJavaDate().getTime();
+			} finally {
+				created.recycle();
+			}
+			if(!isCheckpointCurrent(createdMillis, dataMod)) {
+				removeView(view);
+				rebuilds.incrementAndGet();
+				logLookup("rebuild", viewName); //$NON-NLS-1$
+				return null;
+			}
+			cached = new CachedView(formName, dependentItems, createdMillis, view.getEntryCount());
+			registerView(qrpDatabase, viewName, cached);
+			hits.incrementAndGet();
+			logLookup("hit", viewName); //$NON-NLS-1$
+			return view;
+		}
+
+		if(!cached.invalidated) {
+			if(isCheckpointCurrent(cached.checkpoint, dataMod)) {
+				hits.incrementAndGet();
+				logLookup("hit", viewName); //$NON-NLS-1$
+				return view;
+			}
+
+			long newCheckpoint = findUnaffectedCheckpoint(database, cached);
+			if(newCheckpoint > 0) {
+				cached.checkpoint = newCheckpoint;
+				hits.incrementAndGet();
+				logLookup("hit", viewName); //$NON-NLS-1$
+				return view;
+			}
+		}
+
+		synchronized(views) {
+			views.remove(viewName);
+		}
+		removeView(view);
+		rebuilds.incrementAndGet();
+		logLookup("rebuild", viewName); //$NON-NLS-1$
+		return null;
+	}
+
+	/**
+	 * Records a newly-built QRP view in the cache, removing least-recently-used
+	 * views from the QRP database as needed to stay within the configured limits.
+	 *
+	 * @param qrpDatabase the database housing QRP views
+	 * @param view the newly-built view
+	 * @param formName the form name of the queried entity; may be {@code null}
+	 * @param dependentItems the names of the items the view's contents depend on
+	 * @param checkpoint the time, in milliseconds since the epoch, of the data
+	 *        state reflected in the view
+	 * @throws NotesException if there is a problem reading the view or removing
+	 *         evicted views
+	 */
+	public void putView(Database qrpDatabase, View view, String formName, Collection<String> dependentItems, long checkpoint) throws NotesException {
+		CachedView cached = new CachedView(formName, dependentItems, checkpoint, view.getEntryCount());
+		List<String> evicted = registerView(qrpDatabase, view.getName(), cached);
+		for(String evictedName : evicted) {
+			View evictedView = qrpDatabase.getView(evictedName);
+			if(evictedView != null) {
+				removeView(evictedView);
+			}
+			evictions.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Marks all cached views built from the provided source database as stale,
+	 * causing them to be rebuilt on their next use. This is called after
+	 * documents are deleted, as a deletion can't be attributed to the items a
+	 * view depends on.
+	 *
+	 * @param database the source database whose documents were deleted
+	 * @throws NotesException if there is a problem reading the database path
+	 */
+	public void invalidate(Database database) throws NotesException {
+		String qrpPath = qrpPaths.get(getSourceKey(database));
+		if(qrpPath == null) {
+			// No sorted queries have been run against this database
+			return;
+		}
+		Map<String, CachedView> views = databases.get(qrpPath);
+		if(views == null) {
+			return;
+		}
+		int count;
+		synchronized(views) {
+			views.values().forEach(v -> v.invalidated = true);
+			count = views.size();
+		}
+		invalidations.incrementAndGet();
+		if(log.isLoggable(Level.FINE)) {
+			log.fine(String.format("Invalidated %d QRP views in %s", count, qrpPath)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @return the number of lookups that were served by an existing view
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of lookups for which no view existed
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the number of lookups for which an existing view was stale and removed
+	 */
+	public long getRebuilds() {
+		return rebuilds.get();
+	}
+
+	/**
+	 * @return the number of views removed to stay within the configured limits
+	 */
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	/**
+	 * @return the number of times cached views were invalidated due to deletions
+	 */
+	public long getInvalidations() {
+		return invalidations.get();
+	}
+
+	// *******************************************************************************
+	// * Internal implementation utilities
+	// *******************************************************************************
+
+	private static String getSourceKey(Database database) throws NotesException {
+		return database.getServer() + "!!" + database.getFilePath(); //$NON-NLS-1$
+	}
+
+	private void logLookup(String outcome, String viewName) {
+		if(log.isLoggable(Level.FINE)) {
+			log.fine(String.format("QRP view cache %s for %s: hits=%d, misses=%d, rebuilds=%d, evictions=%d, invalidations=%d", //$NON-NLS-1$
+				outcome, viewName, hits.get(), misses.get(), rebuilds.get(), evictions.get(), invalidations.get()));
+		}
+	}
+
+	private Map<String, CachedView> getViews(Database qrpDatabase) throws NotesException {
+		return databases.computeIfAbsent(qrpDatabase.getFilePath(), key -> new LinkedHashMap<>(16, 0.75f, true));
+	}
+
+	private List<String> registerView(Database qrpDatabase, String viewName, CachedView cached) throws NotesException {
+		Map<String, CachedView> views = getViews(qrpDatabase);
+		synchronized(views) {
+			views.put(viewName, cached);
+
+			long totalEntries = 0;
+			for(CachedView v : views.values()) {
+				totalEntries += v.entryCount;
+			}
+
+			List<String> evicted = new ArrayList<>();
+			Iterator<Map.Entry<String, CachedView>> iter = views.entrySet().iterator();
+			while((views.size() > maxViews || totalEntries > maxEntries) && views.size() > 1 && iter.hasNext()) {
+				Map.Entry<String, CachedView> eldest = iter.next();
+				if(eldest.getValue() == cached) {
+					continue;
+				}
+				totalEntries -= eldest.getValue().entryCount;
+				evicted.add(eldest.getKey());
+				iter.remove();
+			}
+			return evicted;
+		}
+	}
+
+	/**
+	 * Inspects the documents modified since the cached view's checkpoint to determine
+	 * whether any of them could affect the view.
+	 *
+	 * @return the new checkpoint time if no modified document affects the view, or
+	 *         {@code 0} if the view must be rebuilt
+	 */
+	private long findUnaffectedCheckpoint(Database database, CachedView cached) throws NotesException {
+		if(cached.dependsOnFormulas) {
+			return 0;
+		}
+
+		DateTime since = database.getParent().createDateTime(new Date(cached.checkpoint));
+		DocumentCollection modified = database.getModifiedDocuments(since, Database.DBMOD_DOC_DATA);
+		try {
+			if(modified.getCount() > maxScan) {
+				return 0;
+			}
+
+			Document doc = modified.getFirstDocument();
+			while(doc != null) {
+				try {
+					if(affectsView(doc, cached)) {
+						return 0;
+					}
+				} finally {
+					Document next = modified.getNextDocument(doc);
+					doc.recycle();
+					doc = next;
+				}
+			}
+
+			DateTime until = modified.getUntilTime();
+			try {
+				return until.toJavaDate().getTime();
+			} finally {
+				until.recycle();
+			}
+		} finally {
+			since.recycle();
+			modified.recycle();
+		}
+	}
+
+	/**
+	 * Determines whether a checkpoint is known to postdate the database's last
+	 * data modification. The modification time is truncated to the second, so the
+	 * checkpoint is only trusted when taken at least a second afterward; otherwise,
+	 * a same-second modification could have been missed.
+	 */
+	private static boolean isCheckpointCurrent(long checkpoint, long dataMod) {
+		return checkpoint - dataMod >= 1000;
+	}
+
+	private boolean affectsView(Document doc, CachedView cached) throws NotesException {
+		if(!doc.isValid() || doc.isDeleted()) {
+			// Deletion stubs don't tell us what they used to contain
+			return true;
+		}
+		for(String itemName : cached.dependentItems) {
+			Item item = doc.getFirstItem(itemName);
+			if(item != null) {
+				DateTime itemMod = item.getLastModified();
+				try {
+					// Item times are also truncated to the second
+					if(itemMod != null && itemMod.toJavaDate().getTime() + 1000 > cached.checkpoint) {
+						return true;
+					}
+				} finally {
+					if(itemMod != null) {
+						itemMod.recycle();
+					}
+					item.recycle();
+				}
+			}
+		}
+		return false;
+	}
+
+	private static void removeView(View view) {
+		try {
+			view.remove();
+			view.recycle();
+		} catch(NotesException e) {
+			if(log.isLoggable(Level.WARNING)) {
+				log.log(Level.WARNING, "Encountered exception removing QRP view", e);
+			}
+		}
+	}
+
+	private static int getIntProperty(String prop, int defaultValue) {
+		return (int)getLongProperty(prop, defaultValue);
+	}
+
+	private static long getLongProperty(String prop, long defaultValue) {
+		String value = AccessController.doPrivileged((PrivilegedAction<String>)() -> System.getProperty(prop));
+		if(StringUtil.isEmpty(value)) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch(NumberFormatException e) {
+			if(log.isLoggable(Level.WARNING)) {
+				log.warning(String.format("Unable to parse value for %s: %s", prop, value));
+			}
+			return defaultValue;
+		}
+	}
+
+	private static class CachedView {
+		private final Set<String> dependentItems;
+		private final boolean dependsOnFormulas;
+		private final long entryCount;
+		private volatile long checkpoint;
+		private volatile boolean invalidated;
+
+		public CachedView(String formName, Collection<String> dependentItems, long checkpoint, long entryCount) {
+			Set<String> items = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+			items.addAll(dependentItems);
+			if(StringUtil.isNotEmpty(formName)) {
+				items.add(DominoConstants.FIELD_NAME);
+			}
+			this.dependentItems = Collections.unmodifiableSet(items);
+			this.dependsOnFormulas = items.stream().anyMatch(name -> name.startsWith("@")); //$NON-NLS-1$
+			this.checkpoint = checkpoint;
+			this.entryCount = entryCount;
+		}
+	}
+}
@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.communication.driver.lsxbe.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openntf.xsp.nosql.communication.driver.ViewColumnInfo;
+import org.openntf.xsp.nosql.communication.driver.ViewInfo;
+import org.openntf.xsp.nosql.communication.driver.impl.ViewColumnInfoImpl;
+import org.openntf.xsp.nosql.communication.driver.impl.ViewInfoImpl;
+import org.openntf.xsp.nosql.communication.driver.lsxbe.util.DominoNoSQLUtil;
+
+import lotus.domino.Database;
+import lotus.domino.NotesException;
+import lotus.domino.View;
+import lotus.domino.ViewColumn;
+
+/**
+ * Caches design metadata about views per database, allowing repeated view queries
+ * and {@code getViewInfo()} calls to avoid walking the view and column design
+ * notes each time.
+ * 
+ * <p>Metadata is keyed on the database replica ID and view UNID and is discarded
+ * when the database's last non-data modification time changes. Since that time has
+ * a granularity of one second, metadata read within the same second as the last
+ * design modification is not cached.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class ViewMetadataCache {
+	/**
+	 * The maximum number of views or view lists retained per database before the cache
+	 * for that database is cleared
+	 */
+	public static final int MAX_ENTRIES = 1000;
+	
+	private static final ViewMetadataCache INSTANCE = new ViewMetadataCache();
+	
+	public static ViewMetadataCache getInstance() {
+		return INSTANCE;
+	}
+	
+	/**
+	 * Represents the columns of a view that are present in entry column values,
+	 * in column-value order.
+	 */
+	public static class ColumnMetadata {
+		private final List<String> itemNames;
+		private final List<String> formulas;
+		
+		ColumnMetadata(List<String> itemNames, List<String> formulas) {
+			this.itemNames = Collections.unmodifiableList(itemNames);
+			this.formulas = Collections.unmodifiableList(formulas);
+		}
+		
+		public List<String> getItemNames() {
+			return itemNames;
+		}
+		
+		public List<String> getFormulas() {
+			return formulas;
+		}
+	}
+	
+	private final Map<String, DatabaseDesign> designs = new ConcurrentHashMap<>();
+	
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	
+	ViewMetadataCache() {
+	}
+	
+	/**
+	 * Retrieves the metadata for the columns of the provided view.
+	 * 
+	 * @param view the view to read
+	 * @return a {@link ColumnMetadata} instance for the view
+	 * @throws NotesException if there is a problem reading the view design
+	 */
+	public ColumnMetadata getColumns(View view) throws NotesException {
+		Database database = view.getParent();
+		long designMod = DominoNoSQLUtil.getLastNonDataModified(database);
+		DatabaseDesign design = getDesign(database, designMod);
+		
+		String unid = view.getUniversalID();
+		ColumnMetadata result = design.columns.get(unid);
+		if(result != null) {
+			hits.incrementAndGet();
+			return result;
+		}
+		misses.incrementAndGet();
+		
+		long start = System.currentTimeMillis();
+		result = readColumns(view);
+		if(isCacheable(database, designMod, start)) {
+			if(design.columns.size() >= MAX_ENTRIES) {
+				design.columns.clear();
+			}
+			design.columns.put(unid, result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Retrieves information about the views and folders in the provided database
+	 * visible to the current user.
+	 * 
+	 * @param database the database to read
+	 * @return a {@link List} of {@link ViewInfo} objects
+	 * @throws NotesException if there is a problem reading the database design
+	 */
+	public List<ViewInfo> getViewInfo(Database database) throws NotesException {
+		long designMod = DominoNoSQLUtil.getLastNonDataModified(database);
+		DatabaseDesign design = getDesign(database, designMod);
+		
+		// Private views and reader fields make the list specific to the user
+		String userName = database.getParent().getEffectiveUserName();
+		List<ViewInfo> result = design.viewInfo.get(userName);
+		if(result != null) {
+			hits.incrementAndGet();
+			return result;
+		}
+		misses.incrementAndGet();
+		
+		long start = System.currentTimeMillis();
+		result = readViewInfo(database);
+		if(isCacheable(database, designMod, start)) {
+			if(design.viewInfo.size() >= MAX_ENTRIES) {
+				design.viewInfo.clear();
+			}
+			design.viewInfo.put(userName, result);
+		}
+		return result;
+	}
+	
+	public long getHits() {
+		return hits.get();
+	}
+	
+	public long getMisses() {
+		return misses.get();
+	}
+	
+	// *******************************************************************************
+	// * Internal implementation utilities
+	// *******************************************************************************
+	
+	private DatabaseDesign getDesign(Database database, long designMod) throws NotesException {
+		String dbKey = database.getReplicaID();
+		DatabaseDesign design = designs.get(dbKey);
+		if(design == null || design.designMod != designMod) {
+			design = new DatabaseDesign(designMod);
+			designs.put(dbKey, design);
+		}
+		return design;
+	}
+	
+	private static boolean isCacheable(Database database, long designMod, long start) throws NotesException {
+		// Only retain the value if a same-second design change couldn't have been missed
+		return start - designMod >= 1000 && DominoNoSQLUtil.getLastNonDataModified(database) == designMod;
+	}
+	
+	private static ColumnMetadata readColumns(View view) throws NotesException {
+		@SuppressWarnings("unchecked")
+		Vector<ViewColumn> columns = view.getColumns();
+		try {
+			List<String> columnNames = new ArrayList<>(columns.size());
+			List<String> columnFormulas = new ArrayList<>(columns.size());
+			for(ViewColumn col : columns) {
+				if(col.getColumnValuesIndex() != ViewColumn.VC_NOT_PRESENT) {
+					columnNames.add(col.getItemName());
+					columnFormulas.add(col.getFormula());
+				}
+			}
+			return new ColumnMetadata(columnNames, columnFormulas);
+		} finally {
+			view.recycle(columns);
+		}
+	}
+	
+	private static List<ViewInfo> readViewInfo(Database database) throws NotesException {
+		@SuppressWarnings("unchecked")
+		Vector<View> views = database.getViews();
+		try {
+			List<ViewInfo> result = new ArrayList<>(views.size());
+			for(View view : views) {
+				ViewInfo.Type type = view.isFolder() ? ViewInfo.Type.FOLDER : ViewInfo.Type.VIEW;
+				String title = view.getName();
+				@SuppressWarnings("unchecked")
+				List<String> aliases = view.getAliases();
+				String unid = view.getUniversalID();
+				String selectionFormula = view.getSelectionFormula();
+				
+				@SuppressWarnings("unchecked")
+				Vector<ViewColumn> columns = view.getColumns();
+				List<ViewColumnInfo> columnInfo = new ArrayList<>(columns.size());
+				try {
+					for(ViewColumn column : columns) {
+						String columnTitle = column.getTitle();
+						String itemName = column.getItemName();
+						ViewColumnInfo.SortOrder sortOrder = column.isSorted() ?
+							(
+								column.isSortDescending() ? ViewColumnInfo.SortOrder.DESCENDING :
+								ViewColumnInfo.SortOrder.ASCENDING
+							) :
+							ViewColumnInfo.SortOrder.NONE;
+						Collection<ViewColumnInfo.SortOrder> resortOrders = EnumSet.noneOf(ViewColumnInfo.SortOrder.class);
+						if(column.isResortAscending()) {
+							resortOrders.add(ViewColumnInfo.SortOrder.ASCENDING);
+						}
+						if(column.isResortDescending()) {
+							resortOrders.add(ViewColumnInfo.SortOrder.DESCENDING);
+						}
+						boolean categorized = column.isCategory();
+						
+						columnInfo.add(new ViewColumnInfoImpl(columnTitle, itemName, sortOrder, resortOrders, categorized));
+					}
+				} finally {
+					view.recycle(columns);
+				}
+				
+				result.add(new ViewInfoImpl(type, title, aliases, unid, selectionFormula, columnInfo));
+			}
+			return Collections.unmodifiableList(result);
+		} finally {
+			database.recycle(views);
+		}
+	}
+	
+	private static class DatabaseDesign {
+		private final long designMod;
+		private final Map<String, ColumnMetadata> columns = new ConcurrentHashMap<>();
+		private final Map<String, List<ViewInfo>> viewInfo = new ConcurrentHashMap<>();
+		
+		public DatabaseDesign(long designMod) {
+			this.designMod = designMod;
+		}
+	}
+}
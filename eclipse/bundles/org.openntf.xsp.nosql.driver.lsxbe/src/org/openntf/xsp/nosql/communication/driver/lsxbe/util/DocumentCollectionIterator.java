@@ -15,7 +15,11 @@
  */
 package org.openntf.xsp.nosql.communication.driver.lsxbe.util;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Vector;
+import java.util.stream.Stream;
 
 import lotus.domino.Document;
 import lotus.domino.DocumentCollection;
@@ -29,16 +33,56 @@ import lotus.domino.NotesException;
  * next one. After emitting the final document in the collection, the
  * {@link DocumentCollection} will be recycled.
  * 
+ * <p>When constructed with an offset and limit, the iterator will position directly
+ * on the first requested document and stop after the requested count, avoiding
+ * opening any documents outside that window.</p>
+ * 
+ * <p>When constructed with a recycle batch size greater than one, emitted documents
+ * are instead recycled together once that many have accumulated, and {@link #close()}
+ * releases any remaining handles when iteration stops early.</p>
+ * 
  * @author Jesse Gallagher
  * @since 2.6.0
  */
-public class DocumentCollectionIterator extends AbstractCollectionIterator<Document> {
+public class DocumentCollectionIterator extends AbstractCollectionIterator<Document> implements AutoCloseable {
 	private final DocumentCollection docs;
+	private final int offset;
+	private final int recycleBatchSize;
+	private final List<Document> pendingRecycle;
 	private Document prev;
+	private boolean collectionRecycled;
+	private boolean closed;
 	
 	public DocumentCollectionIterator(DocumentCollection docs) throws NotesException {
-		super(docs.getCount());
+		this(docs, 0, 0);
+	}
+	
+	/**
+	 * @param docs the {@link DocumentCollection} to iterate
+	 * @param offset the number of documents to skip from the start of the collection
+	 * @param limit the maximum number of documents to return, or {@code 0} for no limit
+	 * @throws NotesException if there is a problem reading the collection size
+	 * @since 2.15.0
+	 */
+	public DocumentCollectionIterator(DocumentCollection docs, int offset, long limit) throws NotesException {
+		this(docs, offset, limit, 1);
+	}
+	
+	/**
+	 * @param docs the {@link DocumentCollection} to iterate
+	 * @param offset the number of documents to skip from the start of the collection
+	 * @param limit the maximum number of documents to return, or {@code 0} for no limit
+	 * @param recycleBatchSize the number of emitted documents to accumulate before
+	 *        recycling them together
+	 * @throws NotesException if there is a problem reading the collection size
+	 * @since 2.15.0
+	 */
+	public DocumentCollectionIterator(DocumentCollection docs, int offset, long limit, int recycleBatchSize) throws NotesException {
+		super(windowSize(docs.getCount(), offset, limit));
 		this.docs = docs;
+		this.offset = offset;
+		this.recycleBatchSize = Math.max(1, recycleBatchSize);
+		this.pendingRecycle = new ArrayList<>(this.recycleBatchSize);
 	}
 
 	@Override
@@ -46,16 +90,23 @@ public class DocumentCollectionIterator extends AbstractCollectionIterator<Docum
 		try {
 			Document next;
 			if(prev == null) {
-				next = docs.getFirstDocument();
+				if(offset > 0) {
+					// Positional access walks the ID table without opening the skipped documents
+					next = docs.getNthDocument(offset + 1);
+				} else {
+					next = docs.getFirstDocument();
+				}
 			} else {
 				next = docs.getNextDocument(prev);
-				prev.recycle();
+				recycleDocument(prev);
 			}
 			prev = next;
 			fetched++;
 			
 			if(!hasNext()) {
+				recyclePending();
 				docs.recycle();
+				collectionRecycled = true;
 			}
 			
 			return next;
@@ -64,4 +115,68 @@ public class DocumentCollectionIterator extends AbstractCollectionIterator<Docum
 		}
 	}
 	
-}
\ No newline at end of file
+	@Override
+	public Stream<Document> stream() {
+		return super.stream().onClose(this::close);
+	}
+	
+	/**
+	 * Recycles any outstanding document handles and the underlying collection.
+	 * This is safe to call multiple times and after iteration has completed.
+	 * 
+	 * @since 2.15.0
+	 */
+	@Override
+	public void close() {
+		if(closed) {
+			return;
+		}
+		closed = true;
+		try {
+			if(prev != null) {
+				pendingRecycle.add(prev);
+				prev = null;
+			}
+			recyclePending();
+			if(!collectionRecycled) {
+				docs.recycle();
+				collectionRecycled = true;
+			}
+		} catch(NotesException e) {
+			// Ignore
+		}
+	}
+	
+	private void recycleDocument(Document doc) throws NotesException {
+		if(recycleBatchSize <= 1) {
+			doc.recycle();
+		} else {
+			pendingRecycle.add(doc);
+			if(pendingRecycle.size() >= recycleBatchSize) {
+				recyclePending();
+			}
+		}
+	}
+	
+	private void recyclePending() throws NotesException {
+		if(!pendingRecycle.isEmpty()) {
+			if(collectionRecycled) {
+				for(Document doc : pendingRecycle) {
+					doc.recycle();
+				}
+			} else {
+				docs.recycle(new Vector<>(pendingRecycle));
+			}
+			pendingRecycle.clear();
+		}
+	}
+	
+	private static int windowSize(int count, int offset, long limit) {
+		int available = Math.max(0, count - offset);
+		if(limit > 0) {
+			return (int)Math.min(available, limit);
+		} else {
+			return available;
+		}
+	}
+}
@@ -23,6 +23,7 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -37,6 +38,10 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import java.util.zip.GZIPInputStream;
 
+import com.ibm.commons.util.StringUtil;
+import com.ibm.designer.domino.napi.NotesAPIException;
+import com.ibm.designer.domino.napi.NotesSession;
+
 import lotus.domino.Database;
 import lotus.domino.DateRange;
 import lotus.domino.DateTime;
@@ -97,6 +102,9 @@ public enum DominoNoSQLUtil {
 			DateTime dt = session.createDateTime(Date.from(inst));
 			dt.setAnyDate();
 			return dt;
+		} else if(value instanceof LocalDateTime) {
+			Instant inst = ((LocalDateTime)value).atZone(ZoneId.systemDefault()).toInstant();
+			return session.createDateTime(Date.from(inst));
 		} else if(value instanceof TemporalAccessor) {
 			Instant inst = Instant.from((TemporalAccessor)value);
 			DateTime dt = session.createDateTime(Date.from(inst));
@@ -196,4 +204,47 @@ public enum DominoNoSQLUtil {
 			return false;
 		}
 	}
+	
+	/**
+	 * Determines the last data modification time of the provided database, without
+	 * needing to open any documents.
+	 * 
+	 * @param database the database to check
+	 * @return the last data modification time in milliseconds since the epoch
+	 * @throws NotesException if there is a problem reading the database
+	 * @since 2.15.0
+	 */
+	public static long getLastDataModified(Database database) throws NotesException {
+		try {
+			return NotesSession.getLastDataModificationDateByName(getLocalizedServerName(database), database.getFilePath()) * 1000;
+		} catch (NotesAPIException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	/**
+	 * Determines the last non-data (design) modification time of the provided database.
+	 * 
+	 * @param database the database to check
+	 * @return the last non-data modification time in milliseconds since the epoch
+	 * @throws NotesException if there is a problem reading the database
+	 * @since 2.15.0
+	 */
+	public static long getLastNonDataModified(Database database) throws NotesException {
+		try {
+			return NotesSession.getLastNonDataModificationDateByName(getLocalizedServerName(database), database.getFilePath()) * 1000;
+		} catch (NotesAPIException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	private static String getLocalizedServerName(Database database) throws NotesException {
+		// Skip using the server name when it's local, as that can cause resolution trouble
+		//   if the server doesn't know it's itself (Issue #461)
+		String serverName = database.getServer();
+		if(StringUtil.equals(database.getParent().getUserName(), serverName)) {
+			return ""; //$NON-NLS-1$
+		}
+		return serverName;
+	}
 }
@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.communication.driver.lsxbe.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.zip.GZIPOutputStream;
+
+import org.openntf.xsp.nosql.communication.driver.DominoConstants;
+import org.openntf.xsp.nosql.mapping.extension.ItemStorage;
+
+import com.ibm.commons.util.StringUtil;
+
+import jakarta.json.bind.Jsonb;
+import lotus.domino.MIMEEntity;
+import lotus.domino.MIMEHeader;
+import lotus.domino.NotesException;
+import lotus.domino.Session;
+import lotus.domino.Stream;
+
+/**
+ * Reads and writes "MIMEBean"-type item values, streaming the body of the
+ * MIME part directly to the decoder when reading and from the encoder to a
+ * Notes {@link Stream} when writing, without building intermediate byte arrays.
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public enum MIMEBeanCodec {
+	;
+	
+	public static final String HEADER_CONTENT_ENCODING = "Content-Encoding"; //$NON-NLS-1$
+	public static final String ENCODING_GZIP = "gzip"; //$NON-NLS-1$
+	
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	/**
+	 * Reads the value stored in the provided MIMEBean entity.
+	 * 
+	 * <p>The format is determined by the stored Content-Type and Content-Encoding
+	 * headers, so values written with any {@link ItemStorage.MIMEBeanFormat} can
+	 * be read regardless of the current annotation.</p>
+	 * 
+	 * @param entity the entity to read
+	 * @param fieldType the declared generic type of the target field, used for JSON
+	 *                  values; may be {@code null}
+	 * @param jsonb the {@link Jsonb} instance to use for JSON values
+	 * @return the deserialized value
+	 * @throws NotesException if there is a problem reading the entity
+	 */
+	public static Object read(MIMEEntity entity, Type fieldType, Jsonb jsonb) throws NotesException {
+		String encoding = getHeader(entity, HEADER_CONTENT_ENCODING);
+		boolean json = DominoConstants.MIME_TYPE_JSON.equals(entity.getContentType() + '/' + entity.getContentSubType());
+		Type type = json ? resolveJsonType(entity, fieldType) : null;
+		
+		try(InputStream is = DominoNoSQLUtil.wrapInputStream(new BufferedInputStream(entity.getInputStream(), BUFFER_SIZE), encoding)) {
+			if(json) {
+				return AccessController.doPrivileged((PrivilegedAction<Object>)() -> jsonb.fromJson(is, type));
+			} else {
+				try(ObjectInputStream ois = new LoaderObjectInputStream(is)) {
+					return ois.readObject();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (ClassNotFoundException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	/**
+	 * Writes the provided value to the MIMEBean entity in the given format.
+	 * 
+	 * @param session the session to use to create the intermediate stream
+	 * @param entity the newly-created entity to write to
+	 * @param value the value to store
+	 * @param format the format to use
+	 * @param jsonb the {@link Jsonb} instance to use for {@link ItemStorage.MIMEBeanFormat#JSON}
+	 * @throws NotesException if there is a problem writing the entity
+	 */
+	public static void write(Session session, MIMEEntity entity, Object value, ItemStorage.MIMEBeanFormat format, Jsonb jsonb) throws NotesException {
+		entity.createHeader(DominoConstants.HEADER_JAVA_CLASS).setHeaderVal(value.getClass().getName());
+		boolean compress = format == ItemStorage.MIMEBeanFormat.CompressedSerialized;
+		if(compress) {
+			entity.createHeader(HEADER_CONTENT_ENCODING).setHeaderVal(ENCODING_GZIP);
+		}
+		
+		Stream stream = session.createStream();
+		try {
+			OutputStream os = new BufferedOutputStream(new NotesStreamOutputStream(stream), BUFFER_SIZE);
+			if(compress) {
+				os = new GZIPOutputStream(os, BUFFER_SIZE);
+			}
+			try(OutputStream out = os) {
+				switch(format) {
+				case JSON:
+					AccessController.doPrivileged((PrivilegedAction<Void>)() -> {
+						jsonb.toJson(value, out);
+						return null;
+					});
+					break;
+				case CompressedSerialized:
+				case Serialized:
+				default: {
+					ObjectOutputStream oos = new ObjectOutputStream(out);
+					oos.writeObject(value);
+					oos.flush();
+					break;
+				}
+				}
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			
+			stream.setPosition(0);
+			String contentType = format == ItemStorage.MIMEBeanFormat.JSON ? DominoConstants.MIME_TYPE_JSON : DominoConstants.MIME_TYPE_SERIALIZED_OBJECT;
+			entity.setContentFromBytes(stream, contentType, MIMEEntity.ENC_NONE);
+		} finally {
+			stream.close();
+			stream.recycle();
+		}
+	}
+	
+	private static String getHeader(MIMEEntity entity, String name) throws NotesException {
+		MIMEHeader header = entity.getNthHeader(name);
+		return header == null ? null : header.getHeaderVal();
+	}
+	
+	/**
+	 * Determines the type to read a JSON value as, preferring the field's declared
+	 * type so that generic type arguments are retained. Fields declared as a type
+	 * variable or as {@link Object} use the class recorded when the value was written.
+	 */
+	private static Type resolveJsonType(MIMEEntity entity, Type fieldType) throws NotesException {
+		if(fieldType != null && fieldType != Object.class && !(fieldType instanceof TypeVariable)) {
+			return fieldType;
+		}
+		String className = getHeader(entity, DominoConstants.HEADER_JAVA_CLASS);
+		if(StringUtil.isNotEmpty(className)) {
+			try {
+				return Class.forName(className, true, Thread.currentThread().getContextClassLoader());
+			} catch(ClassNotFoundException e) {
+				// Fall back to a generic structure
+			}
+		}
+		return Object.class;
+	}
+	
+	/**
+	 * Presents a Notes {@link Stream} as an {@link OutputStream}. The underlying
+	 * stream is not closed by this object.
+	 */
+	private static class NotesStreamOutputStream extends OutputStream {
+		private final Stream stream;
+		
+		public NotesStreamOutputStream(Stream stream) {
+			this.stream = stream;
+		}
+		
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte)b }, 0, 1);
+		}
+		
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if(len == 0) {
+				return;
+			}
+			byte[] chunk = b;
+			if(off != 0 || len != b.length) {
+				chunk = new byte[len];
+				System.arraycopy(b, off, chunk, 0, len);
+			}
+			try {
+				stream.write(chunk);
+			} catch(NotesException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+}
@@ -227,6 +227,11 @@ public enum DominoConstants {
 	 * @since 2.6.0
 	 */
 	public static final String MIME_TYPE_SERIALIZED_OBJECT = "application/x-java-serialized-object"; //$NON-NLS-1$
+	/**
+	 * This MIME type is used to indicate a JSON-B-serialized object for "MIMEBean"-type storage.
+	 * @since 2.15.0
+	 */
+	public static final String MIME_TYPE_JSON = "application/json"; //$NON-NLS-1$
 	
 	public static final Collection<String> SYSTEM_FIELDS;
 	public static final Collection<String> SKIP_WRITING_FIELDS;
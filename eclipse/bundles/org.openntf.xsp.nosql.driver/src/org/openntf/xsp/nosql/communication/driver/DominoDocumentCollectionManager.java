@@ -22,6 +22,7 @@ import org.openntf.xsp.nosql.mapping.extension.ViewQuery;
 
 import jakarta.nosql.document.DocumentCollectionManager;
 import jakarta.nosql.document.DocumentEntity;
+import jakarta.nosql.document.DocumentQuery;
 import jakarta.nosql.mapping.Pagination;
 import jakarta.nosql.mapping.Sorts;
 
@@ -56,6 +57,72 @@ public interface DominoDocumentCollectionManager extends DocumentCollectionManag
      */
     DocumentEntity update(DocumentEntity entity, boolean computeWithForm);
     
+    /**
+     * Saves the provided document collection entities as new documents in
+     * batches, resolving shared state once for the whole operation.
+     * 
+     * @param entities the entities to save
+     * @param computeWithForm whether to compute each document with its form
+     * @return the entities saved
+     * @since 2.15.0
+     */
+    Iterable<DocumentEntity> insert(Iterable<DocumentEntity> entities, boolean computeWithForm);
+    
+    /**
+     * Saves the provided document collection entities as updates to existing
+     * documents in batches, resolving shared state once for the whole operation.
+     * 
+     * @param entities the entities to save
+     * @param computeWithForm whether to compute each document with its form
+     * @return the entities saved
+     * @since 2.15.0
+     */
+    Iterable<DocumentEntity> update(Iterable<DocumentEntity> entities, boolean computeWithForm);
+    
+    /**
+     * Saves the provided entity, updating the existing document with its UNID
+     * when one exists and creating a new document otherwise.
+     * 
+     * <p>Unlike checking {@link #existsById(String)} before calling
+     * {@link #update(DocumentEntity, boolean)}, this opens the target document
+     * only once.</p>
+     * 
+     * @param entity the entity to save
+     * @param computeWithForm whether to compute the document with its form
+     * @return the entity saved
+     * @since 2.15.0
+     */
+    DocumentEntity upsert(DocumentEntity entity, boolean computeWithForm);
+    
+    /**
+     * Saves the provided entities in batches, updating existing documents and
+     * creating new ones as needed.
+     * 
+     * @param entities the entities to save
+     * @param computeWithForm whether to compute each document with its form
+     * @return the entities saved
+     * @since 2.15.0
+     */
+    Iterable<DocumentEntity> upsert(Iterable<DocumentEntity> entities, boolean computeWithForm);
+    
+    /**
+     * Retrieves the number of entities that callers should hand to the batch save
+     * methods at a time.
+     * 
+     * @return the batch size for bulk writes
+     * @since 2.15.0
+     */
+    int getBatchSize();
+    
+    /**
+     * Counts the documents matching the provided query, ignoring any pagination.
+     * 
+     * @param query the query to count
+     * @return the number of matching documents
+     * @since 2.15.0
+     */
+    long count(DocumentQuery query);
+    
     /**
      * Determines whether a document exists with the provided UNID.
      * 
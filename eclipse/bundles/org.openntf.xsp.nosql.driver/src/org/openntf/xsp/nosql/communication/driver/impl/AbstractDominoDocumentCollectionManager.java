@@ -16,9 +16,6 @@
 package org.openntf.xsp.nosql.communication.driver.impl;
 
 import java.time.Duration;
-import java.util.Collections;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import org.openntf.xsp.nosql.communication.driver.DominoDocumentCollectionManager;
 
@@ -68,12 +65,6 @@ public abstract class AbstractDominoDocumentCollectionManager implements DominoD
 
 	@Override
 	public Iterable<DocumentEntity> update(Iterable<DocumentEntity> entities) {
-		if(entities == null) {
-			return Collections.emptySet();
-		} else {
-			return StreamSupport.stream(entities.spliterator(), false)
-				.map(this::update)
-				.collect(Collectors.toList());
-		}
+		return update(entities, false);
 	}
 }
@@ -16,6 +16,7 @@
 package org.openntf.xsp.nosql.communication.driver.impl;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.security.MessageDigest;
@@ -38,29 +39,24 @@ import org.eclipse.jnosql.mapping.reflection.FieldMapping;
  */
 public abstract class AbstractEntityConverter {
 	protected <T extends Annotation> Optional<T> getFieldAnnotation(ClassMapping classMapping, String fieldName, Class<T> annotation) {
-		if(classMapping == null) {
-			return Optional.empty();
-		}
-		return classMapping.getFields()
-			.stream()
-			.filter(field -> fieldName.equals(field.getName()))
-			.findFirst()
-			.map(FieldMapping::getNativeField)
-			.map(field -> field.getAnnotation(annotation));
+		return EntityUtil.getFieldAnnotation(classMapping, fieldName, annotation);
 	}
 	
 	protected Optional<Class<?>> getFieldType(ClassMapping classMapping, String fieldName) {
-		if(classMapping == null) {
-			return Optional.empty();
-		}
-		return classMapping.getFields()
-			.stream()
-			.filter(field -> fieldName.equals(field.getName()))
-			.findFirst()
+		return EntityUtil.getFieldMapping(classMapping, fieldName)
 			.map(FieldMapping::getNativeField)
 			.map(field -> field.getType());
 	}
 	
+	/**
+	 * @since 2.15.0
+	 */
+	protected Optional<Type> getFieldGenericType(ClassMapping classMapping, String fieldName) {
+		return EntityUtil.getFieldMapping(classMapping, fieldName)
+			.map(FieldMapping::getNativeField)
+			.map(field -> field.getGenericType());
+	}
+	
 	protected String composeEtag(String universalId, Temporal modTime) {
 		Instant inst = Instant.from(modTime);
 		return md5(universalId + inst.getEpochSecond() + inst.getNano());
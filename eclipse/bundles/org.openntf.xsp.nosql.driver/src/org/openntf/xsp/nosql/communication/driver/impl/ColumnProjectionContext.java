@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.communication.driver.impl;
+
+import org.openntf.xsp.nosql.mapping.extension.ColumnProjection;
+
+/**
+ * Tracks whether the repository method currently executing on this thread
+ * requested {@link ColumnProjection column projection}, since the method itself
+ * is not visible to the collection manager.
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public enum ColumnProjectionContext {
+	;
+	
+	private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+	
+	public static void setActive(boolean active) {
+		if(active) {
+			ACTIVE.set(Boolean.TRUE);
+		} else {
+			ACTIVE.remove();
+		}
+	}
+	
+	public static boolean isActive() {
+		return Boolean.TRUE.equals(ACTIVE.get());
+	}
+}
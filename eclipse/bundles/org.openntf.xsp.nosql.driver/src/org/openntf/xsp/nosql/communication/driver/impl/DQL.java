@@ -60,6 +60,20 @@ public class DQL {
 		return new NamedItem(itemName);
 	}
 	
+	/**
+	 * Use this method to refer to a named substitution variable, whose value
+	 * is provided separately via {@code DominoQuery#setNamedVariable}. Using
+	 * variables keeps the query text constant across executions with different
+	 * values.
+	 * 
+	 * @param name variable name, consisting of letters and digits
+	 * @return variable reference to use as a comparison value
+	 * @since 2.15.0
+	 */
+	public static NamedVariable variable(String name) {
+		return new NamedVariable(name);
+	}
+	
 	/**
 	 * Use this method to filter for documents with a specific view
 	 * column value
@@ -686,6 +700,26 @@ public class DQL {
 		public ValueComparisonTerm isGreaterThan(Temporal dtVal) {
 			return new ValueComparisonTerm(this, TermRelation.GREATERTHAN, dtVal);
 		}
+		
+		public ValueComparisonTerm isEqualTo(NamedVariable var) {
+			return new ValueComparisonTerm(this, TermRelation.EQUAL, var);
+		}
+		
+		public ValueComparisonTerm isLessThan(NamedVariable var) {
+			return new ValueComparisonTerm(this, TermRelation.LESSTHAN, var);
+		}
+
+		public ValueComparisonTerm isLessThanOrEqual(NamedVariable var) {
+			return new ValueComparisonTerm(this, TermRelation.LESSTHANOREQUAL, var);
+		}
+
+		public ValueComparisonTerm isGreaterThanOrEqual(NamedVariable var) {
+			return new ValueComparisonTerm(this, TermRelation.GREATERTHANOREQUAL, var);
+		}
+
+		public ValueComparisonTerm isGreaterThan(NamedVariable var) {
+			return new ValueComparisonTerm(this, TermRelation.GREATERTHAN, var);
+		}
 
 	}
 	
@@ -706,6 +740,28 @@ public class DQL {
 		}
 	}
 	
+	/**
+	 * Represents a named substitution variable in a DQL query.
+	 * 
+	 * @since 2.15.0
+	 */
+	public static class NamedVariable {
+		private String m_name;
+		
+		private NamedVariable(String name) {
+			m_name = validateVariableName(name);
+		}
+		
+		public String getName() {
+			return m_name;
+		}
+		
+		@Override
+		public String toString() {
+			return "?" + m_name;
+		}
+	}
+	
 	public static class ValueContainsTerm extends DQLTerm {
 		private Subject m_subject;
 		private boolean m_containsAll;
@@ -843,6 +899,9 @@ public class DQL {
 				else if (m_value instanceof Temporal) {
 					sb.append(formatTemporalValue((Temporal) m_value));
 				}
+				else if (m_value instanceof NamedVariable) {
+					sb.append(m_value.toString());
+				}
 				else {
 					throw new IllegalArgumentException("Unknown value found: "+m_value+" (type="+(m_value==null ? "null" : m_value.getClass().getName()+")"));
 				}
@@ -871,6 +930,23 @@ public class DQL {
 		return itemName;
 	}
 	
+	/**
+	 * Verifies that the provided name is usable as a DQL substitution variable, which
+	 * must be non-empty and consist only of letters and digits. Unlike item names,
+	 * variable names have no escaped form.
+	 */
+	private static String validateVariableName(String name) {
+		if (name == null || name.isEmpty()) {
+			throw new IllegalArgumentException("Variable name cannot be empty");
+		}
+		for (int i=0; i<name.length(); i++) {
+			if (!Character.isLetterOrDigit(name.charAt(i))) {
+				throw new IllegalArgumentException("Unexpected character in variable name: "+name);
+			}
+		}
+		return name;
+	}
+	
 	private static String escapeViewName(String viewName) {
 		if (viewName.contains("'")) {
 			throw new IllegalArgumentException("Unexpected quote character in view name: "+viewName);
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.communication.driver.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.FieldMapping;
+import org.openntf.xsp.nosql.communication.driver.DominoConstants;
+import org.openntf.xsp.nosql.mapping.extension.DXLExport;
+import org.openntf.xsp.nosql.mapping.extension.ItemStorage;
+
+/**
+ * Holds the information needed to read documents for a given entity mapping,
+ * resolved once rather than per document. Instances are cached with the rest of
+ * the mapping's metadata and retrieved via {@link EntityUtil#getReadPlan(ClassMapping)}.
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class EntityReadPlan {
+	private final Set<String> fieldNames;
+	private final List<String> itemNames;
+	private final Map<String, ItemStorage> storage;
+	private final DXLExport dxlExport;
+	
+	EntityReadPlan(ClassMapping classMapping) {
+		Set<String> fieldNames = new HashSet<>();
+		List<String> itemNames = new ArrayList<>();
+		Map<String, ItemStorage> storage = new HashMap<>();
+		for(FieldMapping field : classMapping.getFields()) {
+			String fieldName = field.getName();
+			if(DominoConstants.FIELD_ID.equals(fieldName)) {
+				continue;
+			}
+			fieldNames.add(fieldName);
+			if(!DominoConstants.SYSTEM_FIELDS.contains(fieldName)) {
+				itemNames.add(fieldName);
+				EntityUtil.getFieldAnnotation(classMapping, fieldName, ItemStorage.class)
+					.ifPresent(itemStorage -> storage.put(fieldName, itemStorage));
+			}
+		}
+		this.fieldNames = Collections.unmodifiableSet(fieldNames);
+		this.itemNames = Collections.unmodifiableList(itemNames);
+		this.storage = Collections.unmodifiableMap(storage);
+		this.dxlExport = EntityUtil.getFieldAnnotation(classMapping, DominoConstants.FIELD_DXL, DXLExport.class).orElse(null);
+	}
+	
+	/**
+	 * @return all mapped field names other than the ID, including system fields
+	 */
+	public Set<String> getFieldNames() {
+		return fieldNames;
+	}
+	
+	/**
+	 * @return the mapped names that correspond to actual document items
+	 */
+	public List<String> getItemNames() {
+		return itemNames;
+	}
+	
+	/**
+	 * @return the {@link ItemStorage} annotations of mapped items, keyed by item name
+	 */
+	public Map<String, ItemStorage> getStorage() {
+		return storage;
+	}
+	
+	/**
+	 * @return the {@link DXLExport} settings for the entity's DXL field, or
+	 *         {@code null} if not specified
+	 */
+	public DXLExport getDxlExport() {
+		return dxlExport;
+	}
+}
@@ -15,44 +15,108 @@
  */
 package org.openntf.xsp.nosql.communication.driver.impl;
 
+import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.jnosql.mapping.reflection.ClassInformationNotFoundException;
 import org.eclipse.jnosql.mapping.reflection.ClassMapping;
 import org.eclipse.jnosql.mapping.reflection.ClassMappings;
 import org.eclipse.jnosql.mapping.reflection.FieldMapping;
+import org.openntf.xsp.nosql.communication.driver.DominoConstants;
+import org.openntf.xsp.nosql.mapping.extension.impl.DominoExtension;
 
+import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.CDI;
 import jakarta.nosql.mapping.Column;
 
 /**
  * Contains utility methods for working with NoSQL entities.
  * 
+ * <p>Entity metadata is cached per CDI container and per {@link ClassMapping}, and
+ * is discarded when the container is shut down via {@link #invalidate(BeanManager)}.
+ * Repeat {@link #getClassMapping(String)} calls find their container's cache via
+ * the thread's context {@link ClassLoader} rather than {@link CDI#current()}.</p>
+ * 
  * @author Jesse Gallagher
  * @since 2.9.0
  */
 public enum EntityUtil {
 	;
 	
+	/**
+	 * Container metadata keyed by the container's {@link DominoExtension} instance,
+	 * which lives exactly as long as the container. The {@link BeanManager} objects
+	 * handed out by Weld are per-call proxies and so can't be used as weak keys
+	 * directly.
+	 */
+	private static final Map<DominoExtension, ContainerMetadata> CONTAINER_METADATA = Collections.synchronizedMap(new WeakHashMap<>());
+	/**
+	 * Container metadata keyed by the context {@link ClassLoader} active when it was
+	 * looked up, allowing repeat lookups to skip resolving the CDI container. Loaders
+	 * seen with more than one container map to {@link #AMBIGUOUS} and are always
+	 * resolved via CDI.
+	 */
+	private static final Map<ClassLoader, Reference<ContainerMetadata>> LOADER_METADATA = Collections.synchronizedMap(new WeakHashMap<>());
+	private static final Reference<ContainerMetadata> AMBIGUOUS = new WeakReference<>(null);
+	private static final Map<ClassMapping, MappingMetadata> MAPPING_METADATA = Collections.synchronizedMap(new WeakHashMap<>());
+	
 	public static ClassMapping getClassMapping(String entityName) {
-		ClassMappings mappings = CDI.current().select(ClassMappings.class).get();
-		try {
-			return mappings.findByName(entityName);
-		} catch(ClassInformationNotFoundException e) {
-			// Shouldn't happen, but we should account for it
-			return null;
+		ClassLoader cl = Thread.currentThread().getContextClassLoader();
+		if(cl != null) {
+			Reference<ContainerMetadata> ref = LOADER_METADATA.get(cl);
+			ContainerMetadata metadata = ref == null ? null : ref.get();
+			if(metadata != null) {
+				ClassMapping result = metadata.classMappings.get(entityName);
+				if(result != null) {
+					return result;
+				}
+			}
 		}
+		
+		CDI<Object> container = CDI.current();
+		ContainerMetadata metadata = getContainerMetadata(container.getBeanManager());
+		if(cl != null && metadata != null) {
+			LOADER_METADATA.compute(cl, (key, ref) -> {
+				if(ref == AMBIGUOUS) {
+					return ref;
+				}
+				ContainerMetadata existing = ref == null ? null : ref.get();
+				if(existing == null) {
+					return new WeakReference<>(metadata);
+				} else if(existing != metadata) {
+					return AMBIGUOUS;
+				} else {
+					return ref;
+				}
+			});
+		}
+		ClassMapping result = metadata == null ? null : metadata.classMappings.get(entityName);
+		if(result == null) {
+			ClassMappings mappings = container.select(ClassMappings.class).get();
+			try {
+				result = mappings.findByName(entityName);
+			} catch(ClassInformationNotFoundException e) {
+				// Shouldn't happen, but we should account for it
+				return null;
+			}
+			if(result != null && metadata != null) {
+				metadata.classMappings.put(entityName, result);
+			}
+		}
+		return result;
 	}
 	
 	public static Map<String, Class<?>> getItemTypes(ClassMapping classMapping) {
-		return classMapping == null ? Collections.emptyMap() : classMapping.getFields()
-			.stream()
-			.collect(Collectors.toMap(
-				f -> f.getName(),
-				f -> f.getNativeField().getType()
-			));
+		return classMapping == null ? Collections.emptyMap() : getMappingMetadata(classMapping).itemTypes;
 	}
 	
 	/**
@@ -64,17 +128,177 @@ public enum EntityUtil {
 	 */
 	public static String findItemName(String propName, ClassMapping mapping) {
 		if(mapping != null) {
-			Column annotation = mapping.getFieldMapping(propName)
-				.map(FieldMapping::getNativeField)
-				.map(f -> f.getAnnotation(Column.class))
-				.orElse(null);
-			if(annotation != null && !annotation.value().isEmpty()) {
-				return annotation.value();
-			} else {
-				return propName;
-			}
+			return getMappingMetadata(mapping).itemNames.computeIfAbsent(propName, prop -> {
+				Column annotation = mapping.getFieldMapping(prop)
+					.map(FieldMapping::getNativeField)
+					.map(f -> f.getAnnotation(Column.class))
+					.orElse(null);
+				if(annotation != null && !annotation.value().isEmpty()) {
+					return annotation.value();
+				} else {
+					return prop;
+				}
+			});
 		} else {
 			return propName;
 		}
 	}
+	
+	/**
+	 * Retrieves the field mapping for the provided stored field name.
+	 * 
+	 * @param classMapping the {@link ClassMapping} instance for the class in question;
+	 *        may be {@code null}
+	 * @param fieldName the stored name of the field
+	 * @return an {@link Optional} describing the {@link FieldMapping}, or an empty
+	 *         one if there is no matching field
+	 * @since 2.15.0
+	 */
+	public static Optional<FieldMapping> getFieldMapping(ClassMapping classMapping, String fieldName) {
+		if(classMapping == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(getMappingMetadata(classMapping).fields.get(fieldName));
+	}
+	
+	/**
+	 * Retrieves the annotation of the provided type on the field with the given
+	 * stored name.
+	 * 
+	 * @param <T> the annotation type
+	 * @param classMapping the {@link ClassMapping} instance for the class in question;
+	 *        may be {@code null}
+	 * @param fieldName the stored name of the field
+	 * @param annotation the annotation class to find
+	 * @return an {@link Optional} describing the annotation, or an empty one if the
+	 *         field does not exist or is not annotated
+	 * @since 2.15.0
+	 */
+	public static <T extends Annotation> Optional<T> getFieldAnnotation(ClassMapping classMapping, String fieldName, Class<T> annotation) {
+		if(classMapping == null) {
+			return Optional.empty();
+		}
+		Map<String, Annotation> annotations = getMappingMetadata(classMapping).annotations.computeIfAbsent(annotation, type -> 
+			classMapping.getFields()
+				.stream()
+				.filter(field -> field.getNativeField().isAnnotationPresent(type))
+				.collect(Collectors.toMap(
+					FieldMapping::getName,
+					field -> field.getNativeField().getAnnotation(type),
+					(a, b) -> a
+				))
+		);
+		return Optional.ofNullable(annotation.cast(annotations.get(fieldName)));
+	}
+	
+	/**
+	 * Determines whether the provided entity maps any of the view-entry count
+	 * fields, such as {@link DominoConstants#FIELD_CHILDCOUNT}.
+	 * 
+	 * @param classMapping the {@link ClassMapping} instance for the class in question
+	 * @return {@code true} if the entity requests count data; {@code false} otherwise
+	 * @since 2.15.0
+	 */
+	public static boolean requestsCounts(ClassMapping classMapping) {
+		return classMapping != null && getMappingMetadata(classMapping).requestsCounts;
+	}
+	
+	/**
+	 * Retrieves the information needed to read documents for the provided entity.
+	 * 
+	 * @param classMapping the {@link ClassMapping} instance for the class in question;
+	 *        may be {@code null}
+	 * @return the {@link EntityReadPlan} for the mapping, or {@code null} if
+	 *         {@code classMapping} is {@code null}
+	 * @since 2.15.0
+	 */
+	public static EntityReadPlan getReadPlan(ClassMapping classMapping) {
+		if(classMapping == null) {
+			return null;
+		}
+		MappingMetadata metadata = getMappingMetadata(classMapping);
+		EntityReadPlan readPlan = metadata.readPlan;
+		if(readPlan == null) {
+			readPlan = new EntityReadPlan(classMapping);
+			metadata.readPlan = readPlan;
+		}
+		return readPlan;
+	}
+	
+	/**
+	 * Discards cached metadata for the container owning the provided {@link BeanManager}.
+	 * This is intended to be called when the container is shutting down.
+	 * 
+	 * @param beanManager the {@link BeanManager} of the container being shut down
+	 * @since 2.15.0
+	 */
+	public static void invalidate(BeanManager beanManager) {
+		DominoExtension extension = getExtension(beanManager);
+		if(extension != null) {
+			ContainerMetadata metadata = CONTAINER_METADATA.remove(extension);
+			if(metadata != null) {
+				metadata.classMappings.values().forEach(MAPPING_METADATA::remove);
+				synchronized(LOADER_METADATA) {
+					LOADER_METADATA.values().removeIf(ref -> ref.get() == metadata);
+				}
+			}
+		}
+	}
+	
+	private static ContainerMetadata getContainerMetadata(BeanManager beanManager) {
+		DominoExtension extension = getExtension(beanManager);
+		if(extension == null) {
+			return null;
+		}
+		return CONTAINER_METADATA.computeIfAbsent(extension, key -> new ContainerMetadata());
+	}
+	
+	private static DominoExtension getExtension(BeanManager beanManager) {
+		try {
+			return beanManager.getExtension(DominoExtension.class);
+		} catch(IllegalArgumentException e) {
+			// Not registered in this container
+			return null;
+		}
+	}
+	
+	private static MappingMetadata getMappingMetadata(ClassMapping classMapping) {
+		return MAPPING_METADATA.computeIfAbsent(classMapping, MappingMetadata::new);
+	}
+	
+	private static class ContainerMetadata {
+		private final Map<String, ClassMapping> classMappings = new ConcurrentHashMap<>();
+	}
+	
+	private static class MappingMetadata {
+		private final Map<String, Class<?>> itemTypes;
+		private final Map<String, FieldMapping> fields;
+		private final Map<String, String> itemNames = new ConcurrentHashMap<>();
+		private final Map<Class<? extends Annotation>, Map<String, Annotation>> annotations = new ConcurrentHashMap<>();
+		private final boolean requestsCounts;
+		private volatile EntityReadPlan readPlan;
+		
+		public MappingMetadata(ClassMapping classMapping) {
+			Map<String, Class<?>> itemTypes = new HashMap<>();
+			Map<String, FieldMapping> fields = new HashMap<>();
+			for(FieldMapping field : classMapping.getFields()) {
+				itemTypes.put(field.getName(), field.getNativeField().getType());
+				fields.putIfAbsent(field.getName(), field);
+			}
+			this.itemTypes = Collections.unmodifiableMap(itemTypes);
+			this.fields = Collections.unmodifiableMap(fields);
+			
+			this.requestsCounts = classMapping.getFields()
+				.stream()
+				.map(fm -> fm.getNativeField())
+				.map(f -> f.getAnnotation(Column.class))
+				.filter(Objects::nonNull)
+				.map(col -> col.value())
+				.anyMatch(name ->
+					DominoConstants.FIELD_CHILDCOUNT.equals(name)
+					|| DominoConstants.FIELD_SIBLINGCOUNT.equals(name)
+					|| DominoConstants.FIELD_DESCENDANTCOUNT.equals(name)
+				);
+		}
+	}
 }
@@ -17,13 +17,30 @@ package org.openntf.xsp.nosql.communication.driver.impl;
 
 import static jakarta.nosql.Condition.IN;
 
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoField;
 import java.time.temporal.Temporal;
-import java.util.EnumSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.openntf.xsp.nosql.communication.driver.DominoConstants;
 import org.openntf.xsp.nosql.communication.driver.impl.DQL.DQLTerm;
+import org.openntf.xsp.nosql.communication.driver.impl.DQL.NamedVariable;
 
 import jakarta.nosql.Condition;
 import jakarta.nosql.TypeReference;
@@ -40,59 +57,55 @@ import jakarta.nosql.document.DocumentQuery;
 public enum QueryConverter {
 	;
 
-	private static final Set<Condition> NOT_APPENDABLE = EnumSet.of(IN, Condition.AND, Condition.OR);
-
 	private static final String[] ALL_SELECT = { "*" }; //$NON-NLS-1$
 
+	/**
+	 * The maximum number of rendered statements retained, after which the least
+	 * recently used statement is discarded
+	 * @since 2.15.0
+	 */
+	public static final int MAX_CACHED_STATEMENTS = 1000;
+	
+	private static final String VARIABLE_PREFIX = "p"; //$NON-NLS-1$
+	
+	@SuppressWarnings("serial")
+	private static final Map<String, String> STATEMENTS = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_CACHED_STATEMENTS;
+		}
+	});
+
 	public static QueryConverterResult select(DocumentQuery query) {
 		String[] documents = query.getDocuments().toArray(new String[0]);
 		if (documents.length == 0) {
 			documents = ALL_SELECT;
 		}
 
-		DQLTerm statement;
 		long skip = query.getSkip();
 		long limit = query.getLimit();
-
-		if (query.getCondition().isPresent()) {
-			statement = getCondition(query.getCondition().get());
-			// Add in the form property if needed
-			statement = applyFormName(statement, query.getDocumentCollection());
-		} else {
-			statement = applyFormName(null, query.getDocumentCollection());
-		}
-		return new QueryConverterResult(documents, statement, skip, limit);
+		
+		DocumentCondition condition = query.getCondition().orElse(null);
+		String formName = query.getDocumentCollection();
+		ParameterizedDQL statement = prepare(condition, formName);
+		return new QueryConverterResult(documents, statement, condition, formName, skip, limit);
 	}
-
+	
+	/**
+	 * Converts the provided condition to a DQL term with its comparison values
+	 * written inline.
+	 * 
+	 * @param condition the condition to convert
+	 * @return a {@link DQLTerm} representing the condition
+	 * @deprecated use {@link #prepare(DocumentCondition, String)}, which binds values
+	 *             as named variables and caches the rendered query
+	 */
+	@Deprecated
 	public static DQLTerm getCondition(DocumentCondition condition) {
 		Document document = condition.getDocument();
 
-		if (!NOT_APPENDABLE.contains(condition.getCondition())) {
-			// TODO determine if this is relevant
-//			params = EntityConverter.add(params, document.getName(), document.get());
-		}
-
 		// Convert special names
-		String name = String.valueOf(document.getName());
-		if (DominoConstants.FIELD_ID.equals(name)) {
-			name = "@DocumentUniqueID"; //$NON-NLS-1$
-		} else if(DominoConstants.FIELD_CDATE.equals(name)) {
-			name = "@Created"; //$NON-NLS-1$
-		} else if(DominoConstants.FIELD_MDATE.equals(name)) {
-			name = "@Modified"; //$NON-NLS-1$
-		} else if("$REF".equalsIgnoreCase(name)) { //$NON-NLS-1$
-			name = "@Text($REF)"; //$NON-NLS-1$
-		} else if(DominoConstants.FIELD_SIZE.equals(name)) {
-			name = "@DocLength"; //$NON-NLS-1$
-		} else if(DominoConstants.FIELD_NOTEID.equals(name)) {
-			name = "@NoteID"; //$NON-NLS-1$
-		} else if(DominoConstants.FIELD_ADATE.equals(name)) {
-			name = "@Accessed"; //$NON-NLS-1$
-		} else if(DominoConstants.FIELD_ADDED.equals(name)) {
-			name = "@AddedToThisFile"; //$NON-NLS-1$
-		} else if(DominoConstants.FIELD_MODIFIED_IN_THIS_FILE.equals(name)) {
-			name = "@ModifiedInThisFile"; //$NON-NLS-1$
-		}
+		String name = toItemName(document.getName());
 
 		Object value = document.get();
 		if(value != null && value.getClass().isEnum()) {
@@ -156,14 +169,14 @@ public enum QueryConverter {
 				List<DocumentCondition> conditions = document.get(new TypeReference<List<DocumentCondition>>() {});
 				return DQL.and(conditions
 					.stream()
-					.map(c -> getCondition(c))
+					.map(QueryConverter::getCondition)
 					.toArray(DQLTerm[]::new));
 			}
 			case OR: {
 				List<DocumentCondition> conditions = document.get(new TypeReference<List<DocumentCondition>>() {});
 				return DQL.or(conditions
 					.stream()
-					.map(c -> getCondition(c))
+					.map(QueryConverter::getCondition)
 					.toArray(DQLTerm[]::new));
 			}
 			case NOT:
@@ -173,17 +186,112 @@ public enum QueryConverter {
 				throw new IllegalStateException("This condition is not supported in Darwino: " + condition.getCondition()); //$NON-NLS-1$
 		}
 	}
+	
+	/**
+	 * Converts the provided condition to a DQL query that refers to comparison values
+	 * via named variables, to be bound with {@code DominoQuery#setNamedVariable}.
+	 * 
+	 * <p>The rendered query text is cached based on the shape of the condition - the
+	 * item names and operators involved - so repeated queries that differ only in their
+	 * values skip building and rendering a {@link DQLTerm} tree and present the same
+	 * text to the DQL engine. Values for "contains" terms are full-text search expressions
+	 * and remain inline in the query.</p>
+	 * 
+	 * @param condition the condition to convert; may be {@code null}
+	 * @param formName the form name to restrict the query to; may be {@code null}
+	 * @return a {@link ParameterizedDQL} object with the query and its variable values
+	 * @since 2.15.0
+	 */
+	public static ParameterizedDQL prepare(DocumentCondition condition, String formName) {
+		StringBuilder shape = new StringBuilder();
+		appendShapeValue(shape, formName == null ? "" : formName); //$NON-NLS-1$
+		List<Object> values = new ArrayList<>();
+		if(condition != null) {
+			collectShape(condition, shape, values);
+		}
+		
+		String key = shape.toString();
+		String dql = STATEMENTS.get(key);
+		if(dql == null) {
+			DQLTerm statement = condition == null ? null : getParameterizedCondition(condition, new AtomicInteger());
+			statement = applyFormName(statement, formName);
+			dql = statement == null ? DQL.all().toString() : statement.toString();
+			STATEMENTS.put(key, dql);
+		}
+		
+		Map<String, Object> parameters = new LinkedHashMap<>();
+		for(int i = 0; i < values.size(); i++) {
+			parameters.put(VARIABLE_PREFIX + i, values.get(i));
+		}
+		return new ParameterizedDQL(dql, parameters);
+	}
+
+	/**
+	 * Collects the names of the items referenced by the provided condition, using the
+	 * same special-name translation as {@link #prepare(DocumentCondition, String)}. Names
+	 * beginning with "@" represent formula functions rather than real items.
+	 * 
+	 * @param condition the condition to inspect
+	 * @return a {@link Set} of item names referenced by the condition
+	 * @since 2.15.0
+	 */
+	public static Set<String> getItemNames(DocumentCondition condition) {
+		Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		collectItemNames(condition, result);
+		return result;
+	}
+
+	/**
+	 * Represents a rendered DQL query and the values of the named variables it refers to.
+	 * 
+	 * @since 2.15.0
+	 */
+	public static class ParameterizedDQL {
+		private final String dql;
+		private final Map<String, Object> parameters;
+		
+		ParameterizedDQL(String dql, Map<String, Object> parameters) {
+			this.dql = dql;
+			this.parameters = Collections.unmodifiableMap(parameters);
+		}
+		
+		/**
+		 * @return the DQL query text
+		 */
+		public String getDql() {
+			return dql;
+		}
+		
+		/**
+		 * @return the values of the named variables used in the query, keyed by
+		 *         variable name. Values are {@link String}, {@link Double},
+		 *         {@link LocalDate}, {@link LocalTime}, or {@link Instant}
+		 *         objects
+		 */
+		public Map<String, Object> getParameters() {
+			return parameters;
+		}
+		
+		@Override
+		public String toString() {
+			return dql + ' ' + parameters;
+		}
+	}
 
 	public static class QueryConverterResult {
 
 		private final String[] unids;
-		private final DQLTerm dql;
+		private final ParameterizedDQL dql;
+		private final DocumentCondition condition;
+		private final String formName;
 		private final long skip;
 		private final long limit;
 
-		QueryConverterResult(String[] unids, DQLTerm dql, long skip, long limit) {
+		QueryConverterResult(String[] unids, ParameterizedDQL dql, DocumentCondition condition, String formName, long skip, long limit) {
 			this.unids = unids;
 			this.dql = dql;
+			this.condition = condition;
+			this.formName = formName;
 			this.skip = skip;
 			this.limit = limit;
 		}
@@ -192,10 +300,27 @@ public enum QueryConverter {
 			return unids;
 		}
 
-		public DQLTerm getStatement() {
+		/**
+		 * @return the parameterized DQL statement for the query
+		 * @since 2.15.0
+		 */
+		public ParameterizedDQL getParameterizedStatement() {
 			return dql;
 		}
 		
+		/**
+		 * @return the DQL statement for the query, with its comparison values written
+		 *         inline
+		 * @deprecated use {@link #getParameterizedStatement()}, which binds values as
+		 *             named variables
+		 */
+		@Deprecated
+		public DQLTerm getStatement() {
+			DQLTerm statement = condition == null ? null : getCondition(condition);
+			statement = applyFormName(statement, formName);
+			return statement == null ? DQL.all() : statement;
+		}
+		
 		public long getSkip() {
 			return skip;
 		}
@@ -217,4 +342,178 @@ public enum QueryConverter {
 			}
 		}
 	}
+
+	private static void collectShape(DocumentCondition condition, StringBuilder shape, List<Object> values) {
+		Document document = condition.getDocument();
+		Condition type = condition.getCondition();
+		switch(type) {
+			case AND:
+			case OR: {
+				List<DocumentCondition> conditions = document.get(new TypeReference<List<DocumentCondition>>() {});
+				shape.append(type).append('(');
+				conditions.forEach(c -> collectShape(c, shape, values));
+				shape.append(')');
+				break;
+			}
+			case NOT:
+				shape.append(type).append('(');
+				collectShape(document.get(DocumentCondition.class), shape, values);
+				shape.append(')');
+				break;
+			case EQUALS:
+			case LESSER_THAN:
+			case LESSER_EQUALS_THAN:
+			case GREATER_THAN:
+			case GREATER_EQUALS_THAN:
+				appendShapeValue(shape, toItemName(document.getName()));
+				shape.append(type).append(';');
+				values.add(toParameterValue(document.get()));
+				break;
+			case LIKE:
+			case IN:
+				appendShapeValue(shape, toItemName(document.getName()));
+				shape.append(type).append(';');
+				appendShapeValue(shape, toContainsValue(type, document.get()));
+				break;
+			default:
+				throw new IllegalStateException("This condition is not supported in Darwino: " + type); //$NON-NLS-1$
+		}
+	}
+	
+	private static DQLTerm getParameterizedCondition(DocumentCondition condition, AtomicInteger variableIndex) {
+		Document document = condition.getDocument();
+		switch(condition.getCondition()) {
+			case EQUALS:
+				return DQL.item(toItemName(document.getName())).isEqualTo(nextVariable(variableIndex));
+			case LESSER_THAN:
+				return DQL.item(toItemName(document.getName())).isLessThan(nextVariable(variableIndex));
+			case LESSER_EQUALS_THAN:
+				return DQL.item(toItemName(document.getName())).isLessThanOrEqual(nextVariable(variableIndex));
+			case GREATER_THAN:
+				return DQL.item(toItemName(document.getName())).isGreaterThan(nextVariable(variableIndex));
+			case GREATER_EQUALS_THAN:
+				return DQL.item(toItemName(document.getName())).isGreaterThanOrEqual(nextVariable(variableIndex));
+			case LIKE:
+			case IN:
+				// TODO investigate @Like
+				return DQL.item(toItemName(document.getName())).contains(toContainsValue(condition.getCondition(), document.get()));
+			case AND: {
+				List<DocumentCondition> conditions = document.get(new TypeReference<List<DocumentCondition>>() {});
+				return DQL.and(conditions
+					.stream()
+					.map(c -> getParameterizedCondition(c, variableIndex))
+					.toArray(DQLTerm[]::new));
+			}
+			case OR: {
+				List<DocumentCondition> conditions = document.get(new TypeReference<List<DocumentCondition>>() {});
+				return DQL.or(conditions
+					.stream()
+					.map(c -> getParameterizedCondition(c, variableIndex))
+					.toArray(DQLTerm[]::new));
+			}
+			case NOT:
+				DocumentCondition dc = document.get(DocumentCondition.class);
+				return DQL.not(getParameterizedCondition(dc, variableIndex));
+			default:
+				throw new IllegalStateException("This condition is not supported in Darwino: " + condition.getCondition()); //$NON-NLS-1$
+		}
+	}
+	
+	private static NamedVariable nextVariable(AtomicInteger variableIndex) {
+		return DQL.variable(VARIABLE_PREFIX + variableIndex.getAndIncrement());
+	}
+	
+	private static Object toParameterValue(Object value) {
+		if(value instanceof Number) {
+			return ((Number)value).doubleValue();
+		} else if(value instanceof Temporal) {
+			return toTemporalParameterValue((Temporal)value);
+		} else if(value != null && value.getClass().isEnum()) {
+			return value.toString();
+		} else {
+			return value == null ? "" : value.toString(); //$NON-NLS-1$
+		}
+	}
+	
+	/**
+	 * Converts the provided temporal value to a {@link LocalDate}, {@link LocalTime},
+	 * or {@link Instant}, which are the types that can be bound to a DQL variable.
+	 * Values without a zone or offset are interpreted in the system default zone.
+	 */
+	private static Temporal toTemporalParameterValue(Temporal value) {
+		if(value instanceof LocalDate || value instanceof LocalTime || value instanceof Instant) {
+			return value;
+		} else if(value instanceof LocalDateTime) {
+			return ((LocalDateTime)value).atZone(ZoneId.systemDefault()).toInstant();
+		} else if(value instanceof OffsetTime) {
+			ZoneOffset offset = ZoneId.systemDefault().getRules().getOffset(Instant.now());
+			return ((OffsetTime)value).withOffsetSameInstant(offset).toLocalTime();
+		} else if(value instanceof YearMonth) {
+			return ((YearMonth)value).atDay(1);
+		} else if(value instanceof Year) {
+			return ((Year)value).atDay(1);
+		} else if(value.isSupported(ChronoField.INSTANT_SECONDS)) {
+			return Instant.from(value);
+		} else if(value.isSupported(ChronoField.EPOCH_DAY)) {
+			return LocalDate.from(value);
+		} else if(value.isSupported(ChronoField.NANO_OF_DAY)) {
+			return LocalTime.from(value);
+		} else {
+			throw new IllegalArgumentException(MessageFormat.format("Unable to use temporal value of type {0} in a query", value.getClass().getName()));
+		}
+	}
+	
+	private static String toContainsValue(Condition type, Object value) {
+		if(value instanceof Number) {
+			throw new IllegalArgumentException(MessageFormat.format("Unable to perform {0} query on a number", type));
+		}
+		return value == null ? "" : value.toString(); //$NON-NLS-1$
+	}
+	
+	private static void appendShapeValue(StringBuilder shape, String value) {
+		// Length-prefix values to keep keys unambiguous
+		shape.append(value.length()).append(':').append(value);
+	}
+
+	private static void collectItemNames(DocumentCondition condition, Set<String> names) {
+		Document document = condition.getDocument();
+		switch(condition.getCondition()) {
+			case AND:
+			case OR: {
+				List<DocumentCondition> conditions = document.get(new TypeReference<List<DocumentCondition>>() {});
+				conditions.forEach(c -> collectItemNames(c, names));
+				break;
+			}
+			case NOT:
+				collectItemNames(document.get(DocumentCondition.class), names);
+				break;
+			default:
+				names.add(toItemName(document.getName()));
+				break;
+		}
+	}
+	
+	private static String toItemName(String propName) {
+		String name = String.valueOf(propName);
+		if (DominoConstants.FIELD_ID.equals(name)) {
+			name = "@DocumentUniqueID"; //$NON-NLS-1$
+		} else if(DominoConstants.FIELD_CDATE.equals(name)) {
+			name = "@Created"; //$NON-NLS-1$
+		} else if(DominoConstants.FIELD_MDATE.equals(name)) {
+			name = "@Modified"; //$NON-NLS-1$
+		} else if("$REF".equalsIgnoreCase(name)) { //$NON-NLS-1$
+			name = "@Text($REF)"; //$NON-NLS-1$
+		} else if(DominoConstants.FIELD_SIZE.equals(name)) {
+			name = "@DocLength"; //$NON-NLS-1$
+		} else if(DominoConstants.FIELD_NOTEID.equals(name)) {
+			name = "@NoteID"; //$NON-NLS-1$
+		} else if(DominoConstants.FIELD_ADATE.equals(name)) {
+			name = "@Accessed"; //$NON-NLS-1$
+		} else if(DominoConstants.FIELD_ADDED.equals(name)) {
+			name = "@AddedToThisFile"; //$NON-NLS-1$
+		} else if(DominoConstants.FIELD_MODIFIED_IN_THIS_FILE.equals(name)) {
+			name = "@ModifiedInThisFile"; //$NON-NLS-1$
+		}
+		return name;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.communication.driver.impl;
+
+import java.util.Optional;
+
+import org.openntf.xsp.nosql.mapping.extension.QueryCursor;
+
+/**
+ * Tracks the {@link QueryCursor} settings requested by the repository method
+ * currently executing on this thread, since the method itself is not visible
+ * to the collection manager.
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public enum QueryCursorContext {
+	;
+	
+	private static final ThreadLocal<QueryCursor> CURSOR = new ThreadLocal<>();
+	
+	public static void set(QueryCursor cursor) {
+		if(cursor != null) {
+			CURSOR.set(cursor);
+		} else {
+			CURSOR.remove();
+		}
+	}
+	
+	public static Optional<QueryCursor> get() {
+		return Optional.ofNullable(CURSOR.get());
+	}
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.communication.driver.impl;
+
+import java.util.OptionalInt;
+
+import org.openntf.xsp.nosql.mapping.extension.ViewDocuments;
+import org.openntf.xsp.nosql.mapping.extension.ViewEntries;
+
+/**
+ * Tracks the view buffer size requested via {@link ViewEntries#bufferSize()} or
+ * {@link ViewDocuments#bufferSize()} by the repository method currently executing
+ * on this thread.
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public enum ViewBufferContext {
+	;
+	
+	private static final ThreadLocal<Integer> BUFFER_SIZE = new ThreadLocal<>();
+	
+	public static void set(int bufferSize) {
+		if(bufferSize > 0) {
+			BUFFER_SIZE.set(bufferSize);
+		} else {
+			BUFFER_SIZE.remove();
+		}
+	}
+	
+	public static OptionalInt get() {
+		Integer bufferSize = BUFFER_SIZE.get();
+		return bufferSize == null ? OptionalInt.empty() : OptionalInt.of(bufferSize);
+	}
+}
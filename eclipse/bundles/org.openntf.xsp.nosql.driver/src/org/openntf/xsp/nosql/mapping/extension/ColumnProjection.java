@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.mapping.extension;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation can be placed on an entity class or on a query method in a
+ * {@link DominoRepository} interface to indicate that sorted queries should read
+ * item values from the generated QueryResultsProcessor view columns rather than
+ * opening each matching document.
+ * 
+ * <p>This only takes effect when all mapped properties of the entity are scalar
+ * items stored in the default format. When the entity maps rich text, MIME, JSON,
+ * attachment, DXL, or other computed properties, queries fall back to reading the
+ * documents.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ TYPE, METHOD })
+public @interface ColumnProjection {
+}
@@ -20,6 +20,7 @@ import java.util.stream.Stream;
 
 import org.openntf.xsp.nosql.communication.driver.ViewInfo;
 
+import jakarta.nosql.document.DocumentQuery;
 import jakarta.nosql.mapping.Pagination;
 import jakarta.nosql.mapping.Sorts;
 import jakarta.nosql.mapping.document.DocumentTemplate;
@@ -115,6 +116,66 @@ public interface DominoTemplate extends DocumentTemplate {
      */
     <T> T update(T entity, boolean computeWithForm);
     
+    /**
+     * Inserts entities in batches, optionally computing with the documents' form.
+     *
+     * @param entities entities to insert
+     * @param <T>    the instance type
+     * @param computeWithForm whether to compute the documents with their form
+     * @return the entities saved
+     * @throws NullPointerException when entities is null
+     * @since 2.15.0
+     */
+    <T> Iterable<T> insert(Iterable<T> entities, boolean computeWithForm);
+    
+    /**
+     * Updates entities in batches, optionally computing with the documents' form.
+     *
+     * @param entities entities to update
+     * @param <T>    the instance type
+     * @param computeWithForm whether to compute the documents with their form
+     * @return the entities saved
+     * @throws NullPointerException when entities is null
+     * @since 2.15.0
+     */
+    <T> Iterable<T> update(Iterable<T> entities, boolean computeWithForm);
+    
+    /**
+     * Saves entity, updating the existing document when present and inserting
+     * it otherwise, optionally computing with the document's form.
+     *
+     * @param entity entity to save
+     * @param <T>    the instance type
+     * @param computeWithForm whether to compute the document with its form
+     * @return the entity saved
+     * @throws NullPointerException when entity is null
+     * @since 2.15.0
+     */
+    <T> T upsert(T entity, boolean computeWithForm);
+    
+    /**
+     * Saves entities in batches, updating existing documents and inserting
+     * the rest, optionally computing with the documents' form.
+     *
+     * @param entities entities to save
+     * @param <T>    the instance type
+     * @param computeWithForm whether to compute the documents with their form
+     * @return the entities saved
+     * @throws NullPointerException when entities is null
+     * @since 2.15.0
+     */
+    <T> Iterable<T> upsert(Iterable<T> entities, boolean computeWithForm);
+    
+    /**
+     * Counts the documents matching the provided query, using cached counts when
+     * the underlying database has not changed.
+     * 
+     * @param query the query to count
+     * @return the number of matching documents
+     * @since 2.15.0
+     */
+    long count(DocumentQuery query);
+    
     /**
      * Determines whether a document exists with the provided UNID.
      * 
@@ -61,6 +61,30 @@ public @interface ItemStorage {
 		JSON
 	}
 	
+	/**
+	 * Determines the encoding of the body of a {@link Type#MIMEBean} part.
+	 * 
+	 * @since 2.15.0
+	 */
+	enum MIMEBeanFormat {
+		/**
+		 * Stores the value using standard Java serialization, with a
+		 * Content-Type of {@code application/x-java-serialized-object}.
+		 */
+		Serialized,
+		/**
+		 * Stores the value using standard Java serialization, compressed with
+		 * GZIP and marked with a {@code Content-Encoding: gzip} header.
+		 */
+		CompressedSerialized,
+		/**
+		 * Stores the value as JSON serialized using JSON-B, with a Content-Type
+		 * of {@code application/json}. The stored value is read back using the
+		 * declared type of the field.
+		 */
+		JSON
+	}
+	
 	Type type() default Type.Default;
 	
 	/**
@@ -71,6 +95,18 @@ public @interface ItemStorage {
 	 */
 	String mimeType() default "text/html";
 	
+	/**
+	 * When storing an item using type {@link Type#MIMEBean}, this value determines
+	 * the format of the stored body.
+	 * 
+	 * <p>Existing values are read based on their stored headers, so this may be
+	 * changed without migrating existing documents.</p>
+	 * 
+	 * @return the format to use for MIMEBean storage
+	 * @since 2.15.0
+	 */
+	MIMEBeanFormat mimeBeanFormat() default MIMEBeanFormat.Serialized;
+	
 	/**
 	 * Indicates whether this value should be written to the back end when
 	 * creating a new document.
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.mapping.extension;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation can be placed on a query method returning a {@link java.util.stream.Stream}
+ * in a {@link DominoRepository} interface to read its DQL results as a cursor with bounded
+ * handle usage.
+ * 
+ * <p>Documents are read one at a time from the underlying collection and their handles are
+ * recycled in groups of {@link #batchSize()}. Closing the returned {@code Stream}, such as
+ * via try-with-resources, releases any outstanding handles even when the stream is not
+ * fully consumed.</p>
+ * 
+ * <p>The scan and timeout limits are passed to the DQL engine. They are hard limits,
+ * not a way to get partial results: when a query exceeds one of them, the DQL engine
+ * stops and reports an error instead of returning the documents found so far. In that
+ * case, the repository method throws a {@link RuntimeException} whose cause is the
+ * {@code NotesException} reported by the engine, and no documents are
+ * returned. Callers that want to handle an exceeded limit should catch that exception
+ * around the repository call.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target(METHOD)
+public @interface QueryCursor {
+	/**
+	 * @return the number of documents to read before recycling their handles as a group
+	 */
+	int batchSize() default 100;
+	
+	/**
+	 * @return the maximum number of documents the DQL engine may scan before
+	 *         failing the query, or {@code 0}
+	 *         to use the server default
+	 */
+	int maxScanDocs() default 0;
+	
+	/**
+	 * @return the maximum number of view entries the DQL engine may scan before
+	 *         failing the query, or {@code 0}
+	 *         to use the server default
+	 */
+	int maxScanEntries() default 0;
+	
+	/**
+	 * @return the maximum number of seconds the DQL engine may run before
+	 *         failing the query, or {@code 0}
+	 *         to use the server default
+	 */
+	int timeoutSec() default 0;
+}
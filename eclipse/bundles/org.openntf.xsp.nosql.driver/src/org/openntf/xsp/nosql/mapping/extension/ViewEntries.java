@@ -52,4 +52,15 @@ public @interface ViewEntries {
 	 * @since 2.7.0
 	 */
 	boolean documentsOnly() default false;
+	
+	/**
+	 * Sets the number of view entries to read from the server at a time. When not
+	 * specified, this is chosen based on the width of the view and the requested
+	 * number of entries.
+	 * 
+	 * @return the number of entries to buffer per read, or {@code -1} to
+	 *         determine this automatically
+	 * @since 2.15.0
+	 */
+	int bufferSize() default -1;
 }
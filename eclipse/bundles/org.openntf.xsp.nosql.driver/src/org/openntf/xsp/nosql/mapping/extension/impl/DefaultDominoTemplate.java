@@ -15,8 +15,11 @@
  */
 package org.openntf.xsp.nosql.mapping.extension.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.eclipse.jnosql.mapping.document.AbstractDocumentTemplate;
@@ -29,6 +32,8 @@ import org.openntf.xsp.nosql.mapping.extension.ViewQuery;
 import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.spi.CDI;
 import jakarta.inject.Inject;
+import jakarta.nosql.document.DocumentEntity;
+import jakarta.nosql.document.DocumentQuery;
 import jakarta.nosql.mapping.Converters;
 import jakarta.nosql.mapping.Entity;
 import jakarta.nosql.mapping.Pagination;
@@ -142,6 +147,42 @@ public class DefaultDominoTemplate extends AbstractDocumentTemplate implements D
 		return getWorkflow().flow(entity, documentEntity -> getManager().update(documentEntity, computeWithForm));
 	}
 	
+	@Override
+	public <T> Iterable<T> insert(Iterable<T> entities) {
+		return insert(entities, false);
+	}
+	
+	@Override
+	public <T> Iterable<T> insert(Iterable<T> entities, boolean computeWithForm) {
+		return saveBatch(entities, documentEntities -> getManager().insert(documentEntities, computeWithForm));
+	}
+	
+	@Override
+	public <T> Iterable<T> update(Iterable<T> entities) {
+		return update(entities, false);
+	}
+	
+	@Override
+	public <T> Iterable<T> update(Iterable<T> entities, boolean computeWithForm) {
+		return saveBatch(entities, documentEntities -> getManager().update(documentEntities, computeWithForm));
+	}
+	
+	@Override
+	public <T> T upsert(T entity, boolean computeWithForm) {
+		return getWorkflow().flow(entity, documentEntity -> getManager().upsert(documentEntity, computeWithForm));
+	}
+	
+	@Override
+	public <T> Iterable<T> upsert(Iterable<T> entities, boolean computeWithForm) {
+		return saveBatch(entities, documentEntities -> getManager().upsert(documentEntities, computeWithForm));
+	}
+	
+	@Override
+	public long count(DocumentQuery query) {
+		Objects.requireNonNull(query, "query is required");
+		return getManager().count(query);
+	}
+	
 	@Override
 	public boolean existsById(String unid) {
 		return getManager().existsById(unid);
@@ -177,5 +218,60 @@ public class DefaultDominoTemplate extends AbstractDocumentTemplate implements D
 	public <T> Optional<T> getProfileDocument(String entityName, String profileName, String userName) {
 		return getManager().getProfileDocument(entityName, profileName, userName).map(getConverter()::toEntity);
 	}
+	
+	/**
+	 * Performs the same steps as {@link DocumentWorkflow#flow} for a group of entities,
+	 * reading the entities as it goes and handing the converted documents to the
+	 * manager in chunks of {@link DominoDocumentCollectionManager#getBatchSize()}.
+	 */
+	private <T> Iterable<T> saveBatch(Iterable<T> entities, Function<List<DocumentEntity>, Iterable<DocumentEntity>> action) {
+		Objects.requireNonNull(entities, "entities is required");
+		DocumentEntityConverter converter = getConverter();
+		DocumentEventPersistManager persistManager = getPersistManager();
+		int batchSize = getManager().getBatchSize();
+		
+		List<T> result = new ArrayList<>();
+		List<T> source = new ArrayList<>();
+		List<DocumentEntity> documentEntities = new ArrayList<>();
+		for(T entity : entities) {
+			Objects.requireNonNull(entity, "entity is required");
+			persistManager.firePreEntity(entity);
+			persistManager.firePreDocumentEntity(entity);
+			DocumentEntity documentEntity = converter.toDocument(entity);
+			persistManager.firePreDocument(documentEntity);
+			source.add(entity);
+			documentEntities.add(documentEntity);
+			
+			if(source.size() >= batchSize) {
+				saveChunk(source, documentEntities, action, result);
+			}
+		}
+		if(!source.isEmpty()) {
+			saveChunk(source, documentEntities, action, result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Saves a chunk of converted entities, fires the post-save events for them, adds
+	 * the resulting entities to {@code result}, and clears the chunk lists.
+	 */
+	private <T> void saveChunk(List<T> source, List<DocumentEntity> documentEntities, Function<List<DocumentEntity>, Iterable<DocumentEntity>> action, List<T> result) {
+		DocumentEntityConverter converter = getConverter();
+		DocumentEventPersistManager persistManager = getPersistManager();
+		
+		action.apply(documentEntities);
+		
+		for(int i = 0; i < source.size(); i++) {
+			DocumentEntity documentEntity = documentEntities.get(i);
+			persistManager.firePostDocument(documentEntity);
+			T entity = converter.toEntity(source.get(i), documentEntity);
+			persistManager.firePostEntity(entity);
+			persistManager.firePostDocumentEntity(entity);
+			result.add(entity);
+		}
+		source.clear();
+		documentEntities.clear();
+	}
 
 }
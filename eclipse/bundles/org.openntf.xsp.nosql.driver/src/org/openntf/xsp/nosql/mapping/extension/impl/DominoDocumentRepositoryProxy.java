@@ -15,36 +15,60 @@
  */
 package org.openntf.xsp.nosql.mapping.extension.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.text.MessageFormat;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
+import org.eclipse.jnosql.mapping.document.query.BaseDocumentRepository;
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
 import org.eclipse.jnosql.mapping.reflection.Reflections;
 import org.eclipse.jnosql.mapping.repository.DynamicReturn;
 import org.eclipse.jnosql.mapping.repository.DynamicReturn.DefaultDynamicReturnBuilder;
 import org.eclipse.jnosql.mapping.repository.RepositoryReturn;
+import org.openntf.xsp.nosql.communication.driver.impl.ColumnProjectionContext;
+import org.openntf.xsp.nosql.communication.driver.impl.QueryCursorContext;
+import org.openntf.xsp.nosql.communication.driver.impl.ViewBufferContext;
+import org.openntf.xsp.nosql.mapping.extension.ColumnProjection;
 import org.openntf.xsp.nosql.mapping.extension.DominoRepository;
 import org.openntf.xsp.nosql.mapping.extension.DominoTemplate;
+import org.openntf.xsp.nosql.mapping.extension.QueryCursor;
 import org.openntf.xsp.nosql.mapping.extension.ViewDocuments;
 import org.openntf.xsp.nosql.mapping.extension.ViewEntries;
 import org.openntf.xsp.nosql.mapping.extension.ViewQuery;
 
 import jakarta.enterprise.inject.spi.CDI;
 import jakarta.nosql.ServiceLoaderProvider;
+import jakarta.nosql.document.DocumentQuery;
+import jakarta.nosql.mapping.Converters;
 import jakarta.nosql.mapping.Entity;
 import jakarta.nosql.mapping.Pagination;
 import jakarta.nosql.mapping.Repository;
 import jakarta.nosql.mapping.Sorts;
+import jakarta.nosql.mapping.document.DocumentTemplate;
 
 /**
  * Implementation proxy for extended capabilities for Domino document
  * repositories.
  * 
+ * <p>Each repository method is analyzed once on first use to produce an
+ * {@link InvocationPlan}, which is then reused for later calls.</p>
+ * 
+ * <p>{@code countBy} query methods are executed via
+ * {@link DominoTemplate#count(DocumentQuery)}, allowing repeated counts to be
+ * served from the count cache.</p>
+ * 
  * @author Jesse Gallagher
  *
  * @param <T> the model-object type produced by the repository
@@ -62,6 +86,10 @@ public class DominoDocumentRepositoryProxy<T> implements InvocationHandler {
 	private static final Method getViewInfo;
 	private static final Method findNamedDocument;
 	private static final Method findProfileDocument;
+	private static final Method save;
+	private static final Method saveAll;
+	
+	private static final String PREFIX_COUNT_BY = "countBy"; //$NON-NLS-1$
 	
 	static {
 		try {
@@ -75,47 +103,65 @@ public class DominoDocumentRepositoryProxy<T> implements InvocationHandler {
 			getViewInfo = DominoRepository.class.getDeclaredMethod("getViewInfo"); //$NON-NLS-1$
 			findNamedDocument = DominoRepository.class.getDeclaredMethod("findNamedDocument", String.class, String.class); //$NON-NLS-1$
 			findProfileDocument = DominoRepository.class.getDeclaredMethod("findProfileDocument", String.class, String.class); //$NON-NLS-1$
+			save = Repository.class.getDeclaredMethod("save", Object.class); //$NON-NLS-1$
+			saveAll = Repository.class.getDeclaredMethod("saveAll", Iterable.class); //$NON-NLS-1$
 		} catch (NoSuchMethodException | SecurityException e) {
 			throw new RuntimeException(e);
 		}
 	}
+	
+	private enum Dispatch {
+		VIEW_ENTRIES, READ_VIEW_ENTRIES, VIEW_DOCUMENTS, READ_VIEW_DOCUMENTS,
+		PUT_IN_FOLDER, REMOVE_FROM_FOLDER, SAVE_WITH_FORM, SAVE, SAVE_ALL,
+		GET_BY_NOTE_ID, GET_BY_NOTE_ID_INT, GET_VIEW_INFO,
+		FIND_NAMED_DOCUMENT, FIND_PROFILE_DOCUMENT,
+		COUNT_BY, QUERY_OPTIONS, DELEGATE
+	}
 
 	private final Class<T> typeClass;
+	private final String entityName;
 	private final DominoTemplate template;
 	private final Repository<?, String> repository;
+	private final Map<Method, InvocationPlan> plans = new ConcurrentHashMap<>();
+	private final Map<Class<?>, MethodHandle> idAccessors = new ConcurrentHashMap<>();
+	private volatile MethodQueryBuilder queryBuilder;
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	DominoDocumentRepositoryProxy(DominoTemplate template, Class<?> repositoryType, Repository<?, String> repository) {
         this.template = template;
         this.typeClass = (Class) ((ParameterizedType) repositoryType.getGenericInterfaces()[0])
                 .getActualTypeArguments()[0];
-        if(!typeClass.isAnnotationPresent(Entity.class)) {
+        Entity entity = typeClass.getAnnotation(Entity.class);
+        if(entity == null) {
         	throw new IllegalStateException(MessageFormat.format("Target type \"{0}\" for repository class \"{1}\" is missing an @Entity annotation", typeClass.getName(), repositoryType.getName()));
         }
+        String name = entity.value();
+        this.entityName = name == null || name.isEmpty() ? typeClass.getSimpleName() : name;
         this.repository = repository;
     }
 
 	@Override
 	public Object invoke(Object o, Method method, Object[] args) throws Throwable {
+		InvocationPlan plan = plans.computeIfAbsent(method, this::buildPlan);
 		
-		// View entries support
-		ViewEntries viewEntries = method.getAnnotation(ViewEntries.class);
-		if(viewEntries != null) {
-			Pagination pagination = findArg(args, Pagination.class);
-			ViewQuery viewQuery = findArg(args, ViewQuery.class);
-			Sorts sorts = findArg(args, Sorts.class);
+		switch(plan.dispatch) {
+		case VIEW_ENTRIES: {
+			ViewEntries viewEntries = plan.viewEntries;
+			Pagination pagination = plan.getArg(args, plan.paginationIndex, Pagination.class);
+			ViewQuery viewQuery = plan.getArg(args, plan.viewQueryIndex, ViewQuery.class);
+			Sorts sorts = plan.getArg(args, plan.sortsIndex, Sorts.class);
 			
-			String entityName = typeClass.getAnnotation(Entity.class).value();
-			if(entityName == null || entityName.isEmpty()) {
-				entityName = typeClass.getSimpleName();
+			// Restore any enclosing value, in case of nested repository calls
+			int previousBufferSize = ViewBufferContext.get().orElse(-1);
+			ViewBufferContext.set(viewEntries.bufferSize());
+			try {
+				Object result = template.viewEntryQuery(entityName, viewEntries.value(), pagination, sorts, viewEntries.maxLevel(), viewEntries.documentsOnly(), viewQuery, plan.singleResult);
+				return convert(result, method, plan);
+			} finally {
+				ViewBufferContext.set(previousBufferSize);
 			}
-			
-			Class<?> returnType = method.getReturnType();
-			boolean singleResult = !(Collection.class.isAssignableFrom(returnType) || Stream.class.isAssignableFrom(returnType));
-			Object result = template.viewEntryQuery(entityName, viewEntries.value(), pagination, sorts, viewEntries.maxLevel(), viewEntries.documentsOnly(), viewQuery, singleResult);
-			return convert(result, method);
 		}
-		if(method.equals(readViewEntries)) {
+		case READ_VIEW_ENTRIES: {
 			String viewName = (String)args[0];
 			int maxLevel = (int)args[1];
 			boolean documentsOnly = (boolean)args[2];
@@ -123,32 +169,27 @@ public class DominoDocumentRepositoryProxy<T> implements InvocationHandler {
 			Sorts sorts = (Sorts)args[4];
 			Pagination pagination = (Pagination)args[5];
 			
-			String entityName = typeClass.getAnnotation(Entity.class).value();
-			if(entityName == null || entityName.isEmpty()) {
-				entityName = typeClass.getSimpleName();
-			}
 			Object result = template.viewEntryQuery(entityName, viewName, pagination, sorts, maxLevel, documentsOnly, viewQuery, false);
-			return convert(result, method);
+			return convert(result, method, plan);
 		}
-		
-		// View documents support
-		ViewDocuments viewDocuments = method.getAnnotation(ViewDocuments.class);
-		if(viewDocuments != null) {
-			Pagination pagination = findArg(args, Pagination.class);
-			ViewQuery viewQuery = findArg(args, ViewQuery.class);
-			Sorts sorts = findArg(args, Sorts.class);
-			String entityName = typeClass.getAnnotation(Entity.class).value();
-			if(entityName == null || entityName.isEmpty()) {
-				entityName = typeClass.getSimpleName();
-			}
+		case VIEW_DOCUMENTS: {
+			ViewDocuments viewDocuments = plan.viewDocuments;
+			Pagination pagination = plan.getArg(args, plan.paginationIndex, Pagination.class);
+			ViewQuery viewQuery = plan.getArg(args, plan.viewQueryIndex, ViewQuery.class);
+			Sorts sorts = plan.getArg(args, plan.sortsIndex, Sorts.class);
 			boolean distinct = viewDocuments.distinct();
 			
-			Class<?> returnType = method.getReturnType();
-			boolean singleResult = !(Collection.class.isAssignableFrom(returnType) || Stream.class.isAssignableFrom(returnType));
-			Object result = template.viewDocumentQuery(entityName, viewDocuments.value(), pagination, sorts, viewDocuments.maxLevel(), viewQuery, singleResult, distinct);
-			return convert(result, method);
+			// Restore any enclosing value, in case of nested repository calls
+			int previousBufferSize = ViewBufferContext.get().orElse(-1);
+			ViewBufferContext.set(viewDocuments.bufferSize());
+			try {
+				Object result = template.viewDocumentQuery(entityName, viewDocuments.value(), pagination, sorts, viewDocuments.maxLevel(), viewQuery, plan.singleResult, distinct);
+				return convert(result, method, plan);
+			} finally {
+				ViewBufferContext.set(previousBufferSize);
+			}
 		}
-		if(method.equals(readViewDocuments)) {
+		case READ_VIEW_DOCUMENTS: {
 			String viewName = (String)args[0];
 			int maxLevel = (int)args[1];
 			boolean distinct = (boolean)args[2];
@@ -156,111 +197,191 @@ public class DominoDocumentRepositoryProxy<T> implements InvocationHandler {
 			Sorts sorts = (Sorts)args[4];
 			Pagination pagination = (Pagination)args[5];
 			
-			String entityName = typeClass.getAnnotation(Entity.class).value();
-			if(entityName == null || entityName.isEmpty()) {
-				entityName = typeClass.getSimpleName();
-			}
 			Object result = template.viewDocumentQuery(entityName, viewName, pagination, sorts, maxLevel, viewQuery, false, distinct);
-			return convert(result, method);
+			return convert(result, method, plan);
 		}
-		
-		if(method.equals(putInFolder)) {
+		case PUT_IN_FOLDER: {
 			String id = getId(args[0]);
 			String folderName = (String)args[1];
 			
 			template.putInFolder(id, folderName);
 			return null;
 		}
-		
-		if(method.equals(removeFromFolder)) {
+		case REMOVE_FROM_FOLDER: {
 			String id = getId(args[0]);
 			String folderName = (String)args[1];
 			
 			template.removeFromFolder(id, folderName);
 			return null;
 		}
-		
-		if(method.equals(saveWithForm)) {
-			String id = getId(args[0]);
-			if(id !=null && !id.isEmpty() && template.existsById(id)) {
-				Object result = template.update(args[0], (boolean)args[1]);
-				return convert(result, method);
-			} else {
-				Object result = template.insert(args[0], (boolean)args[1]);
-				return convert(result, method);
-			}
+		case SAVE_WITH_FORM: {
+			// Opens an existing document only once, rather than checking for it first
+			Object result = template.upsert(args[0], (boolean)args[1]);
+			return convert(result, method, plan);
 		}
-		
-		if(method.equals(getByNoteId)) {
-			String entityName = typeClass.getAnnotation(Entity.class).value();
-			if(entityName == null || entityName.isEmpty()) {
-				entityName = typeClass.getSimpleName();
-			}
+		case SAVE:
+			return template.upsert(args[0], false);
+		case SAVE_ALL:
+			return template.upsert((Iterable<?>)args[0], false);
+		case GET_BY_NOTE_ID: {
 			Object result = template.getByNoteId(entityName, (String)args[0]);
-			return convert(result, method);
+			return convert(result, method, plan);
 		}
-		
-		if(method.equals(getByNoteIdInt)) {
-			String entityName = typeClass.getAnnotation(Entity.class).value();
-			if(entityName == null || entityName.isEmpty()) {
-				entityName = typeClass.getSimpleName();
-			}
+		case GET_BY_NOTE_ID_INT: {
 			Object result = template.getByNoteId(entityName, Integer.toHexString((int)args[0]));
-			return convert(result, method);
+			return convert(result, method, plan);
 		}
-		
-		if(method.equals(getViewInfo)) {
+		case GET_VIEW_INFO:
 			return template.getViewInfo();
+		case FIND_NAMED_DOCUMENT: {
+			Object result = template.getByName(entityName, (String)args[0], (String)args[1]);
+			return convert(result, method, plan);
 		}
-		
-		if(method.equals(findNamedDocument)) {
-			String entityName = typeClass.getAnnotation(Entity.class).value();
-			if(entityName == null || entityName.isEmpty()) {
-				entityName = typeClass.getSimpleName();
+		case FIND_PROFILE_DOCUMENT: {
+			Object result = template.getProfileDocument(entityName, (String)args[0], (String)args[1]);
+			return convert(result, method, plan);
+		}
+		case COUNT_BY: {
+			DocumentQuery query = getQueryBuilder().toQuery(method, args);
+			long count = template.count(query);
+			Class<?> returnType = method.getReturnType();
+			if(int.class.equals(returnType) || Integer.class.equals(returnType)) {
+				return (int)count;
 			}
-			Object result = template.getByName(entityName, (String)args[0], (String)args[1]);
-			return convert(result, method);
+			return count;
 		}
-		
-		if(method.equals(findProfileDocument)) {
-			String entityName = typeClass.getAnnotation(Entity.class).value();
-			if(entityName == null || entityName.isEmpty()) {
-				entityName = typeClass.getSimpleName();
+		case QUERY_OPTIONS: {
+			// Query options that need to be visible to the collection manager
+			boolean previousProjection = ColumnProjectionContext.isActive();
+			QueryCursor previousCursor = QueryCursorContext.get().orElse(null);
+			ColumnProjectionContext.setActive(plan.columnProjection);
+			QueryCursorContext.set(plan.queryCursor);
+			try {
+				return method.invoke(repository, args);
+			} catch(InvocationTargetException e) {
+				// Surface query failures, such as exceeded DQL limits, as thrown by the driver
+				throw e.getCause();
+			} finally {
+				ColumnProjectionContext.setActive(previousProjection);
+				QueryCursorContext.set(previousCursor);
 			}
-			Object result = template.getProfileDocument(entityName, (String)args[0], (String)args[1]);
-			return convert(result, method);
 		}
+		case DELEGATE:
+		default:
+			return method.invoke(repository, args);
+		}
+	}
+	
+	private InvocationPlan buildPlan(Method method) {
+		Dispatch dispatch;
+		ViewEntries viewEntries = method.getAnnotation(ViewEntries.class);
+		ViewDocuments viewDocuments = viewEntries == null ? method.getAnnotation(ViewDocuments.class) : null;
+		boolean columnProjection = method.isAnnotationPresent(ColumnProjection.class);
+		QueryCursor queryCursor = method.getAnnotation(QueryCursor.class);
+		
+		if(viewEntries != null) {
+			dispatch = Dispatch.VIEW_ENTRIES;
+		} else if(method.equals(readViewEntries)) {
+			dispatch = Dispatch.READ_VIEW_ENTRIES;
+		} else if(viewDocuments != null) {
+			dispatch = Dispatch.VIEW_DOCUMENTS;
+		} else if(method.equals(readViewDocuments)) {
+			dispatch = Dispatch.READ_VIEW_DOCUMENTS;
+		} else if(method.equals(putInFolder)) {
+			dispatch = Dispatch.PUT_IN_FOLDER;
+		} else if(method.equals(removeFromFolder)) {
+			dispatch = Dispatch.REMOVE_FROM_FOLDER;
+		} else if(method.equals(saveWithForm)) {
+			dispatch = Dispatch.SAVE_WITH_FORM;
+		} else if(method.equals(save)) {
+			dispatch = Dispatch.SAVE;
+		} else if(method.equals(saveAll)) {
+			dispatch = Dispatch.SAVE_ALL;
+		} else if(method.equals(getByNoteId)) {
+			dispatch = Dispatch.GET_BY_NOTE_ID;
+		} else if(method.equals(getByNoteIdInt)) {
+			dispatch = Dispatch.GET_BY_NOTE_ID_INT;
+		} else if(method.equals(getViewInfo)) {
+			dispatch = Dispatch.GET_VIEW_INFO;
+		} else if(method.equals(findNamedDocument)) {
+			dispatch = Dispatch.FIND_NAMED_DOCUMENT;
+		} else if(method.equals(findProfileDocument)) {
+			dispatch = Dispatch.FIND_PROFILE_DOCUMENT;
+		} else if(method.getName().startsWith(PREFIX_COUNT_BY) && method.getDeclaringClass() != Repository.class) {
+			dispatch = Dispatch.COUNT_BY;
+		} else if(columnProjection || queryCursor != null) {
+			dispatch = Dispatch.QUERY_OPTIONS;
+		} else {
+			dispatch = Dispatch.DELEGATE;
+		}
+		
+		Class<?> returnType = method.getReturnType();
+		boolean singleResult = !(Collection.class.isAssignableFrom(returnType) || Stream.class.isAssignableFrom(returnType));
 		
-		return method.invoke(repository, args);
+		// Only methods that convert their results need a RepositoryReturn
+		RepositoryReturn repoReturn = null;
+		if(dispatch != Dispatch.QUERY_OPTIONS && dispatch != Dispatch.DELEGATE && dispatch != Dispatch.GET_VIEW_INFO
+				&& dispatch != Dispatch.COUNT_BY && dispatch != Dispatch.SAVE && dispatch != Dispatch.SAVE_ALL) {
+			repoReturn = ServiceLoaderProvider.getSupplierStream(RepositoryReturn.class)
+				.filter(RepositoryReturn.class::isInstance)
+				.map(RepositoryReturn.class::cast)
+				.filter(r -> r.isCompatible(typeClass, returnType))
+				.findFirst()
+				.orElse(null);
+		}
+		
+		Class<?>[] paramTypes = method.getParameterTypes();
+		return new InvocationPlan(
+			dispatch,
+			viewEntries,
+			viewDocuments,
+			findParam(paramTypes, Pagination.class),
+			findParam(paramTypes, ViewQuery.class),
+			findParam(paramTypes, Sorts.class),
+			singleResult,
+			columnProjection,
+			queryCursor,
+			repoReturn
+		);
+	}
+	
+	private MethodQueryBuilder getQueryBuilder() {
+		MethodQueryBuilder builder = this.queryBuilder;
+		if(builder == null) {
+			ClassMapping classMapping = CDI.current().select(ClassMappings.class).get().get(typeClass);
+			Converters converters = CDI.current().select(Converters.class).get();
+			builder = new MethodQueryBuilder(classMapping, converters, template);
+			this.queryBuilder = builder;
+		}
+		return builder;
+	}
+	
+	private String getId(Object entity) throws Throwable {
+		MethodHandle accessor = idAccessors.computeIfAbsent(entity.getClass(), DominoDocumentRepositoryProxy::findIdAccessor);
+		return (String)accessor.invoke(entity);
 	}
 	
-	private String getId(Object entity) {
+	private static MethodHandle findIdAccessor(Class<?> entityClass) {
 		Reflections reflections = CDI.current().select(Reflections.class).get();
 		
-		Field idField = reflections.getFields(entity.getClass())
+		Field idField = reflections.getFields(entityClass)
 			.stream()
 			.filter(reflections::isIdField)
 			.findFirst()
-			.orElseThrow(() -> new IllegalStateException("Unable to find @Id field on " + entity.getClass()));
+			.orElseThrow(() -> new IllegalStateException("Unable to find @Id field on " + entityClass));
 		
 		try {
 			idField.setAccessible(true);
-			return (String)idField.get(entity);
+			return MethodHandles.lookup().unreflectGetter(idField)
+				.asType(MethodType.methodType(Object.class, Object.class));
 		} catch (IllegalArgumentException | IllegalAccessException e) {
 			throw new RuntimeException(e);
 		}
 	}
 	
 	@SuppressWarnings("unchecked")
-	private Object convert(Object result, Method method) {
-		Class<?> returnType = method.getReturnType();
-
-		RepositoryReturn repoReturn = ServiceLoaderProvider.getSupplierStream(RepositoryReturn.class)
-				.filter(RepositoryReturn.class::isInstance)
-				.map(RepositoryReturn.class::cast)
-				.filter(r -> r.isCompatible(typeClass, returnType))
-				.findFirst()
-				.orElse(null);
+	private Object convert(Object result, Method method, InvocationPlan plan) {
+		RepositoryReturn repoReturn = plan.repositoryReturn;
 		if(repoReturn == null) {
 			return result;
 		} else {
@@ -286,15 +407,87 @@ public class DominoDocumentRepositoryProxy<T> implements InvocationHandler {
 		}
 	}
 	
-	private <A> A findArg(Object[] args, Class<A> clazz) {
-		if(args != null) {
-			return Stream.of(args)
-				.filter(clazz::isInstance)
-				.map(clazz::cast)
-				.findFirst()
-				.orElse(null);
-		} else {
-			return null;
+	private static int findParam(Class<?>[] paramTypes, Class<?> clazz) {
+		for(int i = 0; i < paramTypes.length; i++) {
+			if(clazz.isAssignableFrom(paramTypes[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Converts query-method names and arguments to {@link DocumentQuery} objects
+	 * using the same parser and parameter binding as the standard repository
+	 * implementation.
+	 */
+	private static class MethodQueryBuilder extends BaseDocumentRepository<Object> {
+		private final ClassMapping classMapping;
+		private final Converters converters;
+		private final DocumentTemplate template;
+		
+		public MethodQueryBuilder(ClassMapping classMapping, Converters converters, DocumentTemplate template) {
+			this.classMapping = classMapping;
+			this.converters = converters;
+			this.template = template;
+		}
+		
+		public DocumentQuery toQuery(Method method, Object[] args) {
+			return getQuery(method, args == null ? new Object[0] : args);
+		}
+		
+		@Override
+		protected Converters getConverters() {
+			return converters;
+		}
+		
+		@Override
+		protected ClassMapping getClassMapping() {
+			return classMapping;
+		}
+		
+		@Override
+		protected DocumentTemplate getTemplate() {
+			return template;
+		}
+	}
+	
+	/**
+	 * Holds the immutable, pre-resolved information needed to dispatch calls to
+	 * a single repository method.
+	 */
+	private static class InvocationPlan {
+		private final Dispatch dispatch;
+		private final ViewEntries viewEntries;
+		private final ViewDocuments viewDocuments;
+		private final int paginationIndex;
+		private final int viewQueryIndex;
+		private final int sortsIndex;
+		private final boolean singleResult;
+		private final boolean columnProjection;
+		private final QueryCursor queryCursor;
+		private final RepositoryReturn repositoryReturn;
+		
+		public InvocationPlan(Dispatch dispatch, ViewEntries viewEntries, ViewDocuments viewDocuments,
+				int paginationIndex, int viewQueryIndex, int sortsIndex, boolean singleResult,
+				boolean columnProjection, QueryCursor queryCursor, RepositoryReturn repositoryReturn) {
+			this.dispatch = dispatch;
+			this.viewEntries = viewEntries;
+			this.viewDocuments = viewDocuments;
+			this.paginationIndex = paginationIndex;
+			this.viewQueryIndex = viewQueryIndex;
+			this.sortsIndex = sortsIndex;
+			this.singleResult = singleResult;
+			this.columnProjection = columnProjection;
+			this.queryCursor = queryCursor;
+			this.repositoryReturn = repositoryReturn;
+		}
+		
+		public <A> A getArg(Object[] args, int index, Class<A> clazz) {
+			if(args == null || index < 0 || index >= args.length) {
+				return null;
+			}
+			return clazz.cast(args[index]);
 		}
 	}
 }
@@ -26,10 +26,12 @@ import java.util.logging.Logger;
 import org.eclipse.jnosql.mapping.DatabaseMetadata;
 import org.eclipse.jnosql.mapping.Databases;
 import org.openntf.xsp.nosql.communication.driver.DominoDocumentCollectionManager;
+import org.openntf.xsp.nosql.communication.driver.impl.EntityUtil;
 import org.openntf.xsp.nosql.mapping.extension.DominoRepository;
 import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.spi.AfterBeanDiscovery;
 import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.BeforeShutdown;
 import jakarta.enterprise.inject.spi.Extension;
 import jakarta.enterprise.inject.spi.ProcessAnnotatedType;
 import jakarta.enterprise.inject.spi.ProcessProducer;
@@ -76,4 +78,8 @@ public class DominoExtension implements Extension {
 
 		LOGGER.info("Finished the onAfterBeanDiscovery"); //$NON-NLS-1$
 	}
+	
+	void onBeforeShutdown(@Observes final BeforeShutdown beforeShutdown, final BeanManager beanManager) {
+		EntityUtil.invalidate(beanManager);
+	}
 }
@@ -32,6 +32,7 @@ import org.openntf.xsp.cdi.util.DiscoveryUtil;
 import org.openntf.xsp.jakartaee.util.LibraryUtil;
 import org.openntf.xsp.nosql.bean.ContextDatabaseSupplier;
 import org.openntf.xsp.nosql.bean.ContextDocumentCollectionManagerProducer;
+import org.openntf.xsp.nosql.bean.FederatedDocumentCollectionManagerProducer;
 import org.openntf.xsp.nosql.mapping.extension.impl.DefaultDominoTemplateProducer;
 import org.openntf.xsp.nosql.mapping.extension.impl.DominoExtension;
 import org.osgi.framework.BundleException;
@@ -62,6 +63,7 @@ public class NoSQLBeanContributor implements WeldBeanClassContributor {
 			
 			result.add(ContextDocumentCollectionManagerProducer.class);
 			result.add(ContextDatabaseSupplier.class);
+			result.add(FederatedDocumentCollectionManagerProducer.class);
 			
 			result.add(DefaultDominoTemplateProducer.class);
 			
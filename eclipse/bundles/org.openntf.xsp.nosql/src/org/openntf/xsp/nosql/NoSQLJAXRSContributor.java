@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.openntf.xsp.jakartaee.util.LibraryUtil;
+import org.openntf.xsp.jaxrs.JAXRSClassContributor;
+import org.openntf.xsp.nosql.jaxrs.EntityAttachmentResponseFilter;
+import org.openntf.xsp.nosql.jaxrs.EntityAttachmentWriter;
+
+/**
+ * Contributes REST support classes for NoSQL entities, such as streaming
+ * attachment responses.
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class NoSQLJAXRSContributor implements JAXRSClassContributor {
+
+	@Override
+	public Collection<Class<?>> getClasses() {
+		if(LibraryUtil.isLibraryActive(NoSQLLibrary.LIBRARY_ID)) {
+			return Arrays.asList(
+				EntityAttachmentWriter.class,
+				EntityAttachmentResponseFilter.class
+			);
+		} else {
+			return Collections.emptyList();
+		}
+	}
+
+}
@@ -17,11 +17,14 @@ package org.openntf.xsp.nosql.bean;
 
 import org.openntf.xsp.nosql.communication.driver.lsxbe.DatabaseSupplier;
 import org.openntf.xsp.nosql.communication.driver.lsxbe.SessionSupplier;
+import org.openntf.xsp.nosql.communication.driver.lsxbe.impl.FederatedDominoDocumentCollectionManager;
 
 import com.ibm.domino.xsp.module.nsf.NotesContext;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Produces;
+import lotus.domino.Database;
+import lotus.domino.NotesException;
 
 @ApplicationScoped
 public class ContextDatabaseSupplier {
@@ -35,5 +38,32 @@ public class ContextDatabaseSupplier {
 	public SessionSupplier getSessionAsSignerSupplier() {
 		return () -> NotesContext.getCurrent().getSessionAsSigner();
 	}
+	
+	/**
+	 * Creates a {@link DatabaseSupplier} that opens the named database using the
+	 * session of whichever thread invokes it, making it suitable for use with
+	 * managed executor threads, such as with {@link FederatedDominoDocumentCollectionManager}.
+	 * 
+	 * @param apiPath the API path of the database, in the form {@code "server!!path"}
+	 *        or {@code "path"}
+	 * @return a new {@link DatabaseSupplier} instance
+	 * @since 2.15.0
+	 */
+	public static DatabaseSupplier forPath(String apiPath) {
+		int bangIndex = apiPath.indexOf("!!"); //$NON-NLS-1$
+		String server = bangIndex < 0 ? "" : apiPath.substring(0, bangIndex); //$NON-NLS-1$
+		String filePath = bangIndex < 0 ? apiPath : apiPath.substring(bangIndex+2);
+		return () -> {
+			try {
+				Database database = NotesContext.getCurrent().getCurrentSession().getDatabase(server, filePath);
+				if(database == null || !database.isOpen()) {
+					throw new IllegalStateException("Unable to open database: " + apiPath);
+				}
+				return database;
+			} catch(NotesException e) {
+				throw new RuntimeException(e);
+			}
+		};
+	}
 
 }
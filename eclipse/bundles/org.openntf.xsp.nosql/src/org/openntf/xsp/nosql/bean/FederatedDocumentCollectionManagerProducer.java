@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.bean;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+import org.openntf.xsp.jakartaee.util.LibraryUtil;
+import org.openntf.xsp.nosql.communication.driver.DominoDocumentCollectionManager;
+import org.openntf.xsp.nosql.communication.driver.lsxbe.DatabaseSupplier;
+import org.openntf.xsp.nosql.communication.driver.lsxbe.impl.FederatedDominoDocumentCollectionManager;
+import org.openntf.xsp.nosql.mapping.extension.RepositoryProvider;
+
+import com.ibm.domino.xsp.module.nsf.NotesContext;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.nosql.mapping.Database;
+import jakarta.nosql.mapping.DatabaseType;
+
+/**
+ * Produces a {@link FederatedDominoDocumentCollectionManager} spanning the databases
+ * listed in the {@value #PROP_SHARDS} Xsp Property, for use by repositories
+ * annotated with {@code @RepositoryProvider("federated")}.
+ *
+ * <p>The property should contain a comma-separated list of API paths, in the form
+ * {@code "server!!path"} or {@code "path"}. The first database listed is the one
+ * that receives new documents.</p>
+ *
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ * @see RepositoryProvider
+ */
+@RequestScoped
+public class FederatedDocumentCollectionManagerProducer {
+	/**
+	 * The provider ID to use with {@link RepositoryProvider} for repositories that
+	 * read from all federated databases.
+	 */
+	public static final String PROVIDER = "federated"; //$NON-NLS-1$
+	/**
+	 * The Xsp Property used to list the federated databases, currently
+	 * {@value #PROP_SHARDS}.
+	 */
+	public static final String PROP_SHARDS = "org.openntf.xsp.nosql.federated.shards"; //$NON-NLS-1$
+
+	/**
+	 * The JNDI name of the application's managed executor service, which runs
+	 * shard queries with a Notes context.
+	 */
+	private static final String JNDI_EXECUTORSERVICE = "java:comp/DefaultManagedExecutorService"; //$NON-NLS-1$
+
+	@Produces
+	@Database(value = DatabaseType.DOCUMENT, provider = PROVIDER)
+	public DominoDocumentCollectionManager getFederatedManager() {
+		String shardsProp = LibraryUtil.getApplicationProperty(PROP_SHARDS, ""); //$NON-NLS-1$
+		List<DatabaseSupplier> shards = Arrays.stream(shardsProp.split(",")) //$NON-NLS-1$
+			.map(String::trim)
+			.filter(path -> !path.isEmpty())
+			.map(ContextDatabaseSupplier::forPath)
+			.collect(Collectors.toList());
+		if(shards.isEmpty()) {
+			throw new IllegalStateException(MessageFormat.format("Federated repositories require a list of databases in the {0} Xsp Property", PROP_SHARDS));
+		}
+
+		ExecutorService executor;
+		try {
+			executor = InitialContext.doLookup(JNDI_EXECUTORSERVICE);
+		} catch (NamingException e) {
+			throw new IllegalStateException(MessageFormat.format("Unable to look up {0}; federated repositories require the Concurrency library", JNDI_EXECUTORSERVICE), e);
+		}
+
+		return new FederatedDominoDocumentCollectionManager(shards, () -> NotesContext.getCurrent().getSessionAsSigner(), executor);
+	}
+}
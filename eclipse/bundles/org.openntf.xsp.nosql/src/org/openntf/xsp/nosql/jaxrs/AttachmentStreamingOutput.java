@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.jaxrs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.eclipse.jnosql.communication.driver.attachment.EntityAttachment;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.StreamingOutput;
+
+/**
+ * {@link StreamingOutput} implementation that copies all or part of an
+ * {@link EntityAttachment} to the response using a large buffer.
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class AttachmentStreamingOutput implements StreamingOutput {
+	public static final int BUFFER_SIZE = 64 * 1024;
+	
+	private final EntityAttachment attachment;
+	private final long start;
+	private final long length;
+	
+	/**
+	 * Creates a new output for the entire attachment.
+	 * 
+	 * @param attachment the attachment to stream
+	 */
+	public AttachmentStreamingOutput(EntityAttachment attachment) {
+		this(attachment, 0, -1);
+	}
+	
+	/**
+	 * Creates a new output for a range of the attachment.
+	 * 
+	 * @param attachment the attachment to stream
+	 * @param start the zero-based offset of the first byte to write
+	 * @param length the number of bytes to write, or {@code -1} to write until the end
+	 */
+	public AttachmentStreamingOutput(EntityAttachment attachment, long start, long length) {
+		this.attachment = attachment;
+		this.start = start;
+		this.length = length;
+	}
+	
+	public EntityAttachment getAttachment() {
+		return attachment;
+	}
+
+	@Override
+	public void write(OutputStream output) throws IOException, WebApplicationException {
+		try(InputStream is = attachment.getData()) {
+			skipFully(is, start);
+			
+			byte[] buffer = new byte[BUFFER_SIZE];
+			long remaining = length < 0 ? Long.MAX_VALUE : length;
+			while(remaining > 0) {
+				int read = is.read(buffer, 0, (int)Math.min(buffer.length, remaining));
+				if(read < 0) {
+					break;
+				}
+				output.write(buffer, 0, read);
+				remaining -= read;
+			}
+		}
+	}
+	
+	private static void skipFully(InputStream is, long count) throws IOException {
+		long remaining = count;
+		while(remaining > 0) {
+			long skipped = is.skip(remaining);
+			if(skipped <= 0) {
+				// Some streams only skip when data is available; fall back to reading
+				if(is.read() < 0) {
+					return;
+				}
+				skipped = 1;
+			}
+			remaining -= skipped;
+		}
+	}
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.jaxrs;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.eclipse.jnosql.communication.driver.attachment.EntityAttachment;
+import org.openntf.xsp.nosql.communication.driver.impl.AbstractEntityConverter;
+
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Adds caching headers to responses that contain an {@link EntityAttachment} and
+ * handles conditional ({@code If-None-Match}, {@code If-Modified-Since}) and
+ * single-range ({@code Range}) requests for them.
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+public class EntityAttachmentResponseFilter implements ContainerResponseFilter {
+	public static final String HEADER_ACCEPT_RANGES = "Accept-Ranges"; //$NON-NLS-1$
+	public static final String HEADER_CONTENT_RANGE = "Content-Range"; //$NON-NLS-1$
+	public static final String HEADER_RANGE = "Range"; //$NON-NLS-1$
+	public static final String HEADER_IF_RANGE = "If-Range"; //$NON-NLS-1$
+	
+	private static final String RANGE_UNIT = "bytes"; //$NON-NLS-1$
+
+	@Override
+	public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) throws IOException {
+		if(!(responseContext.getEntity() instanceof EntityAttachment)) {
+			return;
+		}
+		if(responseContext.getStatus() != Response.Status.OK.getStatusCode()) {
+			return;
+		}
+		String method = requestContext.getMethod();
+		if(!(HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method))) {
+			return;
+		}
+		
+		EntityAttachment attachment = (EntityAttachment)responseContext.getEntity();
+		long length = attachment.getLength();
+		long lastModified = attachment.getLastModified();
+		// HTTP dates have second precision
+		Date modDate = new Date(lastModified - (lastModified % 1000));
+		EntityTag etag = new EntityTag(AbstractEntityConverter.md5(attachment.getName() + lastModified + length));
+		
+		MultivaluedMap<String, Object> headers = responseContext.getHeaders();
+		headers.putSingle(HttpHeaders.ETAG, etag);
+		headers.putSingle(HttpHeaders.LAST_MODIFIED, modDate);
+		headers.putSingle(HEADER_ACCEPT_RANGES, RANGE_UNIT);
+		if(!headers.containsKey(HttpHeaders.CONTENT_TYPE)) {
+			headers.putSingle(HttpHeaders.CONTENT_TYPE, MediaType.valueOf(attachment.getContentType()));
+		}
+		
+		Response.ResponseBuilder precondition = requestContext.getRequest().evaluatePreconditions(modDate, etag);
+		if(precondition != null) {
+			Response conditional = precondition.build();
+			responseContext.setStatus(conditional.getStatus());
+			responseContext.setEntity(null);
+			return;
+		}
+		
+		String range = requestContext.getHeaderString(HEADER_RANGE);
+		if(range == null || range.isEmpty() || length < 0) {
+			return;
+		}
+		if(!matchesIfRange(requestContext.getHeaderString(HEADER_IF_RANGE), etag, modDate)) {
+			return;
+		}
+		
+		long[] bounds = parseRange(range, length);
+		if(bounds == null) {
+			// Unsupported or multi-part range; serve the full content
+			return;
+		}
+		if(bounds.length == 0) {
+			responseContext.setStatus(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode());
+			responseContext.setEntity(null);
+			headers.putSingle(HEADER_CONTENT_RANGE, MessageFormat.format("{0} */{1}", RANGE_UNIT, Long.toString(length))); //$NON-NLS-1$
+			return;
+		}
+		
+		long start = bounds[0];
+		long end = bounds[1];
+		responseContext.setStatus(Response.Status.PARTIAL_CONTENT.getStatusCode());
+		headers.putSingle(HEADER_CONTENT_RANGE, MessageFormat.format("{0} {1}-{2}/{3}", RANGE_UNIT, Long.toString(start), Long.toString(end), Long.toString(length))); //$NON-NLS-1$
+		headers.putSingle(HttpHeaders.CONTENT_LENGTH, end - start + 1);
+		Object contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+		responseContext.setEntity(new AttachmentStreamingOutput(attachment, start, end - start + 1), null,
+			contentType instanceof MediaType ? (MediaType)contentType : MediaType.valueOf(String.valueOf(contentType)));
+	}
+	
+	private static boolean matchesIfRange(String ifRange, EntityTag etag, Date modDate) {
+		if(ifRange == null || ifRange.isEmpty()) {
+			return true;
+		}
+		if(ifRange.startsWith("\"") || ifRange.startsWith("W/")) { //$NON-NLS-1$ //$NON-NLS-2$
+			// Strong comparison is required for If-Range
+			return ifRange.equals('"' + etag.getValue() + '"');
+		}
+		return ifRange.equals(formatHttpDate(modDate));
+	}
+	
+	private static String formatHttpDate(Date date) {
+		SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US); //$NON-NLS-1$
+		format.setTimeZone(TimeZone.getTimeZone("GMT")); //$NON-NLS-1$
+		return format.format(date);
+	}
+	
+	/**
+	 * Parses a single byte range.
+	 * 
+	 * @return a two-element array of inclusive start and end offsets, an empty array
+	 *         if the range cannot be satisfied, or {@code null} if the header should
+	 *         be ignored
+	 */
+	private static long[] parseRange(String range, long length) {
+		String prefix = RANGE_UNIT + '=';
+		if(!range.startsWith(prefix)) {
+			return null;
+		}
+		String spec = range.substring(prefix.length()).trim();
+		if(spec.indexOf(',') > -1) {
+			return null;
+		}
+		int dash = spec.indexOf('-');
+		if(dash < 0) {
+			return null;
+		}
+		try {
+			String first = spec.substring(0, dash).trim();
+			String last = spec.substring(dash + 1).trim();
+			long start;
+			long end;
+			if(first.isEmpty()) {
+				// Suffix range: the final N bytes
+				long suffix = Long.parseLong(last);
+				if(suffix <= 0) {
+					return new long[0];
+				}
+				start = Math.max(0, length - suffix);
+				end = length - 1;
+			} else {
+				start = Long.parseLong(first);
+				if(last.isEmpty()) {
+					end = length - 1;
+				} else {
+					long lastPos = Long.parseLong(last);
+					if(lastPos < start) {
+						// Syntactically invalid per RFC 7233, so the header is ignored
+						return null;
+					}
+					end = Math.min(lastPos, length - 1);
+				}
+			}
+			if(start < 0 || start >= length) {
+				return new long[0];
+			}
+			return new long[] { start, end };
+		} catch(NumberFormatException e) {
+			return null;
+		}
+	}
+}
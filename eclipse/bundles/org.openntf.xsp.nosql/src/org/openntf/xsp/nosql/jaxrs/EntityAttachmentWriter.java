@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openntf.xsp.nosql.jaxrs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import org.eclipse.jnosql.communication.driver.attachment.EntityAttachment;
+
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+
+/**
+ * Writes {@link EntityAttachment} objects returned from REST resources as their
+ * raw content.
+ * 
+ * <p>Conditional and range requests are handled by {@link EntityAttachmentResponseFilter}
+ * before this writer is invoked.</p>
+ * 
+ * @author Jesse Gallagher
+ * @since 2.15.0
+ */
+@Produces("*/*")
+public class EntityAttachmentWriter implements MessageBodyWriter<EntityAttachment> {
+
+	@Override
+	public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return EntityAttachment.class.isAssignableFrom(type);
+	}
+	
+	@Override
+	public long getSize(EntityAttachment t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return t.getLength();
+	}
+
+	@Override
+	public void writeTo(EntityAttachment t, Class<?> type, Type genericType, Annotation[] annotations,
+			MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+			throws IOException, WebApplicationException {
+		if(!httpHeaders.containsKey(HttpHeaders.CONTENT_TYPE)) {
+			httpHeaders.putSingle(HttpHeaders.CONTENT_TYPE, t.getContentType());
+		}
+		new AttachmentStreamingOutput(t).write(entityStream);
+	}
+
+}
@@ -88,6 +88,15 @@ public class ExampleDoc {
 	@Column("MIMEGuy")
 	@ItemStorage(type=ItemStorage.Type.MIMEBean)
 	private MimeStorage mimeGuy;
+	@Column("CompressedMIMEGuy")
+	@ItemStorage(type=ItemStorage.Type.MIMEBean, mimeBeanFormat=ItemStorage.MIMEBeanFormat.CompressedSerialized)
+	private MimeStorage compressedMimeGuy;
+	@Column("JSONMIMEGuy")
+	@ItemStorage(type=ItemStorage.Type.MIMEBean, mimeBeanFormat=ItemStorage.MIMEBeanFormat.JSON)
+	private MimeStorage jsonMimeGuy;
+	@Column("JSONMIMEListGuy")
+	@ItemStorage(type=ItemStorage.Type.MIMEBean, mimeBeanFormat=ItemStorage.MIMEBeanFormat.JSON)
+	private List<MimeStorage> jsonMimeListGuy;
 	@Column("SkippedValue")
 	@ItemFlags(saveToDisk=false)
 	private String computedValue;
@@ -169,6 +178,27 @@ public class ExampleDoc {
 		this.mimeGuy = mimeGuy;
 	}
 	
+	public MimeStorage getCompressedMimeGuy() {
+		return compressedMimeGuy;
+	}
+	public void setCompressedMimeGuy(MimeStorage compressedMimeGuy) {
+		this.compressedMimeGuy = compressedMimeGuy;
+	}
+	
+	public MimeStorage getJsonMimeGuy() {
+		return jsonMimeGuy;
+	}
+	public void setJsonMimeGuy(MimeStorage jsonMimeGuy) {
+		this.jsonMimeGuy = jsonMimeGuy;
+	}
+	
+	public List<MimeStorage> getJsonMimeListGuy() {
+		return jsonMimeListGuy;
+	}
+	public void setJsonMimeListGuy(List<MimeStorage> jsonMimeListGuy) {
+		this.jsonMimeListGuy = jsonMimeListGuy;
+	}
+	
 	public String getComputedValue() {
 		return computedValue;
 	}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package model;
+
+import java.util.stream.Stream;
+
+import org.openntf.xsp.nosql.mapping.extension.DominoRepository;
+import org.openntf.xsp.nosql.mapping.extension.RepositoryProvider;
+import org.openntf.xsp.nosql.mapping.extension.ViewEntries;
+import org.openntf.xsp.nosql.mapping.extension.ViewQuery;
+
+import jakarta.nosql.mapping.Pagination;
+
+/**
+ * Reads {@link Person} documents from the databases listed in the
+ * "org.openntf.xsp.nosql.federated.shards" Xsp Property.
+ */
+@RepositoryProvider("federated")
+public interface FederatedPersonRepository extends DominoRepository<Person, String> {
+	Stream<Person> findByLastName(String lastName);
+	
+	@ViewEntries(PersonRepository.VIEW_PERSONS)
+	Stream<Person> findByKey(ViewQuery viewQuery, Pagination pagination);
+}
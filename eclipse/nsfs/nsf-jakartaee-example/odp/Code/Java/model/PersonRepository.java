@@ -16,10 +16,13 @@
 package model;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.openntf.xsp.nosql.mapping.extension.DominoRepository;
+import org.openntf.xsp.nosql.mapping.extension.QueryCursor;
 import org.openntf.xsp.nosql.mapping.extension.ViewDocuments;
 import org.openntf.xsp.nosql.mapping.extension.ViewEntries;
 import org.openntf.xsp.nosql.mapping.extension.ViewQuery;
@@ -38,6 +41,9 @@ public interface PersonRepository extends DominoRepository<Person, String> {
 	Stream<Person> findAll();
 	Stream<Person> findAll(Sorts sorts);
 	Stream<Person> findByLastName(String lastName);
+	Stream<Person> findByLastNameAndBirthday(String lastName, LocalDate birthday);
+	Stream<Person> findByLastNameAndAddedLessThan(String lastName, LocalDateTime added);
+	long countByLastName(String lastName);
 	
 	@ViewEntries(FOLDER_PERSONS)
 	Stream<Person> findInPersonsFolder();
@@ -48,9 +54,20 @@ public interface PersonRepository extends DominoRepository<Person, String> {
 	@ViewEntries(VIEW_PERSONS)
 	Stream<Person> findByKeyMulti(ViewQuery viewQuery, Sorts sorts, Pagination pagination);
 	
+	@ViewEntries(value=VIEW_PERSONS, bufferSize=1)
+	Stream<Person> findByKeyMultiBuffered(ViewQuery viewQuery, Sorts sorts, Pagination pagination);
+	
 	@Query("select * from Person where modified >= @modified")
 	Stream<Person> findModifiedSince(@Param("modified") Instant modified);
 	
+	@QueryCursor(batchSize=2)
+	@Query("select * from Person where lastName = @lastName")
+	Stream<Person> cursorByLastName(@Param("lastName") String lastName);
+	
+	@QueryCursor(maxScanDocs=1)
+	@Query("select * from Person where lastName = @lastName")
+	Stream<Person> scanLimitedByLastName(@Param("lastName") String lastName);
+	
 	@ViewDocuments(VIEW_PERSONS_CAT)
 	Stream<Person> findCategorized(ViewQuery viewQuery);
 	
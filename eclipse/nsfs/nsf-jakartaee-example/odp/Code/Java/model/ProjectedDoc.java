@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package model;
+
+import java.util.stream.Stream;
+
+import org.openntf.xsp.nosql.mapping.extension.ColumnProjection;
+import org.openntf.xsp.nosql.mapping.extension.DominoRepository;
+
+import jakarta.nosql.mapping.Column;
+import jakarta.nosql.mapping.Entity;
+import jakarta.nosql.mapping.Id;
+import jakarta.nosql.mapping.Param;
+import jakarta.nosql.mapping.Query;
+
+/**
+ * An entity with only scalar items, allowing sorted queries to be read directly
+ * from QRP view columns via {@link ColumnProjection}.
+ */
+@Entity("ExampleProjected")
+public class ProjectedDoc {
+	public interface Repository extends DominoRepository<ProjectedDoc, String> {
+		@Query("select * from ExampleProjected where category = @category order by title asc")
+		Stream<ProjectedDoc> findByCategory(@Param("category") String category);
+		
+		@ColumnProjection
+		@Query("select * from ExampleProjected where category = @category order by title asc")
+		Stream<ProjectedDoc> projectByCategory(@Param("category") String category);
+	}
+	
+	@Id
+	private String documentId;
+	
+	@Column
+	private String title;
+	
+	@Column
+	private String category;
+	
+	@Column
+	private int rank;
+
+	public String getDocumentId() {
+		return documentId;
+	}
+
+	public void setDocumentId(String documentId) {
+		this.documentId = documentId;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getCategory() {
+		return category;
+	}
+
+	public void setCategory(String category) {
+		this.category = category;
+	}
+
+	public int getRank() {
+		return rank;
+	}
+
+	public void setRank(int rank) {
+		this.rank = rank;
+	}
+}
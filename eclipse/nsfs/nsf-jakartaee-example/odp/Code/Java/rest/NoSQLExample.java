@@ -33,10 +33,13 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.jnosql.communication.driver.attachment.EntityAttachment;
 import org.openntf.xsp.nosql.communication.driver.ByteArrayEntityAttachment;
 import org.openntf.xsp.nosql.communication.driver.ViewInfo;
+import org.openntf.xsp.nosql.communication.driver.lsxbe.impl.CountCache;
+import org.openntf.xsp.nosql.communication.driver.lsxbe.impl.QRPViewCache;
 import org.openntf.xsp.nosql.mapping.extension.FTSearchOption;
 import org.openntf.xsp.nosql.mapping.extension.ViewQuery;
 
@@ -123,6 +126,92 @@ public class NoSQLExample {
 		return result;
 	}
 	
+	/**
+	 * Runs finder methods whose values are bound as DQL variables, to check that
+	 * string and temporal values are passed correctly.
+	 */
+	@Path("parameterized")
+	@GET
+	@Produces(MediaType.APPLICATION_JSON)
+	public Map<String, Object> getParameterized(@QueryParam("lastName") String lastName, @QueryParam("birthday") String birthday, @QueryParam("addedBefore") String addedBefore) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("byLastName", personRepository.findByLastName(lastName).collect(Collectors.toList()));
+		if(StringUtil.isNotEmpty(birthday)) {
+			LocalDate bd = LocalDate.from(DateTimeFormatter.ISO_LOCAL_DATE.parse(birthday));
+			result.put("byLastNameAndBirthday", personRepository.findByLastNameAndBirthday(lastName, bd).collect(Collectors.toList()));
+		}
+		if(StringUtil.isNotEmpty(addedBefore)) {
+			LocalDateTime dt = LocalDateTime.from(DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse(addedBefore));
+			result.put("byLastNameAndAddedBefore", personRepository.findByLastNameAndAddedLessThan(lastName, dt).collect(Collectors.toList()));
+		}
+		return result;
+	}
+	
+	/**
+	 * Counts people by last name via a {@code countBy} repository method, reporting
+	 * the count-cache hit total alongside so that callers can see whether the
+	 * count was served from the cache.
+	 */
+	@Path("countByLastName")
+	@GET
+	@Produces(MediaType.APPLICATION_JSON)
+	public Map<String, Object> getCountByLastName(@QueryParam("lastName") String lastName) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("count", personRepository.countByLastName(lastName));
+		result.put("cacheHits", CountCache.getInstance().getHits());
+		return result;
+	}
+	
+	/**
+	 * Reads people by last name via a {@code @QueryCursor} method, closing the
+	 * stream when done to release any outstanding document handles.
+	 */
+	@Path("cursor/{lastName}")
+	@GET
+	@Produces(MediaType.APPLICATION_JSON)
+	public List<Person> getCursor(@PathParam("lastName") String lastName) {
+		try(Stream<Person> people = personRepository.cursorByLastName(lastName)) {
+			return people.collect(Collectors.toList());
+		}
+	}
+	
+	/**
+	 * Runs a {@code @QueryCursor} method with a scan limit of one document, reporting
+	 * the resulting failure instead of propagating it, since DQL fails the query
+	 * rather than returning partial results.
+	 */
+	@Path("cursorScanLimited/{lastName}")
+	@GET
+	@Produces(MediaType.APPLICATION_JSON)
+	public Map<String, Object> getCursorScanLimited(@PathParam("lastName") String lastName) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		try(Stream<Person> people = personRepository.scanLimitedByLastName(lastName)) {
+			result.put("count", people.count());
+		} catch(RuntimeException e) {
+			Throwable cause = e.getCause() == null ? e : e.getCause();
+			result.put("error", cause.getClass().getName());
+			result.put("message", String.valueOf(cause.getMessage()));
+		}
+		return result;
+	}
+	
+	/**
+	 * Reports the lookup totals of the QRP view cache used for sorted queries.
+	 */
+	@Path("qrpViewCache")
+	@GET
+	@Produces(MediaType.APPLICATION_JSON)
+	public Map<String, Object> getQrpViewCacheStats() {
+		QRPViewCache cache = QRPViewCache.getInstance();
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("hits", cache.getHits());
+		result.put("misses", cache.getMisses());
+		result.put("rebuilds", cache.getRebuilds());
+		result.put("evictions", cache.getEvictions());
+		result.put("invalidations", cache.getInvalidations());
+		return result;
+	}
+	
 	@Path("create")
 	@GET
 	@Produces(MediaType.TEXT_HTML)
@@ -436,6 +525,23 @@ public class NoSQLExample {
 		}
 	}
 	
+	/**
+	 * Returns the attachment object directly, leaving caching and range headers to
+	 * the NoSQL JAX-RS support.
+	 */
+	@Path("{id}/attachmentEntity/{attachmentName}")
+	@GET
+	public EntityAttachment getAttachmentEntity(@PathParam("id") String id, @PathParam("attachmentName") String attachmentName) {
+		Person person = personRepository.findById(id).get();
+		
+		String name = attachmentName.replace('+', ' ');
+		return person.getAttachments()
+			.stream()
+			.filter(a -> a.getName().equals(name))
+			.findFirst()
+			.orElseThrow(() -> new NotFoundException(MessageFormat.format("Could not find attachment {0} on document {1}", attachmentName, id)));
+	}
+	
 	@Path("{id}")
 	@DELETE
 	@Controller
@@ -558,6 +664,14 @@ public class NoSQLExample {
 		return personRepository.findByKeyMulti(query, null, null).collect(Collectors.toList());
 	}
 	
+	@Path("byViewKeyMultiBuffered/{lastName}")
+	@GET
+	@Produces(MediaType.APPLICATION_JSON)
+	public List<Person> getPersonByViewKeyMultiBuffered(@PathParam("lastName") String lastName) {
+		ViewQuery query = ViewQuery.query().key(lastName, true);
+		return personRepository.findByKeyMultiBuffered(query, null, null).collect(Collectors.toList());
+	}
+	
 	@Path("byViewTwoKeys/{lastName}/{firstName}")
 	@GET
 	@Produces(MediaType.APPLICATION_JSON)
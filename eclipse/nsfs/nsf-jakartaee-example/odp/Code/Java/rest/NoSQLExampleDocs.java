@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import bean.TransactionBean;
 import jakarta.inject.Inject;
@@ -94,6 +95,15 @@ public class NoSQLExampleDocs {
 		return repository.save(exampleDoc, true);
 	}
 	
+	@Path("batch")
+	@POST
+	@Consumes(MediaType.APPLICATION_JSON)
+	@Produces(MediaType.APPLICATION_JSON)
+	public List<ExampleDoc> createBatch(List<ExampleDoc> exampleDocs) {
+		return StreamSupport.stream(repository.saveAll(exampleDocs).spliterator(), false)
+			.collect(Collectors.toList());
+	}
+	
 	@Path("{id}")
 	@GET
 	@Produces(MediaType.APPLICATION_JSON)
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.openntf.xsp.nosql.mapping.extension.ViewQuery;
+
+import jakarta.inject.Inject;
+import jakarta.nosql.mapping.Pagination;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import model.FederatedPersonRepository;
+import model.Person;
+
+/**
+ * Exercises a repository federated across this database and a second copy of
+ * it, as configured in Xsp Properties, so that each document is seen once per
+ * shard.
+ */
+@Path("nosqlFederated")
+public class NoSQLFederated {
+	@Inject
+	private FederatedPersonRepository repository;
+	
+	@GET
+	@Produces(MediaType.APPLICATION_JSON)
+	public List<Person> getByLastName(@QueryParam("lastName") String lastName) {
+		return repository.findByLastName(lastName).collect(Collectors.toList());
+	}
+	
+	@Path("byViewKey/{lastName}")
+	@GET
+	@Produces(MediaType.APPLICATION_JSON)
+	public List<Person> getByViewKey(@PathParam("lastName") String lastName, @QueryParam("page") int page, @QueryParam("size") int size) {
+		Pagination pagination = size > 0 ? Pagination.page(page).size(size) : null;
+		return repository.findByKey(ViewQuery.query().key(lastName, true), pagination)
+			.collect(Collectors.toList());
+	}
+	
+	@Path("{id}")
+	@PUT
+	@Consumes(MediaType.APPLICATION_JSON)
+	@Produces(MediaType.APPLICATION_JSON)
+	public Person update(@PathParam("id") String id, Person person) {
+		repository.findById(id)
+			.orElseThrow(() -> new NotFoundException("Could not find Person for ID " + id));
+		person.setUnid(id);
+		return repository.save(person);
+	}
+}
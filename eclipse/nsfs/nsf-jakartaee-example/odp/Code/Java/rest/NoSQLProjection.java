@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import model.ProjectedDoc;
+
+@Path("nosqlProjection")
+public class NoSQLProjection {
+	@Inject
+	private ProjectedDoc.Repository repository;
+	
+	@POST
+	@Consumes(MediaType.APPLICATION_JSON)
+	@Produces(MediaType.APPLICATION_JSON)
+	public ProjectedDoc create(ProjectedDoc entity) {
+		entity.setDocumentId(null);
+		return repository.save(entity);
+	}
+	
+	/**
+	 * Reads the same sorted query both by opening each document and by
+	 * projecting the QRP view columns, allowing the results to be compared.
+	 */
+	@Path("{category}")
+	@GET
+	@Produces(MediaType.APPLICATION_JSON)
+	public Map<String, List<ProjectedDoc>> getByCategory(@PathParam("category") String category) {
+		Map<String, List<ProjectedDoc>> result = new LinkedHashMap<>();
+		result.put("documents", repository.findByCategory(category).collect(Collectors.toList()));
+		result.put("projected", repository.projectByCategory(category).collect(Collectors.toList()));
+		return result;
+	}
+}
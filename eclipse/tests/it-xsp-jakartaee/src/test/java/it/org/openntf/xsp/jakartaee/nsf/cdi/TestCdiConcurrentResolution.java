@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.org.openntf.xsp.jakartaee.nsf.cdi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import it.org.openntf.xsp.jakartaee.AbstractWebClientTest;
+import it.org.openntf.xsp.jakartaee.TestDatabase;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Issues many simultaneous requests that resolve CDI containers in multiple NSFs,
+ * to check that container lookup does not fail under contention.
+ */
+@SuppressWarnings("nls")
+public class TestCdiConcurrentResolution extends AbstractWebClientTest {
+	private static final int THREAD_COUNT = 200;
+	private static final int REQUESTS_PER_THREAD = 5;
+	
+	@Test
+	public void testConcurrentContainerResolution() throws InterruptedException {
+		// Each endpoint returns a CDI bean from its NSF's container
+		String[] urls = {
+			getRestUrl(null, TestDatabase.MAIN) + "/jsonExample/jsonb",
+			getRestUrl(null, TestDatabase.JSONB_CONFIG) + "/json"
+		};
+		String[] expectedKeys = {
+			"jsonMessage",
+			"time"
+		};
+		
+		ExecutorService exec = Executors.newFixedThreadPool(THREAD_COUNT);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			CountDownLatch done = new CountDownLatch(THREAD_COUNT);
+			List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+			for(int i = 0; i < THREAD_COUNT; i++) {
+				int threadIndex = i;
+				exec.submit(() -> {
+					Client client = ClientBuilder.newBuilder().build();
+					try {
+						start.await();
+						for(int j = 0; j < REQUESTS_PER_THREAD; j++) {
+							int urlIndex = (threadIndex + j) % urls.length;
+							String url = urls[urlIndex];
+							Response response = client.target(url).request().get();
+							String json = response.readEntity(String.class);
+							assertEquals(200, response.getStatus(), () -> "Unexpected response from " + url + ": " + json);
+							JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+							assertTrue(jsonObject.containsKey(expectedKeys[urlIndex]), () -> "Unexpected JSON from " + url + ": " + json);
+						}
+					} catch(InterruptedException e) {
+						failures.add(e);
+						Thread.currentThread().interrupt();
+					} catch(Throwable t) {
+						failures.add(t);
+					} finally {
+						done.countDown();
+						client.close();
+					}
+				});
+			}
+			
+			start.countDown();
+			assertTrue(done.await(5, TimeUnit.MINUTES), "Timed out waiting for requests to complete");
+			
+			assertIterableEquals(Collections.emptyList(), failures);
+		} finally {
+			exec.shutdownNow();
+			exec.awaitTermination(1, TimeUnit.MINUTES);
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.org.openntf.xsp.jakartaee.nsf.cdi;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import it.org.openntf.xsp.jakartaee.AbstractWebClientTest;
+import it.org.openntf.xsp.jakartaee.TestDatabase;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Ensures that NoSQL repository interfaces defined in the NSF, both top-level
+ * and nested, are discovered and injectable.
+ */
+@SuppressWarnings("nls")
+public class TestNsfRepositoryDiscovery extends AbstractWebClientTest {
+	@ParameterizedTest
+	@ValueSource(strings = {
+		// PersonRepository
+		"/nosql/list",
+		// ExampleDocRepository
+		"/exampleDocs",
+		// NamedDoc.Repository
+		"/nosqlNamedDocs/RepositoryDiscovery",
+		// ProfileDoc.Repository
+		"/nosqlProfileDocs/RepositoryDiscovery"
+	})
+	public void testRepositoryInjection(String path) {
+		Client client = getAnonymousClient();
+		WebTarget target = client.target(getRestUrl(null, TestDatabase.MAIN) + path);
+		Response response = target.request("application/json").get();
+		checkResponse(200, response);
+	}
+}
@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -496,6 +497,180 @@ public class TestNoSQL extends AbstractWebClientTest {
 		}
 	}
 	
+	/**
+	 * Tests finder methods whose values are bound as DQL variables, running the same
+	 * query shapes with different values to make sure each call uses its own values.
+	 */
+	@Test
+	public void testParameterizedQueries() {
+		Client client = getAnonymousClient();
+		String suffix = String.valueOf(System.nanoTime());
+		String[] lastNames = { "ParamFirst" + suffix, "ParamSecond" + suffix };
+		String[] birthdays = { "1980-01-02", "1990-03-04" };
+		
+		for(int i = 0; i < lastNames.length; i++) {
+			WebTarget postTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/create"); //$NON-NLS-1$
+			
+			MultipartFormDataOutput payload = new MultipartFormDataOutput();
+			payload.addFormData("firstName", "Foo", MediaType.TEXT_PLAIN_TYPE);
+			payload.addFormData("lastName", lastNames[i], MediaType.TEXT_PLAIN_TYPE);
+			payload.addFormData("birthday", birthdays[i], MediaType.TEXT_PLAIN_TYPE);
+			payload.addFormData("added", "2020-06-15T12:00:00", MediaType.TEXT_PLAIN_TYPE);
+			
+			Response response = postTarget.request()
+				.accept(MediaType.APPLICATION_JSON_TYPE)
+				.post(Entity.entity(payload, MediaType.MULTIPART_FORM_DATA_TYPE));
+			checkResponse(200, response);
+		}
+		
+		for(int i = 0; i < lastNames.length; i++) {
+			String lastName = lastNames[i];
+			
+			// Matching values
+			{
+				WebTarget target = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/parameterized")
+					.queryParam("lastName", lastName)
+					.queryParam("birthday", birthdays[i])
+					.queryParam("addedBefore", "2020-06-17T00:00:00");
+				Response response = target.request().get();
+				checkResponse(200, response);
+				String json = response.readEntity(String.class);
+				JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+				
+				for(String key : new String[] { "byLastName", "byLastNameAndBirthday", "byLastNameAndAddedBefore" }) {
+					JsonArray people = jsonObject.getJsonArray(key);
+					assertEquals(1, people.size(), () -> key + ": " + json);
+					assertEquals(lastName, people.getJsonObject(0).getString("lastName"), () -> key + ": " + json);
+				}
+			}
+			
+			// Non-matching values for the temporal terms
+			{
+				WebTarget target = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/parameterized")
+					.queryParam("lastName", lastName)
+					.queryParam("birthday", birthdays[(i + 1) % birthdays.length])
+					.queryParam("addedBefore", "2020-06-13T00:00:00");
+				Response response = target.request().get();
+				checkResponse(200, response);
+				String json = response.readEntity(String.class);
+				JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+				
+				assertEquals(1, jsonObject.getJsonArray("byLastName").size(), () -> json);
+				assertTrue(jsonObject.getJsonArray("byLastNameAndBirthday").isEmpty(), () -> json);
+				assertTrue(jsonObject.getJsonArray("byLastNameAndAddedBefore").isEmpty(), () -> json);
+			}
+		}
+	}
+	
+	/**
+	 * Tests the caching, conditional, and range headers applied to resources that
+	 * return an {@code EntityAttachment}.
+	 */
+	@Test
+	public void testAttachmentConditionalAndRange() {
+		Client client = getAnonymousClient();
+		String content = "<p>I am conditional foo HTML</p>";
+		String unid;
+		{
+			WebTarget postTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/create"); //$NON-NLS-1$
+			
+			MultipartFormDataOutput payload = new MultipartFormDataOutput();
+			payload.addFormData("firstName", "Foo", MediaType.TEXT_PLAIN_TYPE);
+			payload.addFormData("lastName", "Fooson" + System.nanoTime(), MediaType.TEXT_PLAIN_TYPE);
+			payload.addFormData("attachment", content, MediaType.TEXT_HTML_TYPE, "foo.html");
+			
+			Response response = postTarget.request()
+				.accept(MediaType.APPLICATION_JSON_TYPE)
+				.post(Entity.entity(payload, MediaType.MULTIPART_FORM_DATA_TYPE));
+			assertEquals(200, response.getStatus());
+
+			String json = response.readEntity(String.class);
+			JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+			unid = jsonObject.getString("unid");
+			assertNotNull(unid);
+			assertFalse(unid.isEmpty());
+		}
+		
+		WebTarget target = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/" + unid + "/attachmentEntity/foo.html");
+		
+		// Full fetch, which should advertise validators and range support
+		String etag;
+		{
+			Response response = target.request().get();
+			assertEquals(200, response.getStatus());
+			assertEquals("bytes", response.getHeaderString("Accept-Ranges"));
+			assertNotNull(response.getLastModified());
+			assertNotNull(response.getEntityTag());
+			etag = response.getHeaderString("ETag");
+			assertNotNull(etag);
+			assertFalse(etag.isEmpty());
+			
+			assertEquals(content, response.readEntity(String.class));
+		}
+		
+		// A matching If-None-Match should be Not Modified
+		{
+			Response response = target.request()
+				.header("If-None-Match", etag)
+				.get();
+			assertEquals(304, response.getStatus());
+		}
+		
+		// A failed If-Match should be Precondition Failed
+		{
+			Response response = target.request()
+				.header("If-Match", "\"not-the-etag\"")
+				.get();
+			assertEquals(412, response.getStatus());
+		}
+		
+		// A single byte range should return just those bytes
+		{
+			Response response = target.request()
+				.header("Range", "bytes=3-7")
+				.get();
+			assertEquals(206, response.getStatus());
+			assertEquals("bytes 3-7/" + content.length(), response.getHeaderString("Content-Range"));
+			assertEquals(content.substring(3, 8), response.readEntity(String.class));
+		}
+		
+		// A suffix range should return the final bytes
+		{
+			Response response = target.request()
+				.header("Range", "bytes=-4")
+				.get();
+			assertEquals(206, response.getStatus());
+			assertEquals(content.substring(content.length() - 4), response.readEntity(String.class));
+		}
+		
+		// A range with a stale If-Range should return the full content
+		{
+			Response response = target.request()
+				.header("Range", "bytes=3-7")
+				.header("If-Range", "\"not-the-etag\"")
+				.get();
+			assertEquals(200, response.getStatus());
+			assertEquals(content, response.readEntity(String.class));
+		}
+		
+		// A range whose last position precedes its first is invalid and should be ignored
+		{
+			Response response = target.request()
+				.header("Range", "bytes=7-3")
+				.get();
+			assertEquals(200, response.getStatus());
+			assertEquals(content, response.readEntity(String.class));
+		}
+		
+		// An unsatisfiable range should be rejected
+		{
+			Response response = target.request()
+				.header("Range", "bytes=" + (content.length() + 10) + "-")
+				.get();
+			assertEquals(416, response.getStatus());
+		}
+	}
+	
 	/**
 	 * Tests both the /inFolder and /inFolderManual endpoints, which will
 	 * exercise both the {@code @ViewEntries} annotation and the
@@ -625,4 +800,125 @@ public class TestNoSQL extends AbstractWebClientTest {
 			}
 		}
 	}
+	
+	/**
+	 * Tests that {@code countBy} repository methods are served from the count
+	 * cache when the database is unchanged, and that a write invalidates the
+	 * cached count.
+	 */
+	@Test
+	public void testCountByCache() throws InterruptedException {
+		Client client = getAnonymousClient();
+		String lastName = "CountCache" + System.nanoTime();
+		WebTarget countTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/countByLastName")
+			.queryParam("lastName", lastName);
+		
+		createPerson(client, lastName);
+		// Counts computed in the same second as the last modification aren't cached
+		TimeUnit.MILLISECONDS.sleep(1500);
+		
+		JsonObject first = readJsonObject(countTarget);
+		assertEquals(1, first.getInt("count"), () -> String.valueOf(first));
+		JsonObject second = readJsonObject(countTarget);
+		assertEquals(1, second.getInt("count"), () -> String.valueOf(second));
+		assertTrue(second.getJsonNumber("cacheHits").longValue() > first.getJsonNumber("cacheHits").longValue(), () -> first + " then " + second);
+		
+		// A new document must invalidate the cached count
+		createPerson(client, lastName);
+		JsonObject third = readJsonObject(countTarget);
+		assertEquals(2, third.getInt("count"), () -> String.valueOf(third));
+	}
+	
+	/**
+	 * Tests that a {@code @QueryCursor} method reads all matching documents, and
+	 * that exceeding its DQL scan limit fails the query rather than returning
+	 * partial results.
+	 */
+	@Test
+	public void testQueryCursor() {
+		Client client = getAnonymousClient();
+		String lastName = "QueryCursor" + System.nanoTime();
+		for(int i = 0; i < 3; i++) {
+			createPerson(client, lastName);
+		}
+		
+		{
+			Response response = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/cursor/" + lastName)
+				.request()
+				.accept(MediaType.APPLICATION_JSON_TYPE)
+				.get();
+			checkResponse(200, response);
+			String json = response.readEntity(String.class);
+			JsonArray people = Json.createReader(new StringReader(json)).readArray();
+			assertEquals(3, people.size(), () -> "Unexpected JSON: " + json);
+			people.forEach(person -> assertEquals(lastName, person.asJsonObject().getString("lastName"), () -> "Unexpected JSON: " + json));
+		}
+		
+		{
+			JsonObject result = readJsonObject(client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/cursorScanLimited/" + lastName));
+			assertTrue(result.containsKey("error"), () -> "Expected the scan limit to fail the query: " + result);
+			assertFalse(result.containsKey("count"), () -> "Expected no partial results: " + result);
+		}
+	}
+	
+	/**
+	 * Tests that deleting a document invalidates the cached QRP view of a sorted
+	 * query, so that the deleted document is no longer returned.
+	 */
+	@Test
+	public void testQrpViewInvalidatedOnDelete() {
+		Client client = getAdminClient();
+		String lastName = "QrpDelete" + System.nanoTime();
+		WebTarget listTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/list")
+			.queryParam("sortCol", "lastName");
+		WebTarget statsTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/qrpViewCache");
+		
+		createPerson(client, lastName);
+		String unid = findUnidByLastName(listTarget, lastName);
+		assertNotNull(unid, () -> "Unable to find created person " + lastName);
+		JsonObject before = readJsonObject(statsTarget);
+		
+		Response response = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/" + unid + "/delete")
+			.request()
+			.accept(MediaType.TEXT_HTML_TYPE)
+			.post(Entity.form(new MultivaluedHashMap<String, String>()));
+		assertEquals(303, response.getStatus());
+		
+		JsonObject after = readJsonObject(statsTarget);
+		assertTrue(after.getJsonNumber("invalidations").longValue() > before.getJsonNumber("invalidations").longValue(), () -> before + " then " + after);
+		assertNull(findUnidByLastName(listTarget, lastName), () -> "Deleted person was still listed: " + unid);
+	}
+	
+	private String findUnidByLastName(WebTarget listTarget, String lastName) {
+		Response response = listTarget.request()
+			.accept(MediaType.APPLICATION_JSON_TYPE)
+			.get();
+		checkResponse(200, response);
+		String json = response.readEntity(String.class);
+		JsonArray people = Json.createReader(new StringReader(json)).readArray();
+		return people.stream()
+			.map(JsonValue::asJsonObject)
+			.filter(person -> lastName.equals(person.getString("lastName", null)))
+			.map(person -> person.getString("unid"))
+			.findFirst()
+			.orElse(null);
+	}
+	
+	private void createPerson(Client client, String lastName) {
+		MultivaluedMap<String, String> payload = new MultivaluedHashMap<>();
+		payload.putSingle("firstName", "foo");
+		payload.putSingle("lastName", lastName);
+		WebTarget postTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/create");
+		Response response = postTarget.request()
+			.accept(MediaType.TEXT_HTML_TYPE)
+			.post(Entity.form(payload));
+		assertEquals(303, response.getStatus());
+	}
+	
+	private JsonObject readJsonObject(WebTarget target) {
+		Response response = target.request().get();
+		checkResponse(200, response);
+		String json = response.readEntity(String.class);
+		return Json.createReader(new StringReader(json)).readObject();
+	}
 }
@@ -17,6 +17,7 @@ package it.org.openntf.xsp.jakartaee.nsf.nosql;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -241,6 +242,83 @@ public class TestNoSQLExampleDocs extends AbstractWebClientTest {
 		}
 	}
 	
+	/**
+	 * Tests that MIMEBean values stored in the compressed and JSON formats, including
+	 * a generic list, round-trip and are stored with the expected MIME headers.
+	 */
+	@Test
+	public void testMimeBeanFormats() {
+		Client client = getAnonymousClient();
+		// Create a new doc
+		String unid;
+		{
+			JsonObject compressedMimeGuy = Json.createObjectBuilder()
+				.add("title", "I am the compressed title")
+				.add("address", "123 Compressed St.")
+				.build();
+			JsonObject jsonMimeGuy = Json.createObjectBuilder()
+				.add("title", "I am the JSON title")
+				.add("address", "123 JSON St.")
+				.build();
+			JsonArray jsonMimeListGuy = Json.createArrayBuilder()
+				.add(Json.createObjectBuilder()
+					.add("title", "I am the first list title")
+					.add("address", "1 List St."))
+				.add(Json.createObjectBuilder()
+					.add("title", "I am the second list title")
+					.add("address", "2 List St."))
+				.build();
+			JsonObject payloadJson = Json.createObjectBuilder()
+				.add("title", "I am testMimeBeanFormats guy")
+				.add("compressedMimeGuy", compressedMimeGuy)
+				.add("jsonMimeGuy", jsonMimeGuy)
+				.add("jsonMimeListGuy", jsonMimeListGuy)
+				.build();
+			
+			WebTarget postTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/exampleDocs");
+			Response response = postTarget.request().post(Entity.json(payloadJson.toString()));
+			checkResponse(200, response);
+
+			String json = response.readEntity(String.class);
+			JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+			unid = jsonObject.getString("unid");
+			assertNotNull(unid);
+			assertFalse(unid.isEmpty());
+		}
+		
+		// Fetch the doc
+		{
+			WebTarget target = client.target(getRestUrl(null, TestDatabase.MAIN) + "/exampleDocs/" + unid);
+			Response response = target.request().get();
+			checkResponse(200, response);
+			String json = response.readEntity(String.class);
+
+			JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+			
+			assertEquals(unid, jsonObject.getString("unid"));
+			
+			JsonObject compressedMimeGuy = jsonObject.getJsonObject("compressedMimeGuy");
+			assertEquals("I am the compressed title", compressedMimeGuy.getString("title"));
+			assertEquals("123 Compressed St.", compressedMimeGuy.getString("address"));
+			
+			JsonObject jsonMimeGuy = jsonObject.getJsonObject("jsonMimeGuy");
+			assertEquals("I am the JSON title", jsonMimeGuy.getString("title"));
+			assertEquals("123 JSON St.", jsonMimeGuy.getString("address"));
+			
+			JsonArray jsonMimeListGuy = jsonObject.getJsonArray("jsonMimeListGuy");
+			assertEquals(2, jsonMimeListGuy.size());
+			assertEquals("I am the first list title", jsonMimeListGuy.getJsonObject(0).getString("title"));
+			assertEquals("2 List St.", jsonMimeListGuy.getJsonObject(1).getString("address"));
+
+			// Make sure the values were stored in the requested formats
+			String dxl = jsonObject.getString("dxl");
+			assertNotNull(dxl);
+			assertFalse(dxl.isEmpty());
+			assertTrue(dxl.contains("Content-Encoding: gzip"), () -> "Missing compressed MIME header: " + dxl);
+			assertTrue(dxl.contains("application/json"), () -> "Missing JSON MIME header: " + dxl);
+		}
+	}
+	
 	@Test
 	public void testJsonStorageReadViewEntries() throws XMLException {
 		Client client = getAnonymousClient();
@@ -948,4 +1026,152 @@ public class TestNoSQLExampleDocs extends AbstractWebClientTest {
 			assertEquals(5.11, numbersGuy.getJsonNumber(1).doubleValue());
 		}
 	}
+	
+	/**
+	 * Tests that saving an entity updates the existing document with its UNID,
+	 * and creates a document with that UNID when none exists.
+	 */
+	@Test
+	public void testUpsertSave() {
+		Client client = getAnonymousClient();
+		
+		// Create a new doc
+		String unid;
+		{
+			JsonObject payloadJson = Json.createObjectBuilder()
+				.add("title", "I am testUpsertSave guy")
+				.build();
+			
+			WebTarget postTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/exampleDocs");
+			Response response = postTarget.request().post(Entity.json(payloadJson.toString()));
+			checkResponse(200, response);
+
+			String json = response.readEntity(String.class);
+			JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+			unid = jsonObject.getString("unid");
+			assertNotNull(unid);
+			assertFalse(unid.isEmpty());
+		}
+		
+		// Save it again with a new title
+		{
+			JsonObject payloadJson = Json.createObjectBuilder()
+				.add("title", "I am updated testUpsertSave guy")
+				.build();
+			
+			WebTarget putTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/exampleDocs/" + unid);
+			Response response = putTarget.request().put(Entity.json(payloadJson.toString()));
+			checkResponse(200, response);
+
+			String json = response.readEntity(String.class);
+			JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+			assertEquals(unid, jsonObject.getString("unid"));
+		}
+		
+		// Make sure the existing doc was updated
+		{
+			WebTarget target = client.target(getRestUrl(null, TestDatabase.MAIN) + "/exampleDocs/" + unid);
+			Response response = target.request().get();
+			checkResponse(200, response);
+			String json = response.readEntity(String.class);
+
+			JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+			assertEquals(unid, jsonObject.getString("unid"));
+			assertEquals("I am updated testUpsertSave guy", jsonObject.getString("title"));
+		}
+		
+		// Save with a UNID that doesn't exist yet
+		String newUnid = String.format("%032X", System.nanoTime());
+		{
+			JsonObject payloadJson = Json.createObjectBuilder()
+				.add("title", "I am new testUpsertSave guy")
+				.build();
+			
+			WebTarget putTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/exampleDocs/" + newUnid);
+			Response response = putTarget.request().put(Entity.json(payloadJson.toString()));
+			checkResponse(200, response);
+		}
+		{
+			WebTarget target = client.target(getRestUrl(null, TestDatabase.MAIN) + "/exampleDocs/" + newUnid);
+			Response response = target.request().get();
+			checkResponse(200, response);
+			String json = response.readEntity(String.class);
+
+			JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+			assertEquals(newUnid, jsonObject.getString("unid"));
+			assertEquals("I am new testUpsertSave guy", jsonObject.getString("title"));
+		}
+	}
+	
+	/**
+	 * Tests that saveAll updates existing documents and creates new ones in the
+	 * same call.
+	 */
+	@Test
+	public void testUpsertSaveAll() {
+		Client client = getAnonymousClient();
+		
+		// Create a new doc
+		String unid;
+		{
+			JsonObject payloadJson = Json.createObjectBuilder()
+				.add("title", "I am testUpsertSaveAll guy")
+				.build();
+			
+			WebTarget postTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/exampleDocs");
+			Response response = postTarget.request().post(Entity.json(payloadJson.toString()));
+			checkResponse(200, response);
+
+			String json = response.readEntity(String.class);
+			JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+			unid = jsonObject.getString("unid");
+			assertNotNull(unid);
+			assertFalse(unid.isEmpty());
+		}
+		
+		// Save the existing doc and a new one together
+		String newUnid;
+		{
+			JsonArray payloadJson = Json.createArrayBuilder()
+				.add(Json.createObjectBuilder()
+					.add("unid", unid)
+					.add("title", "I am updated testUpsertSaveAll guy"))
+				.add(Json.createObjectBuilder()
+					.add("title", "I am new testUpsertSaveAll guy"))
+				.build();
+			
+			WebTarget postTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/exampleDocs/batch");
+			Response response = postTarget.request().post(Entity.json(payloadJson.toString()));
+			checkResponse(200, response);
+
+			String json = response.readEntity(String.class);
+			JsonArray jsonArray = Json.createReader(new StringReader(json)).readArray();
+			assertEquals(2, jsonArray.size());
+			assertEquals(unid, jsonArray.getJsonObject(0).getString("unid"));
+			newUnid = jsonArray.getJsonObject(1).getString("unid");
+			assertNotNull(newUnid);
+			assertFalse(newUnid.isEmpty());
+			assertNotEquals(unid, newUnid);
+		}
+		
+		// Make sure both docs were saved
+		{
+			WebTarget target = client.target(getRestUrl(null, TestDatabase.MAIN) + "/exampleDocs/" + unid);
+			Response response = target.request().get();
+			checkResponse(200, response);
+			String json = response.readEntity(String.class);
+
+			JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+			assertEquals("I am updated testUpsertSaveAll guy", jsonObject.getString("title"));
+		}
+		{
+			WebTarget target = client.target(getRestUrl(null, TestDatabase.MAIN) + "/exampleDocs/" + newUnid);
+			Response response = target.request().get();
+			checkResponse(200, response);
+			String json = response.readEntity(String.class);
+
+			JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+			assertEquals("I am new testUpsertSaveAll guy", jsonObject.getString("title"));
+		}
+	}
 }
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.org.openntf.xsp.jakartaee.nsf.nosql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jboss.resteasy.plugins.providers.multipart.MultipartFormDataOutput;
+import org.junit.jupiter.api.Test;
+
+import it.org.openntf.xsp.jakartaee.AbstractWebClientTest;
+import it.org.openntf.xsp.jakartaee.TestDatabase;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Tests a repository federated across two copies of the example database, so
+ * that each matching document is expected once per shard.
+ */
+@SuppressWarnings("nls")
+public class TestNoSQLFederated extends AbstractWebClientTest {
+	@Test
+	public void testFederatedViewMerge() {
+		Client client = getAnonymousClient();
+		String lastName = "Federated" + System.nanoTime();
+		// These sort differently case-sensitively and case-insensitively
+		createPersons(client, lastName, "bob", "Anne", "Carl");
+		
+		JsonArray people = getArray(client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosqlFederated/byViewKey/" + lastName));
+		assertEquals(Arrays.asList("Anne", "Anne", "bob", "bob", "Carl", "Carl"), firstNames(people));
+		
+		// Pagination is applied after merging the shards
+		JsonArray page = getArray(client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosqlFederated/byViewKey/" + lastName)
+			.queryParam("page", 2)
+			.queryParam("size", 2));
+		assertEquals(Arrays.asList("bob", "bob"), firstNames(page));
+	}
+	
+	@Test
+	public void testFederatedUpdate() {
+		Client client = getAnonymousClient();
+		String lastName = "FederatedUpdate" + System.nanoTime();
+		createPersons(client, lastName, "Foo");
+		
+		JsonArray people = getArray(client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosqlFederated").queryParam("lastName", lastName));
+		assertEquals(2, people.size(), () -> String.valueOf(people));
+		JsonObject person = people.getJsonObject(0);
+		String unid = person.getString("unid");
+		
+		// Saving an existing document should write it in place rather than create a copy in the primary shard
+		JsonObject update = Json.createObjectBuilder(person)
+			.add("firstName", "Bar")
+			.build();
+		Response response = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosqlFederated/" + unid)
+			.request(MediaType.APPLICATION_JSON_TYPE)
+			.put(Entity.json(update.toString()));
+		checkResponse(200, response);
+		
+		JsonArray updated = getArray(client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosqlFederated").queryParam("lastName", lastName));
+		assertEquals(2, updated.size(), () -> String.valueOf(updated));
+		for(int i = 0; i < updated.size(); i++) {
+			assertEquals(unid, updated.getJsonObject(i).getString("unid"));
+			assertEquals("Bar", updated.getJsonObject(i).getString("firstName"));
+		}
+	}
+	
+	private void createPersons(Client client, String lastName, String... firstNames) {
+		for(String firstName : firstNames) {
+			WebTarget postTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/create");
+			
+			MultipartFormDataOutput payload = new MultipartFormDataOutput();
+			payload.addFormData("firstName", firstName, MediaType.TEXT_PLAIN_TYPE);
+			payload.addFormData("lastName", lastName, MediaType.TEXT_PLAIN_TYPE);
+			
+			Response response = postTarget.request()
+				.accept(MediaType.APPLICATION_JSON_TYPE)
+				.post(Entity.entity(payload, MediaType.MULTIPART_FORM_DATA_TYPE));
+			checkResponse(200, response);
+		}
+	}
+	
+	private JsonArray getArray(WebTarget target) {
+		Response response = target.request()
+			.accept(MediaType.APPLICATION_JSON_TYPE)
+			.get();
+		checkResponse(200, response);
+		String json = response.readEntity(String.class);
+		return Json.createReader(new StringReader(json)).readArray();
+	}
+	
+	private static List<String> firstNames(JsonArray people) {
+		return people.stream()
+			.map(JsonObject.class::cast)
+			.map(person -> person.getString("firstName"))
+			.collect(Collectors.toCollection(ArrayList::new));
+	}
+}
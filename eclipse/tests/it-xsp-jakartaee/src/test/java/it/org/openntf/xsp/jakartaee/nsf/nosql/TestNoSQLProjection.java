@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2018-2023 Contributors to the XPages Jakarta EE Support Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.org.openntf.xsp.jakartaee.nsf.nosql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import it.org.openntf.xsp.jakartaee.AbstractWebClientTest;
+import it.org.openntf.xsp.jakartaee.TestDatabase;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+@SuppressWarnings("nls")
+public class TestNoSQLProjection extends AbstractWebClientTest {
+	/**
+	 * Tests that a {@code @ColumnProjection} query reads the same values as the
+	 * equivalent query that opens each document, filling exactly the entity's
+	 * mapped fields from the QRP view columns.
+	 */
+	@Test
+	public void testColumnProjectionRoundTrip() {
+		Client client = getAnonymousClient();
+		String category = "Projection" + System.nanoTime();
+		WebTarget target = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosqlProjection");
+		
+		String[] titles = { "Charlie", "Alpha", "Bravo" };
+		for(int i = 0; i < titles.length; i++) {
+			JsonObject payload = Json.createObjectBuilder()
+				.add("title", titles[i])
+				.add("category", category)
+				.add("rank", i + 1)
+				.build();
+			Response response = target.request()
+				.accept(MediaType.APPLICATION_JSON_TYPE)
+				.post(Entity.json(payload.toString()));
+			checkResponse(200, response);
+		}
+		
+		Response response = target.path(category).request()
+			.accept(MediaType.APPLICATION_JSON_TYPE)
+			.get();
+		checkResponse(200, response);
+		String json = response.readEntity(String.class);
+		JsonObject result = Json.createReader(new StringReader(json)).readObject();
+		JsonArray documents = result.getJsonArray("documents");
+		JsonArray projected = result.getJsonArray("projected");
+		assertEquals(3, documents.size(), () -> "Unexpected JSON: " + json);
+		assertEquals(3, projected.size(), () -> "Unexpected JSON: " + json);
+		
+		String[] sortedTitles = { "Alpha", "Bravo", "Charlie" };
+		int[] sortedRanks = { 2, 3, 1 };
+		for(int i = 0; i < sortedTitles.length; i++) {
+			JsonObject document = documents.getJsonObject(i);
+			JsonObject projection = projected.getJsonObject(i);
+			
+			assertEquals(sortedTitles[i], document.getString("title"), () -> "Unexpected JSON: " + json);
+			assertEquals(sortedRanks[i], document.getInt("rank"), () -> "Unexpected JSON: " + json);
+			
+			// The projected entity should carry the same fields with the same values
+			assertEquals(document.keySet(), projection.keySet(), () -> "Unexpected JSON: " + json);
+			assertEquals(document.getString("documentId"), projection.getString("documentId"), () -> "Unexpected JSON: " + json);
+			assertEquals(document.getString("title"), projection.getString("title"), () -> "Unexpected JSON: " + json);
+			assertEquals(category, projection.getString("category"), () -> "Unexpected JSON: " + json);
+			assertEquals(document.getInt("rank"), projection.getInt("rank"), () -> "Unexpected JSON: " + json);
+		}
+	}
+}
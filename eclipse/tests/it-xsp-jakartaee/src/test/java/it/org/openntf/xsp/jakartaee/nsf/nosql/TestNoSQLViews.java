@@ -94,8 +94,16 @@ public class TestNoSQLViews extends AbstractWebClientTest {
 		assertEquals(person.getString("lastName"), result.getString("lastName"));
 	}
 	
-	@Test
-	public void testQueryByKeyMulti() throws UnsupportedEncodingException {
+	/**
+	 * Tests multi-entry view lookups, both with the default view buffer and
+	 * with a {@code bufferSize} smaller than the result set, which forces the
+	 * navigator to refill its buffer mid-read.
+	 * 
+	 * @param endpoint the endpoint tested in this run
+	 */
+	@ParameterizedTest
+	@ValueSource(strings = { "byViewKeyMulti", "byViewKeyMultiBuffered" })
+	public void testQueryByKeyMulti(String endpoint) throws UnsupportedEncodingException {
 		Client client = getAdminClient();
 		
 		// Create four documents with two distinct last names
@@ -105,7 +113,7 @@ public class TestNoSQLViews extends AbstractWebClientTest {
 		// Find by the last name of the second person
 		String lastName = person.getString("lastName");
 		assertNotNull(lastName);
-		WebTarget queryTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/byViewKeyMulti/" + URLEncoder.encode(lastName, "UTF-8"));
+		WebTarget queryTarget = client.target(getRestUrl(null, TestDatabase.MAIN) + "/nosql/" + endpoint + "/" + URLEncoder.encode(lastName, "UTF-8"));
 		
 		Response response = queryTarget.request()
 			.accept(MediaType.APPLICATION_JSON_TYPE)